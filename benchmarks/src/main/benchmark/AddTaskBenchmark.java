@@ -0,0 +1,73 @@
+package main.benchmark;
+
+import main.manager.taskManager.ColumnarTaskManager;
+import main.manager.taskManager.InMemoryTaskManager;
+import main.manager.taskManager.TaskManager;
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of filling empty managers. Every iteration adds the whole generated board to a new manager
+ * once, so the score is the time of adding the board of the given size.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AddTaskBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Task> tasks;
+    private TaskManager manager;
+    private TaskManager columnarManager;
+    private List<SubTask> subTasks;
+    private TaskManager epicManager;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        tasks = new BoardGenerator(size).generateTasks(size);
+        manager = new InMemoryTaskManager();
+        columnarManager = new ColumnarTaskManager();
+        epicManager = new InMemoryTaskManager();
+        EpicTask epic = epicManager.addEpicTask(new EpicTask("Epic", "Description"));
+        subTasks = new BoardGenerator(size).generateSubTasks(epic.getId(), size, 0);
+    }
+
+    @Benchmark
+    public TaskManager addTask() {
+        tasks.forEach(manager::addTask);
+        return manager;
+    }
+
+    @Benchmark
+    public TaskManager addTaskColumnar() {
+        tasks.forEach(columnarManager::addTask);
+        return columnarManager;
+    }
+
+    @Benchmark
+    public TaskManager addSubTaskToOneEpic() {
+        subTasks.forEach(epicManager::addSubTask);
+        return epicManager;
+    }
+}
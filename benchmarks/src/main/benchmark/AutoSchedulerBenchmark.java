@@ -0,0 +1,62 @@
+package main.benchmark;
+
+import main.manager.taskManager.AutoScheduler;
+import main.manager.taskManager.InMemoryTaskManager;
+import main.manager.taskManager.ScheduleRequest;
+import main.manager.taskManager.TaskManager;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of placing 5000 unscheduled tasks into free slots of a board of scheduled tasks.
+ * Every iteration schedules the tasks into a new board once.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AutoSchedulerBenchmark {
+    private static final int AUTO_SCHEDULED_TASKS = 5_000;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private AutoScheduler scheduler;
+    private List<ScheduleRequest> requests;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        TaskManager manager = new InMemoryTaskManager();
+        new BoardGenerator(size).generateTasks(size).forEach(manager::addTask);
+        requests = new ArrayList<>();
+        for (int i = 0; i < AUTO_SCHEDULED_TASKS; i++) {
+            requests.add(new ScheduleRequest(new Task("Task " + i, "Description", TaskStatus.NEW, null,
+                    Duration.ofMinutes(1 + i % 30))));
+        }
+        scheduler = new AutoScheduler(manager, 4);
+    }
+
+    @Benchmark
+    public int schedule() {
+        return scheduler.schedule(requests, BoardGenerator.slotStart(0)).getScheduledTasks().size();
+    }
+}
@@ -0,0 +1,112 @@
+package main.benchmark;
+
+import main.manager.taskManager.TaskManager;
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generator of synthetic boards for benchmarks.
+ * Generated tasks and subtasks never intersect: every item gets its own time slot,
+ * slots are shuffled so items are not added in start time order.
+ */
+public class BoardGenerator {
+    private static final LocalDateTime BOARD_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int SLOT_MINUTES = 10;
+    private static final int TASK_MINUTES = 5;
+
+    private final Random random;
+
+    public BoardGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Returns tasks occupying the given number of shuffled time slots.
+     *
+     * @param count number of tasks.
+     * @return List<Task> generated tasks with ids.
+     */
+    public List<Task> generateTasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int slot : shuffledSlots(count)) {
+            tasks.add(new Task(UUID.randomUUID(), "Task " + slot, "Description of task " + slot,
+                    randomStatus(), slotStart(slot), Duration.ofMinutes(TASK_MINUTES)));
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns subtasks of one epic occupying the given number of shuffled time slots
+     * starting after the first slot offset.
+     *
+     * @param epicId id of the epic.
+     * @param count number of subtasks.
+     * @param slotOffset number of slots occupied by other items.
+     * @return List<SubTask> generated subtasks with ids.
+     */
+    public List<SubTask> generateSubTasks(UUID epicId, int count, int slotOffset) {
+        List<SubTask> subTasks = new ArrayList<>(count);
+        for (int slot : shuffledSlots(count)) {
+            subTasks.add(new SubTask(UUID.randomUUID(), "Subtask " + slot, "Description of subtask " + slot,
+                    randomStatus(), epicId, slotStart(slotOffset + slot), Duration.ofMinutes(TASK_MINUTES)));
+        }
+        return subTasks;
+    }
+
+    /**
+     * Fills the manager with the board of the given size: half of items are tasks, the other half
+     * are subtasks spread over epics of the given size.
+     *
+     * @param manager manager to fill.
+     * @param size number of tasks and subtasks.
+     * @param subTasksPerEpic number of subtasks in one epic.
+     */
+    public void fill(TaskManager manager, int size, int subTasksPerEpic) {
+        int tasksCount = size / 2;
+        generateTasks(tasksCount).forEach(manager::addTask);
+        int slotOffset = tasksCount;
+        for (int created = 0; created < size - tasksCount; created += subTasksPerEpic) {
+            EpicTask epic = manager.addEpicTask(new EpicTask("Epic " + created, "Description of epic " + created));
+            int count = Math.min(subTasksPerEpic, size - tasksCount - created);
+            generateSubTasks(epic.getId(), count, slotOffset).forEach(manager::addSubTask);
+            slotOffset += count;
+        }
+    }
+
+    /**
+     * Returns start time of the slot.
+     *
+     * @param slot number of the slot.
+     * @return LocalDateTime start time of the slot.
+     */
+    public static LocalDateTime slotStart(long slot) {
+        return BOARD_START.plusMinutes(slot * SLOT_MINUTES);
+    }
+
+    private int[] shuffledSlots(int count) {
+        int[] slots = new int[count];
+        for (int i = 0; i < count; i++) {
+            slots[i] = i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int slot = slots[i];
+            slots[i] = slots[j];
+            slots[j] = slot;
+        }
+        return slots;
+    }
+
+    private TaskStatus randomStatus() {
+        return TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+    }
+}
@@ -0,0 +1,76 @@
+package main.benchmark;
+
+import main.manager.taskManager.InMemoryTaskManager;
+import main.manager.taskManager.TaskManager;
+import main.tasks.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of reading queries on a filled board: half of items are tasks, the other half are subtasks
+ * of epics with 1000 subtasks each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoardQueryBenchmark {
+    private static final int SUBTASKS_PER_EPIC = 1_000;
+    private static final int WINDOW_SLOTS = 50;
+    private static final int SEARCH_RESULTS = 20;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private TaskManager manager;
+    private String taskName;
+    private long windowSlot;
+
+    @Setup
+    public void setUp() {
+        manager = new InMemoryTaskManager();
+        new BoardGenerator(size).fill(manager, size, SUBTASKS_PER_EPIC);
+        taskName = "task " + size / 2;
+    }
+
+    @Benchmark
+    public List<Task> getPrioritizedTasks() {
+        return manager.getPrioritizedTasks();
+    }
+
+    @Benchmark
+    public List<Task> getPrioritizedTasksWindow() {
+        long slot = windowSlot++ % Math.max(1, size - WINDOW_SLOTS);
+        return manager.getPrioritizedTasks(BoardGenerator.slotStart(slot),
+                BoardGenerator.slotStart(slot + WINDOW_SLOTS));
+    }
+
+    @Benchmark
+    public List<Task> searchTaskName() {
+        return manager.searchTasks(taskName, SEARCH_RESULTS);
+    }
+
+    @Benchmark
+    public List<Task> searchWords() {
+        return manager.searchTasks("description of task 1", SEARCH_RESULTS);
+    }
+
+    @Benchmark
+    public List<Task> searchPrefix() {
+        return manager.searchTasks("desc", SEARCH_RESULTS);
+    }
+}
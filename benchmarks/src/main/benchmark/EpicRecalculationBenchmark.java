@@ -0,0 +1,62 @@
+package main.benchmark;
+
+import main.manager.taskManager.InMemoryTaskManager;
+import main.manager.taskManager.TaskManager;
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of updating a random subtask of one large epic, every update recalculates status
+ * and time data of the epic.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EpicRecalculationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private TaskManager manager;
+    private EpicTask epic;
+    private List<SubTask> subTasks;
+    private Random random;
+    private int updates;
+
+    @Setup
+    public void setUp() {
+        manager = new InMemoryTaskManager();
+        epic = manager.addEpicTask(new EpicTask("Epic", "Description"));
+        subTasks = new BoardGenerator(size).generateSubTasks(epic.getId(), size, 0);
+        subTasks.forEach(manager::addSubTask);
+        random = new Random(size);
+    }
+
+    @Benchmark
+    public TaskStatus updateSubTask() {
+        SubTask subTask = subTasks.get(random.nextInt(subTasks.size()));
+        manager.updateSubTask(new SubTask(subTask.getId(), subTask.getName(), subTask.getDescription(),
+                TaskStatus.values()[updates++ % TaskStatus.values().length], epic.getId(),
+                subTask.getStartTime(), subTask.getDuration()));
+        return epic.getTaskStatus();
+    }
+}
@@ -0,0 +1,95 @@
+package main.benchmark;
+
+import main.manager.taskManager.FileBackedTaskManager;
+import main.manager.taskManager.FileStorageSettings;
+import main.manager.taskManager.InMemoryTaskManager;
+import main.manager.taskManager.StorageBackend;
+import main.manager.taskManager.TaskManager;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of FileBackedTaskManager: loading a csv board by both storage backends
+ * and saving an update of one task.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileBackedTaskManagerBenchmark {
+    private static final int SUBTASKS_PER_EPIC = 1_000;
+    private static final String CSV_HEADER = "id,type,name,status,description,epic,start_time,duration_min";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private File file;
+    private FileStorageSettings mappedSettings;
+    private FileBackedTaskManager manager;
+    private Task updatedTask;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("benchmark", ".csv");
+        file.deleteOnExit();
+        new File(file.getPath() + ".history").deleteOnExit();
+        TaskManager board = new InMemoryTaskManager();
+        new BoardGenerator(size).fill(board, size, SUBTASKS_PER_EPIC);
+        writeBoard(board, file);
+        mappedSettings = FileStorageSettings.defaults().withStorageBackend(StorageBackend.MEMORY_MAPPED);
+        manager = FileBackedTaskManager.loadFromFile(file);
+        Task task = manager.getAllTasks().get(0);
+        updatedTask = new Task(task.getId(), task.getName(), "Updated description", TaskStatus.DONE,
+                task.getStartTime(), task.getDuration());
+    }
+
+    @Benchmark
+    public FileBackedTaskManager loadFromFile() {
+        return FileBackedTaskManager.loadFromFile(file);
+    }
+
+    @Benchmark
+    public FileBackedTaskManager loadFromFileMapped() {
+        return FileBackedTaskManager.loadFromFile(file, mappedSettings);
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        return manager.updateTask(updatedTask);
+    }
+
+    private static void writeBoard(TaskManager board, File file) throws IOException {
+        try (FileWriter fw = new FileWriter(file, false)) {
+            fw.write(CSV_HEADER + LINE_SEPARATOR);
+            for (Task task : board.getAllTasks()) {
+                fw.write(task + LINE_SEPARATOR);
+            }
+            for (Task epic : board.getAllEpics()) {
+                fw.write(epic + LINE_SEPARATOR);
+            }
+            for (Task subTask : board.getAllSubTasks()) {
+                fw.write(subTask + LINE_SEPARATOR);
+            }
+            fw.write(LINE_SEPARATOR);
+        }
+    }
+}
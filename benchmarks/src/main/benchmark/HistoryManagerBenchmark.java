@@ -0,0 +1,69 @@
+package main.benchmark;
+
+import main.manager.historyManager.HistoryManager;
+import main.manager.historyManager.InMemoryHistoryManager;
+import main.tasks.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of HistoryManager. Adding and removing views of all tasks are measured once per iteration
+ * on new managers, reading the history is measured per call.
+ */
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoryManagerBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Task> tasks;
+    private HistoryManager emptyHistoryManager;
+    private HistoryManager filledHistoryManager;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        tasks = new BoardGenerator(size).generateTasks(size);
+        emptyHistoryManager = new InMemoryHistoryManager();
+        filledHistoryManager = new InMemoryHistoryManager();
+        tasks.forEach(filledHistoryManager::add);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public HistoryManager add() {
+        tasks.forEach(emptyHistoryManager::add);
+        return emptyHistoryManager;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public List<Task> getHistory() {
+        return filledHistoryManager.getHistory();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public HistoryManager remove() {
+        tasks.forEach(task -> filledHistoryManager.remove(task.getId()));
+        return filledHistoryManager;
+    }
+}
@@ -0,0 +1,158 @@
+package main.manager;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * IdTable keeps ids of numbered entries as two longs in primitive arrays and finds entries by id
+ * with an open addressing table, so neither stored ids nor lookups allocate objects.
+ * Entry numbers are chosen by the owner of the table, for example rows of a columnar store
+ * or slots of a bounded history. A removed id shifts following ids of its probe sequence back
+ * instead of leaving a tombstone. Arrays grow with entry numbers and the number of ids.
+ * The table is not thread-safe.
+ */
+public class IdTable {
+    public static final int NO_ENTRY = -1;
+
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    private int[] indexTable;
+    private int indexMask;
+    private int size;
+
+    /**
+     * @param capacity number of entries allocated up front.
+     */
+    public IdTable(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity of id table should be positive");
+        }
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        indexTable = new int[Integer.highestOneBit(capacity) << 2];
+        Arrays.fill(indexTable, NO_ENTRY);
+        indexMask = indexTable.length - 1;
+    }
+
+    /**
+     * This method returns the entry with provided id.
+     *
+     * @param id id to find.
+     * @return int entry with the id or NO_ENTRY if there is no such id.
+     */
+    public int find(UUID id) {
+        long mostBits = id.getMostSignificantBits();
+        long leastBits = id.getLeastSignificantBits();
+        for (int position = hash(mostBits, leastBits); ; position = (position + 1) & indexMask) {
+            int entry = indexTable[position];
+            if (entry == NO_ENTRY) {
+                return NO_ENTRY;
+            }
+            if (mostSignificantBits[entry] == mostBits && leastSignificantBits[entry] == leastBits) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * This method stores the id of the entry. The entry should be free and the id should not be stored yet.
+     *
+     * @param entry entry number.
+     * @param id id of the entry.
+     */
+    public void put(int entry, UUID id) {
+        if (entry >= mostSignificantBits.length) {
+            int capacity = Math.max(2 * mostSignificantBits.length, entry + 1);
+            mostSignificantBits = Arrays.copyOf(mostSignificantBits, capacity);
+            leastSignificantBits = Arrays.copyOf(leastSignificantBits, capacity);
+        }
+        mostSignificantBits[entry] = id.getMostSignificantBits();
+        leastSignificantBits[entry] = id.getLeastSignificantBits();
+        size++;
+        if (size << 1 > indexTable.length) {
+            rebuildIndex(indexTable.length << 1);
+        }
+        putToIndex(entry);
+    }
+
+    /**
+     * This method removes the id of the stored entry, the entry becomes free.
+     *
+     * @param entry entry to remove.
+     */
+    public void remove(int entry) {
+        int position = hash(mostSignificantBits[entry], leastSignificantBits[entry]);
+        while (indexTable[position] != entry) {
+            position = (position + 1) & indexMask;
+        }
+        // shift following entries of the probe sequence back, so lookups do not stop at the hole
+        int hole = position;
+        position = (hole + 1) & indexMask;
+        for (; indexTable[position] != NO_ENTRY; position = (position + 1) & indexMask) {
+            int movedEntry = indexTable[position];
+            int home = hash(mostSignificantBits[movedEntry], leastSignificantBits[movedEntry]);
+            if (((position - home) & indexMask) >= ((position - hole) & indexMask)) {
+                indexTable[hole] = movedEntry;
+                hole = position;
+            }
+        }
+        indexTable[hole] = NO_ENTRY;
+        size--;
+    }
+
+    /**
+     * This method checks if the stored entry has provided id without creating a UUID.
+     *
+     * @param entry stored entry.
+     * @param id id to compare.
+     * @return true if the entry has the id.
+     */
+    public boolean hasId(int entry, UUID id) {
+        return mostSignificantBits[entry] == id.getMostSignificantBits()
+                && leastSignificantBits[entry] == id.getLeastSignificantBits();
+    }
+
+    /**
+     * This method returns the id of the stored entry.
+     *
+     * @param entry stored entry.
+     * @return UUID id of the entry.
+     */
+    public UUID getId(int entry) {
+        return new UUID(mostSignificantBits[entry], leastSignificantBits[entry]);
+    }
+
+    /**
+     * Returns number of stored ids.
+     *
+     * @return int number of ids.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void rebuildIndex(int length) {
+        int[] previousTable = indexTable;
+        indexTable = new int[length];
+        Arrays.fill(indexTable, NO_ENTRY);
+        indexMask = length - 1;
+        for (int entry : previousTable) {
+            if (entry != NO_ENTRY) {
+                putToIndex(entry);
+            }
+        }
+    }
+
+    private void putToIndex(int entry) {
+        int position = hash(mostSignificantBits[entry], leastSignificantBits[entry]);
+        while (indexTable[position] != NO_ENTRY) {
+            position = (position + 1) & indexMask;
+        }
+        indexTable[position] = entry;
+    }
+
+    private int hash(long mostBits, long leastBits) {
+        long hash = (mostBits ^ leastBits) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & indexMask;
+    }
+}
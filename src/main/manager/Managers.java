@@ -1,9 +1,16 @@
 package main.manager;
 
+import main.manager.historyManager.BoundedHistoryManager;
 import main.manager.historyManager.HistoryManager;
 import main.manager.historyManager.InMemoryHistoryManager;
+import main.manager.taskManager.ColumnarTaskManager;
+import main.manager.taskManager.ConcurrentTaskManager;
 import main.manager.taskManager.InMemoryTaskManager;
 import main.manager.taskManager.TaskManager;
+import main.tasks.Task;
+
+import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Managers class is the abstract factory for getting TaskManager object
@@ -23,6 +30,24 @@ public class Managers {
         return new InMemoryTaskManager();
     }
 
+    /**
+     * This method returns thread-safe task Manager
+     *
+     * @return TaskManager This method returns thread-safe task Manager
+     */
+    public static TaskManager getConcurrent() {
+        return new ConcurrentTaskManager();
+    }
+
+    /**
+     * This method returns task Manager which keeps tasks in primitive columns for very large boards
+     *
+     * @return TaskManager This method returns columnar task Manager
+     */
+    public static TaskManager getColumnar() {
+        return new ColumnarTaskManager();
+    }
+
     /**
      * This method returns default InMemory history Manager
      *
@@ -31,4 +56,15 @@ public class Managers {
     public static HistoryManager getDefaultHistory() {
         return new InMemoryHistoryManager();
     }
+
+    /**
+     * This method returns history Manager which keeps only ids of the last views
+     *
+     * @param capacity maximum number of views in the history
+     * @param taskResolver function returning the current task by its id
+     * @return HistoryManager This method returns bounded history Manager
+     */
+    public static HistoryManager getBoundedHistory(int capacity, Function<UUID, Task> taskResolver) {
+        return new BoundedHistoryManager(capacity, taskResolver);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package main.manager.historyManager;
+
+import main.manager.IdTable;
+import main.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * History manager with fixed capacity which stores only ids of viewed tasks.
+ * Views are kept in preallocated slots linked into a list from the oldest view to the latest one,
+ * ids of slots are kept and found by an {@link IdTable}, so a view does not allocate. When history is full the oldest view is evicted.
+ * Tasks are resolved by id when history is requested, so the history always returns
+ * the current version of a task.
+ */
+public class BoundedHistoryManager implements HistoryManager {
+    private static final int NO_SLOT = IdTable.NO_ENTRY;
+
+    private final Function<UUID, Task> taskResolver;
+    private final IdTable ids;
+    private final int[] prevSlots;
+    private final int[] nextSlots;
+    private int oldestSlot = NO_SLOT;
+    private int latestSlot = NO_SLOT;
+    private int freeSlot;
+    private int size;
+
+    /**
+     * @param capacity maximum number of views in the history.
+     * @param taskResolver function returning the current task by its id or null if there is no such task.
+     */
+    public BoundedHistoryManager(int capacity, Function<UUID, Task> taskResolver) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("History capacity should be positive");
+        }
+        this.taskResolver = taskResolver;
+        ids = new IdTable(capacity);
+        prevSlots = new int[capacity];
+        nextSlots = new int[capacity];
+        for (int slot = 0; slot < capacity; slot++) {
+            nextSlots[slot] = slot + 1 < capacity ? slot + 1 : NO_SLOT;
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        UUID id = task.getId();
+        int slot = ids.find(id);
+        if (slot != NO_SLOT) {
+            unlink(slot);
+            linkLatest(slot);
+            return;
+        }
+        if (freeSlot == NO_SLOT) {
+            removeSlot(oldestSlot);
+        }
+        slot = freeSlot;
+        freeSlot = nextSlots[slot];
+        ids.put(slot, id);
+        linkLatest(slot);
+        size++;
+    }
+
+    @Override
+    public void remove(UUID id) {
+        if (id == null) {
+            return;
+        }
+        int slot = ids.find(id);
+        if (slot != NO_SLOT) {
+            removeSlot(slot);
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        List<Task> result = new ArrayList<>(size);
+        for (int slot = oldestSlot; slot != NO_SLOT; slot = nextSlots[slot]) {
+            Task task = taskResolver.apply(ids.getId(slot));
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    private void removeSlot(int slot) {
+        ids.remove(slot);
+        unlink(slot);
+        nextSlots[slot] = freeSlot;
+        freeSlot = slot;
+        size--;
+    }
+
+    private void linkLatest(int slot) {
+        prevSlots[slot] = latestSlot;
+        nextSlots[slot] = NO_SLOT;
+        if (latestSlot != NO_SLOT) {
+            nextSlots[latestSlot] = slot;
+        } else {
+            oldestSlot = slot;
+        }
+        latestSlot = slot;
+    }
+
+    private void unlink(int slot) {
+        int prevSlot = prevSlots[slot];
+        int nextSlot = nextSlots[slot];
+        if (prevSlot != NO_SLOT) {
+            nextSlots[prevSlot] = nextSlot;
+        } else {
+            oldestSlot = nextSlot;
+        }
+        if (nextSlot != NO_SLOT) {
+            prevSlots[nextSlot] = prevSlot;
+        } else {
+            latestSlot = prevSlot;
+        }
+    }
+}
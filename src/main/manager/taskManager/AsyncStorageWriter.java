@@ -0,0 +1,349 @@
+package main.manager.taskManager;
+
+import main.customExceptions.ManagerSaveException;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Background writer of FileBackedTaskManager.
+ * The manager only collects changes here while holding its state lock, a single daemon thread
+ * writes collected changes as one group every flush interval or as soon as the flush threshold
+ * is reached. Journal and history records are appended to files which stay open between groups.
+ * Snapshot and history rewrites capture the manager state under the state lock and write it
+ * outside of the lock, journal records collected before a snapshot are part of it and are dropped.
+ * A write failure is rethrown to the manager on the next change, flush() or close().
+ */
+class AsyncStorageWriter implements AutoCloseable {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Object stateLock;
+    private final File tasksFile;
+    private final File journalFile;
+    private final File historyFile;
+    private final Supplier<Runnable> snapshotCapture;
+    private final Supplier<List<String>> historyCapture;
+    private final int flushThreshold;
+    private final DurabilityMode durabilityMode;
+    private final ScheduledExecutorService executor;
+    private final MappedJournal mappedJournal;
+    private final Object pendingLock = new Object();
+    private List<String> pendingJournalRecords = new ArrayList<>();
+    private List<String> pendingHistoryRecords = new ArrayList<>();
+    private boolean isSnapshotPending;
+    private boolean isJournalTruncationPending;
+    private boolean isHistoryRewritePending;
+    private int pendingChangesCount;
+    private boolean isWriteScheduled;
+    private boolean isClosed;
+    private volatile Exception failure;
+    private FileOutputStream journalStream;
+    private Writer journalWriter;
+    private FileOutputStream historyStream;
+    private Writer historyWriter;
+
+    /**
+     * @param stateLock lock held by the manager while changing its state and collecting changes.
+     * @param tasksFile file with the snapshot of tasks.
+     * @param journalFile journal file.
+     * @param historyFile history file.
+     * @param snapshotCapture called under the state lock, returns action writing captured state to the tasks file.
+     * @param historyCapture called under the state lock, returns records of the current history.
+     * @param settings settings with asynchronous writes.
+     */
+    AsyncStorageWriter(Object stateLock, File tasksFile, File journalFile, File historyFile,
+                       Supplier<Runnable> snapshotCapture, Supplier<List<String>> historyCapture,
+                       FileStorageSettings settings) {
+        this.stateLock = stateLock;
+        this.tasksFile = tasksFile;
+        this.journalFile = journalFile;
+        this.historyFile = historyFile;
+        this.snapshotCapture = snapshotCapture;
+        this.historyCapture = historyCapture;
+        this.flushThreshold = settings.getAsyncFlushThreshold();
+        this.durabilityMode = settings.getDurabilityMode();
+        mappedJournal = settings.getStorageBackend() == StorageBackend.MEMORY_MAPPED
+                ? new MappedJournal(journalFile)
+                : null;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "file-storage-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = settings.getAsyncFlushInterval().toNanos();
+        executor.scheduleWithFixedDelay(this::writePending, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void appendJournal(List<String> records) {
+        synchronized (pendingLock) {
+            checkState();
+            pendingJournalRecords.addAll(records);
+            onChanges(records.size());
+        }
+    }
+
+    void appendHistory(String record) {
+        synchronized (pendingLock) {
+            checkState();
+            pendingHistoryRecords.add(record);
+            onChanges(1);
+        }
+    }
+
+    void requestSnapshot(boolean isJournalTruncated) {
+        synchronized (pendingLock) {
+            checkState();
+            isSnapshotPending = true;
+            isJournalTruncationPending |= isJournalTruncated;
+            onChanges(1);
+        }
+    }
+
+    void requestHistoryRewrite() {
+        synchronized (pendingLock) {
+            checkState();
+            isHistoryRewritePending = true;
+            onChanges(1);
+        }
+    }
+
+    /**
+     * Waits until all collected changes are written and flushed to the operating system,
+     * in FSYNC mode also forced to the storage device.
+     * Must not be called while holding the state lock.
+     */
+    void flush() {
+        synchronized (pendingLock) {
+            checkState();
+        }
+        await(executor.submit(() -> {
+            writePending();
+            flushFiles();
+        }));
+        throwIfFailed();
+    }
+
+    @Override
+    public void close() {
+        synchronized (pendingLock) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+        }
+        try {
+            await(executor.submit(() -> {
+                writePending();
+                flushFiles();
+                closeJournal();
+                closeHistory();
+            }));
+        } finally {
+            executor.shutdown();
+        }
+        throwIfFailed();
+    }
+
+    private void onChanges(int changesCount) {
+        pendingChangesCount += changesCount;
+        if (pendingChangesCount >= flushThreshold && !isWriteScheduled) {
+            isWriteScheduled = true;
+            executor.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        if (failure != null) {
+            return;
+        }
+        synchronized (pendingLock) {
+            if (pendingChangesCount == 0) {
+                isWriteScheduled = false;
+                return;
+            }
+        }
+        List<String> journalRecords;
+        List<String> historyRecords;
+        Runnable snapshotWrite = null;
+        List<String> history = null;
+        boolean isJournalTruncated;
+        synchronized (stateLock) {
+            synchronized (pendingLock) {
+                if (isSnapshotPending) {
+                    snapshotWrite = snapshotCapture.get();
+                    pendingJournalRecords.clear();
+                }
+                if (isHistoryRewritePending) {
+                    history = historyCapture.get();
+                    pendingHistoryRecords.clear();
+                }
+                isJournalTruncated = isJournalTruncationPending;
+                journalRecords = pendingJournalRecords;
+                historyRecords = pendingHistoryRecords;
+                pendingJournalRecords = new ArrayList<>();
+                pendingHistoryRecords = new ArrayList<>();
+                isSnapshotPending = false;
+                isJournalTruncationPending = false;
+                isHistoryRewritePending = false;
+                pendingChangesCount = 0;
+                isWriteScheduled = false;
+            }
+        }
+        try {
+            if (snapshotWrite != null) {
+                snapshotWrite.run();
+                if (durabilityMode == DurabilityMode.FSYNC) {
+                    force(tasksFile);
+                }
+                if (isJournalTruncated && mappedJournal != null) {
+                    mappedJournal.clear();
+                } else if (isJournalTruncated) {
+                    closeJournal();
+                    new FileOutputStream(journalFile, false).close();
+                }
+            }
+            if (!journalRecords.isEmpty() && mappedJournal != null) {
+                mappedJournal.append(journalRecords);
+            } else if (!journalRecords.isEmpty()) {
+                write(openJournal(), journalRecords);
+            }
+            if (history != null) {
+                closeHistory();
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(historyFile, false)), BUFFER_SIZE)) {
+                    write(writer, history);
+                }
+                if (durabilityMode == DurabilityMode.FSYNC) {
+                    force(historyFile);
+                }
+            }
+            if (!historyRecords.isEmpty()) {
+                write(openHistory(), historyRecords);
+            }
+            if (durabilityMode != DurabilityMode.NONE) {
+                flushFiles();
+            }
+        } catch (IOException | RuntimeException exception) {
+            failure = exception;
+        }
+    }
+
+    private void flushFiles() {
+        try {
+            flush(journalStream, journalWriter);
+            flush(historyStream, historyWriter);
+            if (mappedJournal != null && durabilityMode == DurabilityMode.FSYNC) {
+                mappedJournal.force();
+            }
+        } catch (IOException exception) {
+            failure = exception;
+        }
+    }
+
+    private void flush(FileOutputStream stream, Writer writer) throws IOException {
+        if (writer == null) {
+            return;
+        }
+        writer.flush();
+        if (durabilityMode == DurabilityMode.FSYNC) {
+            stream.getChannel().force(false);
+        }
+    }
+
+    private static void write(Writer writer, List<String> records) throws IOException {
+        for (String record : records) {
+            writer.write(record);
+            writer.write(LINE_SEPARATOR);
+        }
+    }
+
+    private static void force(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private Writer openJournal() throws IOException {
+        if (journalWriter == null) {
+            journalStream = new FileOutputStream(journalFile, true);
+            journalWriter = new BufferedWriter(new OutputStreamWriter(journalStream), BUFFER_SIZE);
+        }
+        return journalWriter;
+    }
+
+    private Writer openHistory() throws IOException {
+        if (historyWriter == null) {
+            historyStream = new FileOutputStream(historyFile, true);
+            historyWriter = new BufferedWriter(new OutputStreamWriter(historyStream), BUFFER_SIZE);
+        }
+        return historyWriter;
+    }
+
+    private void closeJournal() {
+        try {
+            if (journalWriter != null) {
+                journalWriter.close();
+            }
+            if (mappedJournal != null) {
+                mappedJournal.close();
+            }
+        } catch (IOException exception) {
+            failure = exception;
+        }
+        journalWriter = null;
+        journalStream = null;
+    }
+
+    private void closeHistory() {
+        try {
+            if (historyWriter != null) {
+                historyWriter.close();
+            }
+        } catch (IOException exception) {
+            failure = exception;
+        }
+        historyWriter = null;
+        historyStream = null;
+    }
+
+    private void checkState() {
+        if (isClosed) {
+            throw new ManagerSaveException("Storage writer is closed");
+        }
+        throwIfFailed();
+    }
+
+    private void throwIfFailed() {
+        Exception exception = failure;
+        if (exception != null) {
+            throw new ManagerSaveException("Cannot write changes: " + exception.getMessage(), exception);
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ManagerSaveException("Interrupted while waiting for changes to be written", exception);
+        } catch (ExecutionException exception) {
+            throw new ManagerSaveException("Cannot write changes: " + exception.getCause().getMessage(),
+                    exception.getCause());
+        }
+    }
+}
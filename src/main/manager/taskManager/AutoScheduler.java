@@ -0,0 +1,176 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * AutoScheduler places tasks without start time into free slots of the current schedule
+ * and adds them to the manager in one batch.
+ * Free slots are read once by {@link TaskManager#findFreeSlots} and every request takes the earliest
+ * slot part which fits its duration, earliest start and deadline, see {@link FreeSlotMap}.
+ * Requests are placed greedily in several orders, by deadline first, by duration and by earliest start and then in random orders,
+ * orders are tried in parallel and the one placing most tasks with the earliest last end wins.
+ * If the schedule is changed concurrently and the batch is rejected, the placement is repeated.
+ */
+public class AutoScheduler {
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int DEFAULT_ORDERINGS_COUNT = 1;
+    private static final Comparator<LocalDateTime> NULLS_LAST = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final TaskManager manager;
+    private final int orderingsCount;
+
+    public AutoScheduler(TaskManager manager) {
+        this(manager, DEFAULT_ORDERINGS_COUNT);
+    }
+
+    /**
+     * @param manager manager which schedule is filled.
+     * @param orderingsCount number of request orders tried, 1 places requests only by their deadlines.
+     */
+    public AutoScheduler(TaskManager manager, int orderingsCount) {
+        if (orderingsCount <= 0) {
+            throw new IllegalArgumentException("Number of orderings should be positive");
+        }
+        this.manager = manager;
+        this.orderingsCount = orderingsCount;
+    }
+
+    /**
+     * This method places requested tasks into free slots starting not before provided time
+     * and adds placed tasks to the manager in one batch. Start times of placed tasks are set,
+     * tasks which do not fit keep their start time.
+     *
+     * @param requests tasks to place.
+     * @param from earliest start time of placed tasks.
+     * @return ScheduleResult placed tasks and requests which do not fit.
+     */
+    public ScheduleResult schedule(List<ScheduleRequest> requests, LocalDateTime from) {
+        if (requests.isEmpty()) {
+            return new ScheduleResult(List.of(), List.of(), true);
+        }
+        Placement placement = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            placement = place(requests, from);
+            List<TaskOperation> operations = new ArrayList<>();
+            List<LocalDateTime> previousStartTimes = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                if (placement.startTimes[i] == null) {
+                    continue;
+                }
+                Task task = requests.get(i).getTask();
+                previousStartTimes.add(task.getStartTime());
+                task.setStartTime(placement.startTimes[i]);
+                operations.add(TaskOperation.add(task));
+            }
+            if (manager.applyBatch(operations)) {
+                return toResult(requests, placement, true);
+            }
+            for (int i = 0; i < operations.size(); i++) {
+                operations.get(i).getTask().setStartTime(previousStartTimes.get(i));
+            }
+        }
+        return toResult(requests, placement, false);
+    }
+
+    private Placement place(List<ScheduleRequest> requests, LocalDateTime from) {
+        Duration minDuration = Collections.min(requests,
+                Comparator.comparing(request -> request.getTask().getDuration())).getTask().getDuration();
+        LocalDateTime horizon = LocalDateTime.MIN;
+        for (ScheduleRequest request : requests) {
+            LocalDateTime deadline = request.getDeadline() == null ? LocalDateTime.MAX : request.getDeadline();
+            horizon = deadline.isAfter(horizon) ? deadline : horizon;
+        }
+        FreeSlotMap freeSlots = new FreeSlotMap(minDuration);
+        if (from.isBefore(horizon)) {
+            for (TimeSlot slot : manager.findFreeSlots(from, horizon, minDuration, Integer.MAX_VALUE)) {
+                freeSlots.add(slot.getStart(), slot.getEnd());
+            }
+        }
+        return IntStream.range(0, orderingsCount)
+                .parallel()
+                .mapToObj(ordering -> new Placement(requests, getOrder(requests, ordering), from,
+                        orderingsCount == 1 ? freeSlots : freeSlots.copy()))
+                .reduce((first, second) -> second.isBetterThan(first) ? second : first)
+                .orElseThrow();
+    }
+
+    private static List<Integer> getOrder(List<ScheduleRequest> requests, int ordering) {
+        List<Integer> order = IntStream.range(0, requests.size()).boxed().collect(Collectors.toList());
+        Comparator<Integer> byDeadline = Comparator.comparing(i -> requests.get(i).getDeadline(), NULLS_LAST);
+        Comparator<Integer> byEarliestStart = Comparator.comparing(i -> requests.get(i).getEarliestStart(),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        Comparator<Integer> byLongestDuration = Comparator.comparing(
+                (Integer i) -> requests.get(i).getTask().getDuration()).reversed();
+        switch (ordering) {
+            case 0: {
+                order.sort(byDeadline.thenComparing(byEarliestStart).thenComparing(byLongestDuration));
+                break;
+            }
+            case 1: {
+                order.sort(byLongestDuration.thenComparing(byDeadline));
+                break;
+            }
+            case 2: {
+                order.sort(byEarliestStart.thenComparing(byDeadline));
+                break;
+            }
+            default: {
+                Collections.shuffle(order, new Random(ordering));
+            }
+        }
+        return order;
+    }
+
+    private static ScheduleResult toResult(List<ScheduleRequest> requests, Placement placement, boolean isApplied) {
+        List<Task> scheduledTasks = new ArrayList<>();
+        List<ScheduleRequest> unscheduledRequests = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (placement.startTimes[i] != null && isApplied) {
+                scheduledTasks.add(requests.get(i).getTask());
+            } else {
+                unscheduledRequests.add(requests.get(i));
+            }
+        }
+        return new ScheduleResult(scheduledTasks, unscheduledRequests, isApplied);
+    }
+
+    /**
+     * Greedy placement of requests in one order.
+     */
+    private static class Placement {
+        private final LocalDateTime[] startTimes;
+        private int placedCount;
+        private LocalDateTime lastEnd = LocalDateTime.MIN;
+
+        Placement(List<ScheduleRequest> requests, List<Integer> order, LocalDateTime from, FreeSlotMap freeSlots) {
+            startTimes = new LocalDateTime[requests.size()];
+            for (int i : order) {
+                ScheduleRequest request = requests.get(i);
+                LocalDateTime earliestStart = request.getEarliestStart() != null
+                        && request.getEarliestStart().isAfter(from) ? request.getEarliestStart() : from;
+                LocalDateTime deadline = request.getDeadline() == null ? LocalDateTime.MAX : request.getDeadline();
+                Duration duration = request.getTask().getDuration();
+                startTimes[i] = freeSlots.take(earliestStart, deadline, duration);
+                if (startTimes[i] != null) {
+                    placedCount++;
+                    LocalDateTime end = startTimes[i].plus(duration);
+                    lastEnd = end.isAfter(lastEnd) ? end : lastEnd;
+                }
+            }
+        }
+
+        boolean isBetterThan(Placement other) {
+            return placedCount > other.placedCount || (placedCount == other.placedCount && lastEnd.isBefore(other.lastEnd));
+        }
+    }
+}
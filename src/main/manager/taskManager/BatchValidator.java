@@ -0,0 +1,190 @@
+package main.manager.taskManager;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskTypes;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * BatchValidator checks that a batch of operations can be applied as a whole.
+ * Operations are applied one by one to a scratch schedule only, so every scheduled task
+ * is checked against the current schedule together with all previous operations of the batch
+ * while the shared schedule stays untouched for its readers. Ids are assigned to added tasks without id,
+ * they are reset back if the batch is rejected.
+ */
+class BatchValidator {
+    private final TaskSchedule index;
+    private final BiPredicate<TaskTypes, UUID> isStored;
+    private final Function<UUID, List<UUID>> storedSubTaskIds;
+    private final Map<TaskTypes, Map<UUID, Boolean>> changedPresence = new EnumMap<>(TaskTypes.class);
+    private final Map<UUID, List<UUID>> addedSubTaskIds = new HashMap<>();
+    private final List<Task> tasksWithAssignedIds = new ArrayList<>();
+
+    private BatchValidator(TaskSchedule index, BiPredicate<TaskTypes, UUID> isStored,
+                           Function<UUID, List<UUID>> storedSubTaskIds) {
+        this.index = index;
+        this.isStored = isStored;
+        this.storedSubTaskIds = storedSubTaskIds;
+        for (TaskTypes type : TaskTypes.values()) {
+            changedPresence.put(type, new HashMap<>());
+        }
+    }
+
+    /**
+     * This method checks if the batch can be applied to the manager with provided storage.
+     * The index is only read, changes of the batch are checked in a {@link ScheduleOverlay}.
+     *
+     * @return true if no scheduled task of the batch intersects other tasks.
+     * @throws RuntimeException if a subtask of the batch refers to a missing epic.
+     */
+    static boolean isApplicable(List<TaskOperation> operations, PrioritizedTasksIndex index,
+                                Map<UUID, ? extends Task> tasks, Map<UUID, ? extends Task> subTasks,
+                                Map<UUID, ? extends EpicTask> epicTasks) {
+        Map<TaskTypes, Map<UUID, ? extends Task>> storedTasks = new EnumMap<>(TaskTypes.class);
+        storedTasks.put(TaskTypes.TASK, tasks);
+        storedTasks.put(TaskTypes.SUBTASK, subTasks);
+        storedTasks.put(TaskTypes.EPIC, epicTasks);
+        return isApplicable(operations, new ScheduleOverlay(index), (type, id) -> storedTasks.get(type).containsKey(id), epicId -> {
+            EpicTask epic = epicTasks.get(epicId);
+            return epic == null ? List.of() : epic.getSubTaskIds();
+        });
+    }
+
+    /**
+     * This method checks if the batch can be applied to the manager with provided schedule.
+     *
+     * @param operations operations of the batch.
+     * @param schedule scratch schedule of stored tasks and subtasks, it is changed by the check.
+     * @param isStored checks if the task of provided type and id is stored.
+     * @param storedSubTaskIds returns ids of stored subtasks of the epic.
+     * @return true if no scheduled task of the batch intersects other tasks.
+     * @throws RuntimeException if a subtask of the batch refers to a missing epic.
+     */
+    static boolean isApplicable(List<TaskOperation> operations, TaskSchedule schedule,
+                                BiPredicate<TaskTypes, UUID> isStored, Function<UUID, List<UUID>> storedSubTaskIds) {
+        BatchValidator validator = new BatchValidator(schedule, isStored, storedSubTaskIds);
+        boolean isApplicable = true;
+        try {
+            for (TaskOperation operation : operations) {
+                if (!validator.check(operation)) {
+                    isApplicable = false;
+                    break;
+                }
+            }
+        } catch (RuntimeException exception) {
+            validator.resetAssignedIds();
+            throw exception;
+        }
+        if (!isApplicable) {
+            validator.resetAssignedIds();
+        }
+        return isApplicable;
+    }
+
+    private boolean check(TaskOperation operation) {
+        TaskTypes type = operation.getTaskType();
+        Task task = operation.getTask();
+        switch (operation.getType()) {
+            case ADD: {
+                if (type == TaskTypes.EPIC) {
+                    assignId(task);
+                    setPresent(type, task.getId(), true);
+                    return true;
+                }
+                checkEpicExists(task);
+                if (index.isIntersected(task)) {
+                    return false;
+                }
+                assignId(task);
+                addToIndex(task);
+                setPresent(type, task.getId(), true);
+                return true;
+            }
+            case UPDATE: {
+                if (type == TaskTypes.EPIC) {
+                    return true;
+                }
+                checkEpicExists(task);
+                if (!isPresent(type, task.getId())) {
+                    return true;
+                }
+                if (index.isIntersected(task)) {
+                    return false;
+                }
+                addToIndex(task);
+                return true;
+            }
+            case REMOVE: {
+                UUID id = operation.getId();
+                if (id == null || !isPresent(type, id)) {
+                    return true;
+                }
+                if (type == TaskTypes.EPIC) {
+                    removeSubTasksOfEpic(id);
+                } else {
+                    removeFromIndex(id);
+                }
+                setPresent(type, id, false);
+                return true;
+            }
+            default: {
+                throw new RuntimeException("Incorrect operation type: " + operation.getType());
+            }
+        }
+    }
+
+    private void checkEpicExists(Task task) {
+        if (task instanceof SubTask && !isPresent(TaskTypes.EPIC, ((SubTask) task).getEpicId())) {
+            throw new RuntimeException("There is no epic for this subtask!");
+        }
+    }
+
+    private void removeSubTasksOfEpic(UUID epicId) {
+        List<UUID> subTaskIds = new ArrayList<>(addedSubTaskIds.getOrDefault(epicId, List.of()));
+        subTaskIds.addAll(storedSubTaskIds.apply(epicId));
+        for (UUID subTaskId : subTaskIds) {
+            removeFromIndex(subTaskId);
+            setPresent(TaskTypes.SUBTASK, subTaskId, false);
+        }
+    }
+
+    private boolean isPresent(TaskTypes type, UUID id) {
+        Boolean isPresent = changedPresence.get(type).get(id);
+        return isPresent != null ? isPresent : isStored.test(type, id);
+    }
+
+    private void setPresent(TaskTypes type, UUID id, boolean isPresent) {
+        changedPresence.get(type).put(id, isPresent);
+    }
+
+    private void assignId(Task task) {
+        if (task.getId() == null) {
+            task.setId(UUID.randomUUID());
+            tasksWithAssignedIds.add(task);
+        }
+    }
+
+    private void addToIndex(Task task) {
+        index.add(task);
+        if (task instanceof SubTask) {
+            addedSubTaskIds.computeIfAbsent(((SubTask) task).getEpicId(), id -> new ArrayList<>()).add(task.getId());
+        }
+    }
+
+    private void removeFromIndex(UUID id) {
+        index.remove(id);
+    }
+
+    private void resetAssignedIds() {
+        tasksWithAssignedIds.forEach(task -> task.setId(null));
+    }
+}
@@ -0,0 +1,258 @@
+package main.manager.taskManager;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Codec of the binary snapshot of tasks.
+ * The snapshot starts with a magic number and format version followed by records. Every record
+ * starts with a type tag byte, ids are stored as two longs, times as epoch seconds and nanos,
+ * durations as seconds and nanos, strings as length-prefixed UTF-8. Absent strings and times are
+ * stored as negative length or a zero presence byte.
+ * An empty file is read as an empty snapshot.
+ */
+class BinarySnapshotCodec {
+    private static final int MAGIC = 0x4B4E424E;
+    private static final byte VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NULL_LENGTH = -1;
+
+    static void write(File file, Collection<? extends Task> tasks) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new Writer(channel);
+            writer.ensure(Integer.BYTES + 1);
+            writer.buffer.putInt(MAGIC);
+            writer.buffer.put(VERSION);
+            for (Task task : tasks) {
+                writeTask(writer, task);
+            }
+            writer.flush();
+        }
+    }
+
+    static List<Task> read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return new ArrayList<>();
+            }
+            return readTasks(new Reader(channel));
+        }
+    }
+
+    /**
+     * Reads the snapshot decoding records straight from the file mapped into memory.
+     * Files larger than one mapped region are read with the channel.
+     */
+    static List<Task> readMapped(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return new ArrayList<>();
+            }
+            if (size > MappedFiles.REGION_SIZE) {
+                return readTasks(new Reader(channel));
+            }
+            return readTasks(new Reader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)));
+        }
+    }
+
+    private static List<Task> readTasks(Reader reader) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        if (!reader.ensure(Integer.BYTES + 1) || reader.buffer.getInt() != MAGIC) {
+            throw new IOException("File is not a binary snapshot");
+        }
+        byte version = reader.buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary snapshot version: " + version);
+        }
+        while (reader.ensure(1)) {
+            tasks.add(readTask(reader));
+        }
+        return tasks;
+    }
+
+    private static void writeTask(Writer writer, Task task) throws IOException {
+        writer.ensure(1 + 2 * Long.BYTES + 1);
+        writer.buffer.put((byte) task.getType().ordinal());
+        writer.buffer.putLong(task.getId().getMostSignificantBits());
+        writer.buffer.putLong(task.getId().getLeastSignificantBits());
+        writer.buffer.put((byte) task.getTaskStatus().ordinal());
+        writer.putString(task.getName());
+        writer.putString(task.getDescription());
+        if (task.getType() == TaskTypes.EPIC) {
+            return;
+        }
+        writer.ensure(2 * (1 + Long.BYTES + Integer.BYTES));
+        LocalDateTime startTime = task.getStartTime();
+        writer.buffer.put((byte) (startTime == null ? 0 : 1));
+        if (startTime != null) {
+            writer.buffer.putLong(startTime.toEpochSecond(ZoneOffset.UTC));
+            writer.buffer.putInt(startTime.getNano());
+        }
+        Duration duration = task.getDuration();
+        writer.buffer.put((byte) (duration == null ? 0 : 1));
+        if (duration != null) {
+            writer.buffer.putLong(duration.getSeconds());
+            writer.buffer.putInt(duration.getNano());
+        }
+        if (task.getType() == TaskTypes.SUBTASK) {
+            UUID epicId = ((SubTask) task).getEpicId();
+            writer.ensure(2 * Long.BYTES);
+            writer.buffer.putLong(epicId.getMostSignificantBits());
+            writer.buffer.putLong(epicId.getLeastSignificantBits());
+        }
+    }
+
+    private static Task readTask(Reader reader) throws IOException {
+        reader.require(1 + 2 * Long.BYTES + 1);
+        TaskTypes type = TaskTypes.values()[reader.buffer.get()];
+        UUID id = new UUID(reader.buffer.getLong(), reader.buffer.getLong());
+        TaskStatus status = TaskStatus.values()[reader.buffer.get()];
+        String name = reader.getString();
+        String description = reader.getString();
+        if (type == TaskTypes.EPIC) {
+            return new EpicTask(id, name, description, status, new ArrayList<>());
+        }
+        LocalDateTime startTime = null;
+        reader.require(1);
+        if (reader.buffer.get() != 0) {
+            reader.require(Long.BYTES + Integer.BYTES);
+            startTime = LocalDateTime.ofEpochSecond(reader.buffer.getLong(), reader.buffer.getInt(), ZoneOffset.UTC);
+        }
+        Duration duration = null;
+        reader.require(1);
+        if (reader.buffer.get() != 0) {
+            reader.require(Long.BYTES + Integer.BYTES);
+            duration = Duration.ofSeconds(reader.buffer.getLong(), reader.buffer.getInt());
+        }
+        if (type == TaskTypes.SUBTASK) {
+            reader.require(2 * Long.BYTES);
+            UUID epicId = new UUID(reader.buffer.getLong(), reader.buffer.getLong());
+            return new SubTask(id, name, description, status, epicId, startTime, duration);
+        }
+        return new Task(id, name, description, status, startTime, duration);
+    }
+
+    private static class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void putString(String value) throws IOException {
+            ensure(Integer.BYTES);
+            if (value == null) {
+                buffer.putInt(NULL_LENGTH);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length);
+            if (bytes.length > buffer.capacity()) {
+                flush();
+                writeFully(ByteBuffer.wrap(bytes));
+                return;
+            }
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void writeFully(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    private static class Reader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        Reader(FileChannel channel) {
+            this.channel = channel;
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.flip();
+        }
+
+        /**
+         * Reader of the whole snapshot already mapped into memory.
+         */
+        Reader(ByteBuffer mappedSnapshot) {
+            this.channel = null;
+            buffer = mappedSnapshot;
+        }
+
+        boolean ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return true;
+            }
+            if (channel == null) {
+                return false;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    buffer.flip();
+                    return false;
+                }
+            }
+            buffer.flip();
+            return true;
+        }
+
+        void require(int bytes) throws IOException {
+            if (!ensure(bytes)) {
+                throw new EOFException("Binary snapshot is truncated");
+            }
+        }
+
+        String getString() throws IOException {
+            require(Integer.BYTES);
+            int length = buffer.getInt();
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            int copied = 0;
+            while (copied < length) {
+                require(1);
+                int chunk = Math.min(buffer.remaining(), length - copied);
+                buffer.get(bytes, copied, chunk);
+                copied += chunk;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
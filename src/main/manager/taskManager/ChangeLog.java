@@ -0,0 +1,97 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * ChangeLog numbers changes of tasks, epics and subtasks and keeps the given number of the last ones
+ * in a ring of arrays, so the log takes constant memory and a change is recorded without allocations.
+ * Every change gets the next version, so the change of a version is found by its position in the ring.
+ * The log is not thread-safe.
+ */
+class ChangeLog {
+    private final UUID[] ids;
+    private final TaskEventType[] types;
+    private volatile long version;
+
+    /**
+     * @param capacity maximum number of retained changes.
+     */
+    ChangeLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity of the change log should be positive");
+        }
+        ids = new UUID[capacity];
+        types = new TaskEventType[capacity];
+    }
+
+    /**
+     * This method records the change of the task with provided id.
+     *
+     * @param type type of the change.
+     * @param id id of the changed task.
+     */
+    void add(TaskEventType type, UUID id) {
+        version++;
+        int index = (int) (version % ids.length);
+        ids[index] = id;
+        types[index] = type;
+    }
+
+    /**
+     * Returns version of the last change.
+     *
+     * @return long version of the last change or 0 if nothing was changed.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * This method returns changes made after the version. Changes of one task are merged, so only
+     * the tasks changed since the version are visited. A task added and removed after the version is not returned.
+     *
+     * @param since version known to the caller.
+     * @param tasksById function returning the current state of a task by its id.
+     * @return TaskChanges changes since the version or a resync marker if they are not retained.
+     */
+    TaskChanges getChangesSince(long since, Function<UUID, Task> tasksById) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Version should not be negative");
+        }
+        // a version from the future was issued before the board was reloaded
+        if (since > version || version - since > ids.length) {
+            return TaskChanges.resync(version);
+        }
+        Map<UUID, Boolean> isAddedById = new LinkedHashMap<>();
+        Map<UUID, TaskEventType> lastTypes = new LinkedHashMap<>();
+        for (long changeVersion = since + 1; changeVersion <= version; changeVersion++) {
+            int index = (int) (changeVersion % ids.length);
+            isAddedById.putIfAbsent(ids[index], types[index] == TaskEventType.ADDED);
+            lastTypes.put(ids[index], types[index]);
+        }
+        List<Task> addedTasks = new ArrayList<>();
+        List<Task> updatedTasks = new ArrayList<>();
+        List<UUID> removedIds = new ArrayList<>();
+        for (Map.Entry<UUID, Boolean> entry : isAddedById.entrySet()) {
+            UUID id = entry.getKey();
+            boolean isAdded = entry.getValue();
+            if (lastTypes.get(id) == TaskEventType.REMOVED) {
+                if (!isAdded) {
+                    removedIds.add(id);
+                }
+            } else if (isAdded) {
+                addedTasks.add(tasksById.apply(id));
+            } else {
+                updatedTasks.add(tasksById.apply(id));
+            }
+        }
+        return new TaskChanges(version, addedTasks, updatedTasks, removedIds);
+    }
+}
@@ -0,0 +1,572 @@
+package main.manager.taskManager;
+
+import main.manager.Managers;
+import main.manager.historyManager.HistoryManager;
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskTypes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Flow;
+import java.util.function.IntPredicate;
+
+import static main.manager.taskManager.ColumnarTaskStore.NO_ROW;
+
+/**
+ * TaskManager for very large boards which keeps tasks in columns of primitive arrays
+ * instead of task objects, see {@link ColumnarTaskStore}, and orders them by {@link RowSchedule}.
+ * Tasks returned by the manager are created from stored values on every call, so they are
+ * not the objects passed to the manager and their changes are saved only by update methods.
+ * Status and time data of an epic are calculated from its subtasks when the epic is returned,
+ * the history keeps only ids of viewed tasks. Events carry tasks created from stored values
+ * and the tasks are created only when there are subscribers. Names and descriptions are kept
+ * in a {@link TextIndex} as well, so a search does not read the whole store.
+ * The manager is not thread-safe.
+ */
+public class ColumnarTaskManager implements TaskManager {
+    private static final int DEFAULT_HISTORY_CAPACITY = 10;
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    private final ColumnarTaskStore store;
+    private final RowSchedule schedule;
+    private final HistoryManager historyManager;
+    private final TextIndex textIndex = new TextIndex();
+    private final TaskEventPublisher events = new TaskEventPublisher();
+
+    public ColumnarTaskManager() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_HISTORY_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity number of tasks the storage is allocated for up front.
+     * @param historyCapacity maximum number of views in the history.
+     */
+    public ColumnarTaskManager(int initialCapacity, int historyCapacity) {
+        store = new ColumnarTaskStore(initialCapacity);
+        schedule = new RowSchedule(store);
+        historyManager = Managers.getBoundedHistory(historyCapacity, this::findAnyTask);
+    }
+
+    @Override
+    public Task addTask(Task task) {
+        checkIdIsFree(task.getId(), TaskTypes.TASK);
+        if (isTaskIntersected(task)) {
+            return task;
+        }
+        if (task.getId() == null) {
+            task.setId(UUID.randomUUID());
+        }
+        int row = store.findRow(task.getId(), TaskTypes.TASK);
+        if (row != NO_ROW) {
+            rewriteRow(row, task);
+        } else {
+            row = store.addRow(task, NO_ROW);
+            schedule.add(row);
+        }
+        textIndex.add(task);
+        publishRow(TaskEventType.ADDED, row);
+        return task;
+    }
+
+    @Override
+    public Task updateTask(Task task) {
+        if (isTaskIntersected(task)) {
+            return task;
+        }
+        int row = store.findRow(task.getId(), TaskTypes.TASK);
+        if (row != NO_ROW) {
+            rewriteRow(row, task);
+            textIndex.add(task);
+            publishRow(TaskEventType.UPDATED, row);
+        }
+        return task;
+    }
+
+    @Override
+    public void removeTaskById(UUID id) {
+        if (id == null) {
+            return;
+        }
+        int row = store.findRow(id, TaskTypes.TASK);
+        if (row != NO_ROW) {
+            removeRow(row);
+        }
+    }
+
+    @Override
+    public void clearTaskList() {
+        removeRowsOf(TaskTypes.TASK);
+    }
+
+    @Override
+    public Task getTaskById(UUID id) {
+        return getById(id, TaskTypes.TASK);
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return getAllOf(TaskTypes.TASK);
+    }
+
+    @Override
+    public SubTask addSubTask(SubTask subTask) {
+        checkIdIsFree(subTask.getId(), TaskTypes.SUBTASK);
+        if (isTaskIntersected(subTask)) {
+            return subTask;
+        }
+        int epicRow = findEpicRow(subTask);
+        if (subTask.getId() == null) {
+            subTask.setId(UUID.randomUUID());
+        }
+        int row = store.findRow(subTask.getId(), TaskTypes.SUBTASK);
+        textIndex.add(subTask);
+        if (row != NO_ROW) {
+            rewriteSubTaskRow(row, subTask, epicRow);
+        } else {
+            row = store.addRow(subTask, epicRow);
+            schedule.add(row);
+            publishRow(TaskEventType.ADDED, row);
+            publishRow(TaskEventType.EPIC_CHANGED, epicRow);
+        }
+        return subTask;
+    }
+
+    @Override
+    public SubTask updateSubTask(SubTask subTask) {
+        if (isTaskIntersected(subTask)) {
+            return subTask;
+        }
+        int epicRow = findEpicRow(subTask);
+        int row = store.findRow(subTask.getId(), TaskTypes.SUBTASK);
+        if (row != NO_ROW) {
+            textIndex.add(subTask);
+            rewriteSubTaskRow(row, subTask, epicRow);
+        }
+        return subTask;
+    }
+
+    @Override
+    public void removeSubTaskById(UUID id) {
+        if (id == null) {
+            return;
+        }
+        int row = store.findRow(id, TaskTypes.SUBTASK);
+        if (row != NO_ROW) {
+            int epicRow = store.getEpicRow(row);
+            removeRow(row);
+            publishRow(TaskEventType.EPIC_CHANGED, epicRow);
+        }
+    }
+
+    @Override
+    public void clearSubTaskLists() {
+        removeRowsOf(TaskTypes.SUBTASK);
+        for (int row = 0; row < store.getRowsBound(); row++) {
+            if (store.isRowOf(row, TaskTypes.EPIC)) {
+                publishRow(TaskEventType.EPIC_CHANGED, row);
+            }
+        }
+    }
+
+    @Override
+    public SubTask getSubTaskById(UUID id) {
+        return (SubTask) getById(id, TaskTypes.SUBTASK);
+    }
+
+    @Override
+    public List<SubTask> getAllSubTasks() {
+        return getAllOf(TaskTypes.SUBTASK);
+    }
+
+    /**
+     * Adds the epic without its subtask ids, subtasks are linked to the epic when they are added.
+     */
+    @Override
+    public EpicTask addEpicTask(EpicTask epicTask) {
+        checkIdIsFree(epicTask.getId(), TaskTypes.EPIC);
+        if (epicTask.getId() == null) {
+            epicTask.setId(UUID.randomUUID());
+        }
+        int row = store.findRow(epicTask.getId(), TaskTypes.EPIC);
+        if (row != NO_ROW) {
+            store.writeRow(row, epicTask);
+        } else {
+            row = store.addRow(epicTask, NO_ROW);
+        }
+        textIndex.add(epicTask);
+        publishRow(TaskEventType.ADDED, row);
+        return epicTask;
+    }
+
+    /**
+     * Updates name and description of the epic, its status and subtasks stay calculated by the manager.
+     */
+    @Override
+    public EpicTask updateEpicTask(EpicTask epicTask) {
+        int row = store.findRow(epicTask.getId(), TaskTypes.EPIC);
+        if (row != NO_ROW) {
+            store.writeRow(row, epicTask);
+            textIndex.add(epicTask);
+            publishRow(TaskEventType.UPDATED, row);
+        }
+        return epicTask;
+    }
+
+    @Override
+    public void removeEpicTaskById(UUID id) {
+        if (id == null) {
+            return;
+        }
+        int row = store.findRow(id, TaskTypes.EPIC);
+        if (row == NO_ROW) {
+            return;
+        }
+        for (int subTaskRow = store.getFirstSubTaskRow(row); subTaskRow != NO_ROW; ) {
+            int nextRow = store.getNextSubTaskRow(subTaskRow);
+            removeRow(subTaskRow);
+            subTaskRow = nextRow;
+        }
+        historyManager.remove(id);
+        textIndex.remove(id);
+        store.removeRow(row);
+        events.publishRemoved(TaskTypes.EPIC, id);
+    }
+
+    @Override
+    public void clearEpicTaskLists() {
+        removeRowsOf(TaskTypes.SUBTASK);
+        removeRowsOf(TaskTypes.EPIC);
+    }
+
+    @Override
+    public EpicTask getEpicTaskById(UUID id) {
+        return (EpicTask) getById(id, TaskTypes.EPIC);
+    }
+
+    @Override
+    public List<SubTask> getSubtasksOfEpic(UUID epicId) {
+        List<SubTask> epicsSubTasks = new ArrayList<>();
+        if (epicId == null) {
+            return epicsSubTasks;
+        }
+        int epicRow = store.findRow(epicId, TaskTypes.EPIC);
+        if (epicRow == NO_ROW) {
+            return epicsSubTasks;
+        }
+        for (int row = store.getFirstSubTaskRow(epicRow); row != NO_ROW; row = store.getNextSubTaskRow(row)) {
+            epicsSubTasks.add((SubTask) store.toTask(row));
+        }
+        return epicsSubTasks;
+    }
+
+    @Override
+    public List<EpicTask> getAllEpics() {
+        return getAllOf(TaskTypes.EPIC);
+    }
+
+    @Override
+    public Task findTask(TaskTypes type, UUID id) {
+        int row = id == null ? NO_ROW : store.findRow(id, type);
+        return row == NO_ROW ? null : store.toTask(row);
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return historyManager.getHistory();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        List<Task> result = new ArrayList<>();
+        schedule.forEach(row -> result.add(store.toTask(row)));
+        return result;
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Window should start before its end");
+        }
+        List<Task> result = new ArrayList<>();
+        long fromSeconds = from.toEpochSecond(ZoneOffset.UTC);
+        long toSeconds = to.toEpochSecond(ZoneOffset.UTC);
+        int previous = schedule.floor(fromSeconds, from.getNano(), true);
+        if (previous != NO_ROW
+                && (store.getStartTime(previous).equals(from) || store.getEndTime(previous).isAfter(from))) {
+            result.add(store.toTask(previous));
+        }
+        schedule.forEachAfter(fromSeconds, from.getNano(), row -> {
+            if (ColumnarTaskStore.compare(store.getStartSeconds(row), store.getStartNanos(row),
+                    toSeconds, to.getNano()) >= 0) {
+                return false;
+            }
+            result.add(store.toTask(row));
+            return true;
+        });
+        return result;
+    }
+
+    @Override
+    public TaskPage getPrioritizedTasksPage(LocalDateTime cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit of a page should be positive");
+        }
+        // one more row is collected to know if there is the next page
+        List<Task> tasks = new ArrayList<>(Math.min(limit, 1024) + 1);
+        IntPredicate action = row -> tasks.add(store.toTask(row)) && tasks.size() <= limit;
+        if (cursor == null) {
+            schedule.forEachAfter(Long.MIN_VALUE, 0, action);
+        } else {
+            schedule.forEachAfter(cursor.toEpochSecond(ZoneOffset.UTC), cursor.getNano(), action);
+        }
+        if (tasks.size() <= limit) {
+            return new TaskPage(tasks, null);
+        }
+        tasks.remove(limit);
+        return new TaskPage(tasks, tasks.get(limit - 1).getStartTime());
+    }
+
+    @Override
+    public List<TimeSlot> findFreeSlots(LocalDateTime from, LocalDateTime to, Duration minDuration, int limit) {
+        FreeSlotSearch search = new FreeSlotSearch(from, to, minDuration, limit);
+        long fromSeconds = from.toEpochSecond(ZoneOffset.UTC);
+        int previous = schedule.floor(fromSeconds, from.getNano(), true);
+        if (previous == NO_ROW || search.accept(store.getStartTime(previous), store.getEndTime(previous))) {
+            schedule.forEachAfter(fromSeconds, from.getNano(),
+                    row -> search.accept(store.getStartTime(row), store.getEndTime(row)));
+        }
+        return search.getSlots();
+    }
+
+    /**
+     * Searches the inverted index of names and descriptions which is updated by every change,
+     * only found tasks are created from stored values.
+     */
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        List<Task> result = new ArrayList<>();
+        for (UUID id : textIndex.search(query, limit)) {
+            result.add(findAnyTask(id));
+        }
+        return result;
+    }
+
+    /**
+     * Checks the batch against a copy-on-write view of the schedule, so the stored rows are not
+     * changed before the batch is known to be applicable.
+     */
+    @Override
+    public boolean applyBatch(List<TaskOperation> operations) {
+        checkAddedIdsAreFree(operations);
+        BatchSchedule batchSchedule = new BatchSchedule();
+        boolean isApplicable = BatchValidator.isApplicable(operations, batchSchedule,
+                (type, id) -> store.findRow(id, type) != NO_ROW, this::getStoredSubTaskIds);
+        if (!isApplicable) {
+            return false;
+        }
+        for (TaskOperation operation : operations) {
+            operation.applyTo(this);
+        }
+        return true;
+    }
+
+    @Override
+    public Flow.Publisher<TaskEvent> getEvents() {
+        return events.getPublisher();
+    }
+
+    private void publishRow(TaskEventType type, int row) {
+        events.publish(type, store.isRowOf(row, TaskTypes.EPIC) ? TaskTypes.EPIC
+                : store.isRowOf(row, TaskTypes.TASK) ? TaskTypes.TASK : TaskTypes.SUBTASK,
+                store.getId(row), () -> store.toTask(row));
+    }
+
+    private Task getById(UUID id, TaskTypes type) {
+        if (id == null) {
+            throw new RuntimeException("Provided id is null");
+        }
+        int row = store.findRow(id, type);
+        if (row == NO_ROW) {
+            return null;
+        }
+        Task task = store.toTask(row);
+        historyManager.add(task);
+        events.publish(TaskEventType.VIEWED, task);
+        return task;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Task> List<T> getAllOf(TaskTypes type) {
+        List<T> result = new ArrayList<>();
+        for (int row = 0; row < store.getRowsBound(); row++) {
+            if (store.isRowOf(row, type)) {
+                result.add((T) store.toTask(row));
+            }
+        }
+        return result;
+    }
+
+    private Task findAnyTask(UUID id) {
+        int row = store.findRow(id);
+        return row == NO_ROW ? null : store.toTask(row);
+    }
+
+    private List<UUID> getStoredSubTaskIds(UUID epicId) {
+        List<UUID> subTaskIds = new ArrayList<>();
+        int epicRow = store.findRow(epicId, TaskTypes.EPIC);
+        if (epicRow == NO_ROW) {
+            return subTaskIds;
+        }
+        for (int row = store.getFirstSubTaskRow(epicRow); row != NO_ROW; row = store.getNextSubTaskRow(row)) {
+            subTaskIds.add(store.getId(row));
+        }
+        return subTaskIds;
+    }
+
+    private void checkIdIsFree(UUID id, TaskTypes type) {
+        if (id == null) {
+            return;
+        }
+        int row = store.findRow(id);
+        if (row != NO_ROW && !store.isRowOf(row, type)) {
+            throw new IllegalArgumentException("Id " + id + " is already used by another type of task");
+        }
+    }
+
+    private void checkAddedIdsAreFree(List<TaskOperation> operations) {
+        Map<UUID, TaskTypes> addedTypes = new HashMap<>();
+        for (TaskOperation operation : operations) {
+            if (operation.getType() != TaskOperation.Type.ADD) {
+                continue;
+            }
+            UUID id = operation.getTask().getId();
+            checkIdIsFree(id, operation.getTaskType());
+            if (id == null) {
+                continue;
+            }
+            TaskTypes addedType = addedTypes.putIfAbsent(id, operation.getTaskType());
+            if (addedType != null && addedType != operation.getTaskType()) {
+                throw new IllegalArgumentException("Id " + id + " is already used by another type of task");
+            }
+        }
+    }
+
+    private int findEpicRow(SubTask subTask) {
+        int epicRow = subTask.getEpicId() == null ? NO_ROW : store.findRow(subTask.getEpicId(), TaskTypes.EPIC);
+        if (epicRow == NO_ROW) {
+            throw new RuntimeException("There is no epic for this subtask!");
+        }
+        return epicRow;
+    }
+
+    private void rewriteRow(int row, Task task) {
+        schedule.remove(row);
+        store.writeRow(row, task);
+        schedule.add(row);
+    }
+
+    private void rewriteSubTaskRow(int row, SubTask subTask, int epicRow) {
+        rewriteRow(row, subTask);
+        publishRow(TaskEventType.UPDATED, row);
+        int previousEpicRow = store.getEpicRow(row);
+        if (previousEpicRow != epicRow) {
+            store.moveToEpic(row, epicRow);
+            publishRow(TaskEventType.EPIC_CHANGED, previousEpicRow);
+        }
+        publishRow(TaskEventType.EPIC_CHANGED, epicRow);
+    }
+
+    private void removeRow(int row) {
+        UUID id = store.getId(row);
+        TaskTypes type = store.isRowOf(row, TaskTypes.TASK) ? TaskTypes.TASK : TaskTypes.SUBTASK;
+        historyManager.remove(id);
+        textIndex.remove(id);
+        schedule.remove(row);
+        store.removeRow(row);
+        events.publishRemoved(type, id);
+    }
+
+    private void removeRowsOf(TaskTypes type) {
+        for (int row = 0; row < store.getRowsBound(); row++) {
+            if (!store.isRowOf(row, type)) {
+                continue;
+            }
+            if (type == TaskTypes.EPIC) {
+                UUID id = store.getId(row);
+                historyManager.remove(id);
+                textIndex.remove(id);
+                store.removeRow(row);
+                events.publishRemoved(TaskTypes.EPIC, id);
+            } else {
+                removeRow(row);
+            }
+        }
+    }
+
+    private boolean isTaskIntersected(Task task) {
+        LocalDateTime startTime = task.getStartTime();
+        if (startTime == null) {
+            return false;
+        }
+        UUID id = task.getId();
+        return isIntersected(task, row -> id != null && store.hasId(row, id));
+    }
+
+    private boolean isIntersected(Task task, IntPredicate isIgnored) {
+        LocalDateTime startTime = task.getStartTime();
+        LocalDateTime endTime = task.getDuration() == null ? startTime : task.getEndTime();
+        return schedule.isIntersected(startTime.toEpochSecond(ZoneOffset.UTC), startTime.getNano(),
+                endTime.toEpochSecond(ZoneOffset.UTC), endTime.getNano(), isIgnored);
+    }
+
+    /**
+     * Schedule checked by BatchValidator. Tasks changed by the batch are kept in a separate index
+     * and hide their stored versions, stored rows are only read.
+     */
+    private class BatchSchedule implements TaskSchedule {
+        private final PrioritizedTasksIndex changedTasks = new PrioritizedTasksIndex();
+        private final Set<UUID> hiddenIds = new HashSet<>();
+
+        @Override
+        public boolean isIntersected(Task task) {
+            if (task.getStartTime() == null) {
+                return false;
+            }
+            UUID id = task.getId();
+            return changedTasks.isIntersected(task) || ColumnarTaskManager.this.isIntersected(task, row ->
+                    (id != null && store.hasId(row, id)) || hiddenIds.contains(store.getId(row)));
+        }
+
+        @Override
+        public Task get(UUID id) {
+            Task task = changedTasks.get(id);
+            if (task != null || hiddenIds.contains(id)) {
+                return task;
+            }
+            int row = store.findRow(id);
+            return row == NO_ROW || store.isRowOf(row, TaskTypes.EPIC) ? null : store.toTask(row);
+        }
+
+        @Override
+        public void add(Task task) {
+            hiddenIds.add(task.getId());
+            changedTasks.add(task);
+        }
+
+        @Override
+        public void remove(UUID id) {
+            hiddenIds.add(id);
+            changedTasks.remove(id);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package main.manager.taskManager;
+
+import main.manager.IdTable;
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Storage of tasks, subtasks and epics in columns of primitive arrays, one row per task.
+ * Ids of rows are kept and found by an {@link IdTable}, removed rows are reused by next additions.
+ * Subtasks of an epic are linked into a list from the oldest one to the latest one.
+ * Task objects are created only when a row is read by {@link #toTask(int)}, changes of these objects
+ * are not written back to the store.
+ * Times are kept as epoch seconds and nanos in UTC, NO_TIME nanos mean that the value is absent.
+ * The store is not thread-safe.
+ */
+class ColumnarTaskStore {
+    static final int NO_ROW = -1;
+    static final int NO_TIME = -1;
+    private static final byte FREE_ROW = -1;
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+    private static final TaskTypes[] TASK_TYPES = TaskTypes.values();
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+
+    private byte[] types;
+    private byte[] statuses;
+    private String[] names;
+    private String[] descriptions;
+    private long[] startSeconds;
+    private int[] startNanos;
+    private long[] durationSeconds;
+    private int[] durationNanos;
+    private int[] epicRows;
+    private int[] firstSubTaskRows;
+    private int[] lastSubTaskRows;
+    private int[] prevSubTaskRows;
+    private int[] nextSubTaskRows;
+    private final IdTable ids;
+    private int[] freeRows = new int[16];
+    private int freeRowsCount;
+    private int rowsCount;
+
+    /**
+     * @param initialCapacity number of rows allocated up front.
+     */
+    ColumnarTaskStore(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity should be positive");
+        }
+        allocateColumns(initialCapacity);
+        ids = new IdTable(initialCapacity);
+    }
+
+    /**
+     * This method returns the row of the task with provided id.
+     *
+     * @param id id of the task.
+     * @return int row of the task or NO_ROW if there is no such task.
+     */
+    int findRow(UUID id) {
+        int row = ids.find(id);
+        return row == IdTable.NO_ENTRY ? NO_ROW : row;
+    }
+
+    /**
+     * This method returns the row of the task with provided id and type.
+     *
+     * @param id id of the task.
+     * @param type type of the task.
+     * @return int row of the task or NO_ROW if there is no such task of this type.
+     */
+    int findRow(UUID id, TaskTypes type) {
+        int row = findRow(id);
+        return row != NO_ROW && types[row] == type.ordinal() ? row : NO_ROW;
+    }
+
+    /**
+     * This method adds a row with values of the task, subtask rows are linked to the epic row.
+     * The task should have an id which is not stored yet.
+     *
+     * @param task task to add.
+     * @param epicRow row of the epic for a subtask, NO_ROW for other tasks.
+     * @return int row of the task.
+     */
+    int addRow(Task task, int epicRow) {
+        int row;
+        if (freeRowsCount > 0) {
+            row = freeRows[--freeRowsCount];
+        } else {
+            if (rowsCount == types.length) {
+                allocateColumns(2 * rowsCount);
+            }
+            row = rowsCount++;
+        }
+        types[row] = (byte) task.getType().ordinal();
+        firstSubTaskRows[row] = NO_ROW;
+        lastSubTaskRows[row] = NO_ROW;
+        epicRows[row] = NO_ROW;
+        writeRow(row, task);
+        if (epicRow != NO_ROW) {
+            linkToEpic(row, epicRow);
+        }
+        ids.put(row, task.getId());
+        return row;
+    }
+
+    /**
+     * This method overwrites name, description, status and times of the row with values of the task.
+     *
+     * @param row row to overwrite.
+     * @param task task with new values.
+     */
+    void writeRow(int row, Task task) {
+        statuses[row] = (byte) task.getTaskStatus().ordinal();
+        names[row] = task.getName();
+        descriptions[row] = task.getDescription();
+        LocalDateTime startTime = task.getStartTime();
+        if (startTime == null) {
+            startNanos[row] = NO_TIME;
+        } else {
+            startSeconds[row] = startTime.toEpochSecond(ZoneOffset.UTC);
+            startNanos[row] = startTime.getNano();
+        }
+        Duration duration = task.getDuration();
+        if (duration == null) {
+            durationNanos[row] = NO_TIME;
+        } else {
+            durationSeconds[row] = duration.getSeconds();
+            durationNanos[row] = duration.getNano();
+        }
+    }
+
+    /**
+     * This method moves the subtask row to the end of the list of subtasks of the epic.
+     *
+     * @param row row of the subtask.
+     * @param epicRow row of the new epic.
+     */
+    void moveToEpic(int row, int epicRow) {
+        unlinkFromEpic(row);
+        linkToEpic(row, epicRow);
+    }
+
+    /**
+     * This method removes the row, a subtask row is unlinked from its epic.
+     * Subtasks of a removed epic should be removed before.
+     *
+     * @param row row to remove.
+     */
+    void removeRow(int row) {
+        if (epicRows[row] != NO_ROW) {
+            unlinkFromEpic(row);
+        }
+        ids.remove(row);
+        types[row] = FREE_ROW;
+        names[row] = null;
+        descriptions[row] = null;
+        if (freeRowsCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, 2 * freeRowsCount);
+        }
+        freeRows[freeRowsCount++] = row;
+    }
+
+    /**
+     * Returns number of rows ever used, rows below this bound may be free.
+     *
+     * @return int bound of used rows.
+     */
+    int getRowsBound() {
+        return rowsCount;
+    }
+
+    boolean isRowOf(int row, TaskTypes type) {
+        return types[row] == type.ordinal();
+    }
+
+    boolean hasId(int row, UUID id) {
+        return ids.hasId(row, id);
+    }
+
+    UUID getId(int row) {
+        return ids.getId(row);
+    }
+
+    int getEpicRow(int row) {
+        return epicRows[row];
+    }
+
+    int getFirstSubTaskRow(int epicRow) {
+        return firstSubTaskRows[epicRow];
+    }
+
+    int getNextSubTaskRow(int row) {
+        return nextSubTaskRows[row];
+    }
+
+    boolean isScheduled(int row) {
+        return startNanos[row] != NO_TIME;
+    }
+
+    long getStartSeconds(int row) {
+        return startSeconds[row];
+    }
+
+    int getStartNanos(int row) {
+        return startNanos[row];
+    }
+
+    /**
+     * Returns seconds of the end time of a scheduled row, a row without duration ends at its start.
+     *
+     * @param row scheduled row.
+     * @return long epoch seconds of the end time.
+     */
+    long getEndSeconds(int row) {
+        if (durationNanos[row] == NO_TIME) {
+            return startSeconds[row];
+        }
+        return startSeconds[row] + durationSeconds[row] + (startNanos[row] + durationNanos[row]) / NANOS_PER_SECOND;
+    }
+
+    int getEndNanos(int row) {
+        if (durationNanos[row] == NO_TIME) {
+            return startNanos[row];
+        }
+        return (startNanos[row] + durationNanos[row]) % NANOS_PER_SECOND;
+    }
+
+    /**
+     * This method creates task object with current values of the row.
+     * Data of an epic is calculated from its subtasks.
+     *
+     * @param row row of the task.
+     * @return Task new Task, SubTask or EpicTask object.
+     */
+    Task toTask(int row) {
+        UUID id = getId(row);
+        TaskStatus status = TASK_STATUSES[statuses[row]];
+        switch (TASK_TYPES[types[row]]) {
+            case TASK: {
+                return new Task(id, names[row], descriptions[row], status, getStartTime(row), getDuration(row));
+            }
+            case SUBTASK: {
+                return new SubTask(id, names[row], descriptions[row], status, getId(epicRows[row]),
+                        getStartTime(row), getDuration(row));
+            }
+            case EPIC: {
+                return toEpicTask(row, id);
+            }
+            default: {
+                throw new IllegalStateException("Row " + row + " is free");
+            }
+        }
+    }
+
+    private EpicTask toEpicTask(int row, UUID id) {
+        List<UUID> subTaskIds = new ArrayList<>();
+        int[] statusCounters = new int[TASK_STATUSES.length];
+        int firstStartRow = NO_ROW;
+        int lastEndRow = NO_ROW;
+        long durationSum = 0;
+        long durationNanosSum = 0;
+        for (int subTaskRow = firstSubTaskRows[row]; subTaskRow != NO_ROW; subTaskRow = nextSubTaskRows[subTaskRow]) {
+            subTaskIds.add(getId(subTaskRow));
+            statusCounters[statuses[subTaskRow]]++;
+            if (durationNanos[subTaskRow] != NO_TIME) {
+                durationSum += durationSeconds[subTaskRow];
+                durationNanosSum += durationNanos[subTaskRow];
+            }
+            if (startNanos[subTaskRow] == NO_TIME) {
+                continue;
+            }
+            if (firstStartRow == NO_ROW || compare(startSeconds[subTaskRow], startNanos[subTaskRow],
+                    startSeconds[firstStartRow], startNanos[firstStartRow]) < 0) {
+                firstStartRow = subTaskRow;
+            }
+            if (durationNanos[subTaskRow] != NO_TIME && (lastEndRow == NO_ROW
+                    || compare(getEndSeconds(subTaskRow), getEndNanos(subTaskRow),
+                    getEndSeconds(lastEndRow), getEndNanos(lastEndRow)) > 0)) {
+                lastEndRow = subTaskRow;
+            }
+        }
+        TaskStatus status = TaskStatus.IN_PROGRESS;
+        if (statusCounters[TaskStatus.NEW.ordinal()] == subTaskIds.size()) {
+            status = TaskStatus.NEW;
+        } else if (statusCounters[TaskStatus.DONE.ordinal()] == subTaskIds.size()) {
+            status = TaskStatus.DONE;
+        }
+        EpicTask epic = new EpicTask(id, names[row], descriptions[row], status, subTaskIds);
+        if (subTaskIds.isEmpty()) {
+            return epic;
+        }
+        epic.setDuration(Duration.ofSeconds(durationSum, durationNanosSum));
+        if (firstStartRow != NO_ROW) {
+            epic.setStartTime(getStartTime(firstStartRow));
+        }
+        if (lastEndRow != NO_ROW) {
+            epic.setEndTime(LocalDateTime.ofEpochSecond(getEndSeconds(lastEndRow), getEndNanos(lastEndRow),
+                    ZoneOffset.UTC));
+        }
+        return epic;
+    }
+
+    LocalDateTime getEndTime(int row) {
+        return LocalDateTime.ofEpochSecond(getEndSeconds(row), getEndNanos(row), ZoneOffset.UTC);
+    }
+
+    LocalDateTime getStartTime(int row) {
+        return startNanos[row] == NO_TIME ? null
+                : LocalDateTime.ofEpochSecond(startSeconds[row], startNanos[row], ZoneOffset.UTC);
+    }
+
+    private Duration getDuration(int row) {
+        return durationNanos[row] == NO_TIME ? null : Duration.ofSeconds(durationSeconds[row], durationNanos[row]);
+    }
+
+    static int compare(long firstSeconds, int firstNanos, long secondSeconds, int secondNanos) {
+        int secondsComparison = Long.compare(firstSeconds, secondSeconds);
+        return secondsComparison != 0 ? secondsComparison : Integer.compare(firstNanos, secondNanos);
+    }
+
+    private void linkToEpic(int row, int epicRow) {
+        epicRows[row] = epicRow;
+        int lastRow = lastSubTaskRows[epicRow];
+        prevSubTaskRows[row] = lastRow;
+        nextSubTaskRows[row] = NO_ROW;
+        if (lastRow != NO_ROW) {
+            nextSubTaskRows[lastRow] = row;
+        } else {
+            firstSubTaskRows[epicRow] = row;
+        }
+        lastSubTaskRows[epicRow] = row;
+    }
+
+    private void unlinkFromEpic(int row) {
+        int epicRow = epicRows[row];
+        int prevRow = prevSubTaskRows[row];
+        int nextRow = nextSubTaskRows[row];
+        if (prevRow != NO_ROW) {
+            nextSubTaskRows[prevRow] = nextRow;
+        } else {
+            firstSubTaskRows[epicRow] = nextRow;
+        }
+        if (nextRow != NO_ROW) {
+            prevSubTaskRows[nextRow] = prevRow;
+        } else {
+            lastSubTaskRows[epicRow] = prevRow;
+        }
+        epicRows[row] = NO_ROW;
+    }
+
+    private void allocateColumns(int capacity) {
+        types = types == null ? new byte[capacity] : Arrays.copyOf(types, capacity);
+        statuses = statuses == null ? new byte[capacity] : Arrays.copyOf(statuses, capacity);
+        names = names == null ? new String[capacity] : Arrays.copyOf(names, capacity);
+        descriptions = descriptions == null ? new String[capacity] : Arrays.copyOf(descriptions, capacity);
+        startSeconds = startSeconds == null ? new long[capacity] : Arrays.copyOf(startSeconds, capacity);
+        startNanos = startNanos == null ? new int[capacity] : Arrays.copyOf(startNanos, capacity);
+        durationSeconds = durationSeconds == null ? new long[capacity] : Arrays.copyOf(durationSeconds, capacity);
+        durationNanos = durationNanos == null ? new int[capacity] : Arrays.copyOf(durationNanos, capacity);
+        epicRows = epicRows == null ? new int[capacity] : Arrays.copyOf(epicRows, capacity);
+        firstSubTaskRows = firstSubTaskRows == null ? new int[capacity] : Arrays.copyOf(firstSubTaskRows, capacity);
+        lastSubTaskRows = lastSubTaskRows == null ? new int[capacity] : Arrays.copyOf(lastSubTaskRows, capacity);
+        prevSubTaskRows = prevSubTaskRows == null ? new int[capacity] : Arrays.copyOf(prevSubTaskRows, capacity);
+        nextSubTaskRows = nextSubTaskRows == null ? new int[capacity] : Arrays.copyOf(nextSubTaskRows, capacity);
+    }
+}
@@ -0,0 +1,679 @@
+package main.manager.taskManager;
+
+import main.manager.Managers;
+import main.manager.historyManager.HistoryManager;
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskTypes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe TaskManager.
+ * Tasks are kept in concurrent maps and the prioritized index is a concurrent skip list, so reads
+ * do not take locks. Intersection check and insertion into the schedule are done atomically under
+ * the schedule lock. Subtask and epic changes take the lock of the epic's stripe, so changes
+ * of different epics proceed in parallel. Clear operations take the structure lock exclusively,
+ * all other changes take it shared. Stored epics are changed in place under the lock of their stripe,
+ * so a subtask change costs O(1) for the epic. Epics are handed out as copies made under the same lock,
+ * readers of one epic pay for copying its subtask ids instead of every writer.
+ * Events are published inside the critical section of the change, so events of one task or epic
+ * are numbered in the order of its changes. The text index is not thread-safe, it is changed together with
+ * the maps inside the same critical sections and guarded by its own lock.
+ * Lock order: structure lock, epic stripe lock, schedule lock, history lock or text index lock.
+ */
+public class ConcurrentTaskManager implements TaskManager {
+    private static final int EPIC_LOCK_STRIPES = 64;
+
+    private final Map<UUID, Task> tasks = new ConcurrentHashMap<>();
+    private final Map<UUID, EpicTask> epicTasks = new ConcurrentHashMap<>();
+    private final Map<UUID, SubTask> subTasks = new ConcurrentHashMap<>();
+    private final Map<UUID, EpicAggregate> epicAggregates = new ConcurrentHashMap<>();
+    private final PrioritizedTasksIndex prioritizedTasks = PrioritizedTasksIndex.concurrent();
+    private final HistoryManager historyManager = Managers.getDefaultHistory();
+    private final TextIndex textIndex = new TextIndex();
+    private final ReadWriteLock structureLock = new ReentrantReadWriteLock();
+    private final Lock scheduleLock = new ReentrantLock();
+    private final Lock[] epicLocks = new Lock[EPIC_LOCK_STRIPES];
+    private final TaskEventPublisher events = new TaskEventPublisher();
+
+    public ConcurrentTaskManager() {
+        for (int i = 0; i < EPIC_LOCK_STRIPES; i++) {
+            epicLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Task addTask(Task task) {
+        structureLock.readLock().lock();
+        scheduleLock.lock();
+        try {
+            if (prioritizedTasks.isIntersected(task)) {
+                return task;
+            }
+            if (task.getId() == null) {
+                task.setId(UUID.randomUUID());
+            }
+            tasks.put(task.getId(), task);
+            prioritizedTasks.add(task);
+            addToTextIndex(task);
+            events.publish(TaskEventType.ADDED, task);
+            return task;
+        } finally {
+            scheduleLock.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Task updateTask(Task task) {
+        structureLock.readLock().lock();
+        scheduleLock.lock();
+        try {
+            if (tasks.containsKey(task.getId()) && !prioritizedTasks.isIntersected(task)) {
+                tasks.put(task.getId(), task);
+                prioritizedTasks.add(task);
+                addToTextIndex(task);
+                events.publish(TaskEventType.UPDATED, task);
+            }
+            return task;
+        } finally {
+            scheduleLock.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeTaskById(UUID id) {
+        if (id == null) {
+            return;
+        }
+        structureLock.readLock().lock();
+        try {
+            scheduleLock.lock();
+            try {
+                if (tasks.remove(id) == null) {
+                    return;
+                }
+                prioritizedTasks.remove(id);
+                removeFromTextIndex(id);
+                events.publishRemoved(TaskTypes.TASK, id);
+            } finally {
+                scheduleLock.unlock();
+            }
+            removeFromHistory(id);
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clearTaskList() {
+        structureLock.writeLock().lock();
+        try {
+            for (UUID id : tasks.keySet()) {
+                prioritizedTasks.remove(id);
+                removeFromHistory(id);
+                removeFromTextIndex(id);
+                events.publishRemoved(TaskTypes.TASK, id);
+            }
+            tasks.clear();
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Task getTaskById(UUID id) {
+        if (id == null) {
+            throw new RuntimeException("Provided id is null");
+        }
+        Task task = tasks.get(id);
+        addToHistory(task);
+        return task;
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return new ArrayList<>(tasks.values());
+    }
+
+    @Override
+    public SubTask addSubTask(SubTask subTask) {
+        UUID epicId = subTask.getEpicId();
+        Lock epicLock = getEpicLock(epicId);
+        structureLock.readLock().lock();
+        epicLock.lock();
+        try {
+            EpicTask epic = epicTasks.get(epicId);
+            scheduleLock.lock();
+            try {
+                if (prioritizedTasks.isIntersected(subTask)) {
+                    return subTask;
+                }
+                if (epic == null) {
+                    throw new RuntimeException("There is no epic for this subtask!");
+                }
+                if (subTask.getId() == null) {
+                    subTask.setId(UUID.randomUUID());
+                }
+                subTasks.put(subTask.getId(), subTask);
+                prioritizedTasks.add(subTask);
+                addToTextIndex(subTask);
+                events.publish(TaskEventType.ADDED, subTask);
+            } finally {
+                scheduleLock.unlock();
+            }
+            epic.addSubTaskId(subTask.getId());
+            getEpicAggregate(epicId).add(subTask);
+            recalculateEpic(epic);
+            return subTask;
+        } finally {
+            epicLock.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public SubTask updateSubTask(SubTask subTask) {
+        UUID epicId = subTask.getEpicId();
+        structureLock.readLock().lock();
+        try {
+            while (true) {
+                SubTask previousSubTask = subTasks.get(subTask.getId());
+                UUID previousEpicId = previousSubTask == null ? epicId : previousSubTask.getEpicId();
+                List<Lock> locks = lockEpics(previousEpicId, epicId);
+                try {
+                    SubTask currentSubTask = subTasks.get(subTask.getId());
+                    if (currentSubTask != null && !currentSubTask.getEpicId().equals(previousEpicId)) {
+                        continue;
+                    }
+                    EpicTask epic = epicTasks.get(epicId);
+                    if (epic == null) {
+                        throw new RuntimeException("There is no epic for this subtask!");
+                    }
+                    if (currentSubTask == null) {
+                        return subTask;
+                    }
+                    scheduleLock.lock();
+                    try {
+                        if (prioritizedTasks.isIntersected(subTask)) {
+                            return subTask;
+                        }
+                        subTasks.put(subTask.getId(), subTask);
+                        prioritizedTasks.add(subTask);
+                        addToTextIndex(subTask);
+                        events.publish(TaskEventType.UPDATED, subTask);
+                    } finally {
+                        scheduleLock.unlock();
+                    }
+                    EpicTask previousEpic = epicTasks.get(previousEpicId);
+                    boolean isMoved = previousEpic != null && !previousEpicId.equals(epicId);
+                    if (isMoved) {
+                        previousEpic.removeSubTaskId(subTask.getId());
+                        getEpicAggregate(previousEpicId).remove(subTask.getId());
+                        recalculateEpic(previousEpic);
+                        epic.addSubTaskId(subTask.getId());
+                    }
+                    getEpicAggregate(epicId).add(subTask);
+                    recalculateEpic(epic);
+                    return subTask;
+                } finally {
+                    unlock(locks);
+                }
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeSubTaskById(UUID id) {
+        if (id == null) {
+            return;
+        }
+        structureLock.readLock().lock();
+        try {
+            while (true) {
+                SubTask subTask = subTasks.get(id);
+                if (subTask == null) {
+                    return;
+                }
+                UUID epicId = subTask.getEpicId();
+                Lock epicLock = getEpicLock(epicId);
+                epicLock.lock();
+                try {
+                    SubTask currentSubTask = subTasks.get(id);
+                    if (currentSubTask != null && !currentSubTask.getEpicId().equals(epicId)) {
+                        continue;
+                    }
+                    scheduleLock.lock();
+                    try {
+                        if (subTasks.remove(id) == null) {
+                            return;
+                        }
+                        prioritizedTasks.remove(id);
+                        removeFromTextIndex(id);
+                        events.publishRemoved(TaskTypes.SUBTASK, id);
+                    } finally {
+                        scheduleLock.unlock();
+                    }
+                    EpicTask epic = epicTasks.get(epicId);
+                    if (epic != null) {
+                        epic.removeSubTaskId(id);
+                        getEpicAggregate(epicId).remove(id);
+                        recalculateEpic(epic);
+                    }
+                    removeFromHistory(id);
+                    return;
+                } finally {
+                    epicLock.unlock();
+                }
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clearSubTaskLists() {
+        structureLock.writeLock().lock();
+        try {
+            for (UUID id : subTasks.keySet()) {
+                prioritizedTasks.remove(id);
+                removeFromHistory(id);
+                removeFromTextIndex(id);
+                events.publishRemoved(TaskTypes.SUBTASK, id);
+            }
+            subTasks.clear();
+            epicAggregates.clear();
+            for (EpicTask epic : epicTasks.values()) {
+                // readers copy epics under their locks without the structure lock
+                Lock epicLock = getEpicLock(epic.getId());
+                epicLock.lock();
+                try {
+                    epic.clearSubTaskIds();
+                    recalculateEpic(epic);
+                } finally {
+                    epicLock.unlock();
+                }
+            }
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public SubTask getSubTaskById(UUID id) {
+        if (id == null) {
+            throw new RuntimeException("Provided id is null");
+        }
+        SubTask subTask = subTasks.get(id);
+        addToHistory(subTask);
+        return subTask;
+    }
+
+    @Override
+    public List<SubTask> getAllSubTasks() {
+        return new ArrayList<>(subTasks.values());
+    }
+
+    /**
+     * Keeps the added epic, its status, time data and subtasks are changed by the manager
+     * under the lock of the epic.
+     */
+    @Override
+    public EpicTask addEpicTask(EpicTask epicTask) {
+        if (epicTask.getId() == null) {
+            epicTask.setId(UUID.randomUUID());
+        }
+        Lock epicLock = getEpicLock(epicTask.getId());
+        structureLock.readLock().lock();
+        epicLock.lock();
+        try {
+            epicTasks.put(epicTask.getId(), epicTask);
+            addToTextIndex(epicTask);
+            events.publish(TaskEventType.ADDED, epicTask);
+            return epicTask;
+        } finally {
+            epicLock.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces name and description of the stored epic, its status, time data and subtasks
+     * stay calculated by the manager.
+     */
+    @Override
+    public EpicTask updateEpicTask(EpicTask epicTask) {
+        Lock epicLock = getEpicLock(epicTask.getId());
+        structureLock.readLock().lock();
+        epicLock.lock();
+        try {
+            EpicTask epic = epicTasks.get(epicTask.getId());
+            if (epic != null) {
+                epic.setName(epicTask.getName());
+                epic.setDescription(epicTask.getDescription());
+                addToTextIndex(epic);
+                events.publish(TaskEventType.UPDATED, epic);
+            }
+            return epicTask;
+        } finally {
+            epicLock.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeEpicTaskById(UUID id) {
+        if (id == null) {
+            return;
+        }
+        Lock epicLock = getEpicLock(id);
+        structureLock.readLock().lock();
+        epicLock.lock();
+        try {
+            EpicTask epic = epicTasks.remove(id);
+            if (epic == null) {
+                return;
+            }
+            for (UUID subTaskId : epic.getSubTaskIds()) {
+                scheduleLock.lock();
+                try {
+                    prioritizedTasks.remove(subTaskId);
+                    subTasks.remove(subTaskId);
+                } finally {
+                    scheduleLock.unlock();
+                }
+                removeFromHistory(subTaskId);
+                removeFromTextIndex(subTaskId);
+                events.publishRemoved(TaskTypes.SUBTASK, subTaskId);
+            }
+            epicAggregates.remove(id);
+            removeFromHistory(id);
+            removeFromTextIndex(id);
+            events.publishRemoved(TaskTypes.EPIC, id);
+        } finally {
+            epicLock.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clearEpicTaskLists() {
+        structureLock.writeLock().lock();
+        try {
+            for (UUID id : subTasks.keySet()) {
+                prioritizedTasks.remove(id);
+                removeFromHistory(id);
+                removeFromTextIndex(id);
+                events.publishRemoved(TaskTypes.SUBTASK, id);
+            }
+            for (UUID id : epicTasks.keySet()) {
+                removeFromHistory(id);
+                removeFromTextIndex(id);
+                events.publishRemoved(TaskTypes.EPIC, id);
+            }
+            epicTasks.clear();
+            epicAggregates.clear();
+            subTasks.clear();
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public EpicTask getEpicTaskById(UUID id) {
+        if (id == null) {
+            throw new RuntimeException("Provided id is null");
+        }
+        EpicTask epic = copyOfStoredEpic(id);
+        addToHistory(epic);
+        return epic;
+    }
+
+    @Override
+    public List<SubTask> getSubtasksOfEpic(UUID epicId) {
+        if (epicId == null) {
+            return new ArrayList<>();
+        }
+        Lock epicLock = getEpicLock(epicId);
+        epicLock.lock();
+        try {
+            List<SubTask> epicsSubTasks = new ArrayList<>();
+            EpicTask epic = epicTasks.get(epicId);
+            if (epic == null) {
+                return epicsSubTasks;
+            }
+            for (UUID subTaskId : epic.getSubTaskIds()) {
+                epicsSubTasks.add(subTasks.get(subTaskId));
+            }
+            return epicsSubTasks;
+        } finally {
+            epicLock.unlock();
+        }
+    }
+
+    /**
+     * Returns copies of the epics, every copy is made under the lock of its epic.
+     */
+    @Override
+    public List<EpicTask> getAllEpics() {
+        List<EpicTask> epics = new ArrayList<>(epicTasks.size());
+        for (UUID id : epicTasks.keySet()) {
+            EpicTask epic = copyOfStoredEpic(id);
+            if (epic != null) {
+                epics.add(epic);
+            }
+        }
+        return epics;
+    }
+
+    @Override
+    public Task findTask(TaskTypes type, UUID id) {
+        if (id == null) {
+            return null;
+        }
+        switch (type) {
+            case TASK: {
+                return tasks.get(id);
+            }
+            case SUBTASK: {
+                return subTasks.get(id);
+            }
+            default: {
+                return copyOfStoredEpic(id);
+            }
+        }
+    }
+
+    /**
+     * Returns copies of viewed epics in their current state.
+     */
+    @Override
+    public List<Task> getHistory() {
+        List<Task> history;
+        synchronized (historyManager) {
+            history = new ArrayList<>(historyManager.getHistory());
+        }
+        history.replaceAll(task -> {
+            if (task.getType() != TaskTypes.EPIC) {
+                return task;
+            }
+            EpicTask epic = copyOfStoredEpic(task.getId());
+            return epic != null ? epic : task;
+        });
+        return history;
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return prioritizedTasks.toList();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return prioritizedTasks.getRange(from, to);
+    }
+
+    @Override
+    public TaskPage getPrioritizedTasksPage(LocalDateTime cursor, int limit) {
+        return prioritizedTasks.getPage(cursor, limit);
+    }
+
+    /**
+     * Searches the concurrent index without locks, so slots reflect the schedule at some moment of the search.
+     */
+    @Override
+    public List<TimeSlot> findFreeSlots(LocalDateTime from, LocalDateTime to, Duration minDuration, int limit) {
+        return prioritizedTasks.findFreeSlots(from, to, minDuration, limit);
+    }
+
+    /**
+     * Searches the inverted index of names and descriptions which is updated by every change,
+     * found ids are resolved to tasks after the lock of the index is released.
+     */
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        List<UUID> ids;
+        synchronized (textIndex) {
+            ids = textIndex.search(query, limit);
+        }
+        List<Task> result = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Task task = findAnyTask(id);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies the batch under the exclusive structure lock, so concurrent changes can not
+     * break the schedule between the check and the application of the batch.
+     */
+    @Override
+    public boolean applyBatch(List<TaskOperation> operations) {
+        structureLock.writeLock().lock();
+        try {
+            if (!BatchValidator.isApplicable(operations, prioritizedTasks, tasks, subTasks, epicTasks)) {
+                return false;
+            }
+            for (TaskOperation operation : operations) {
+                operation.applyTo(this);
+            }
+            return true;
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Flow.Publisher<TaskEvent> getEvents() {
+        return events.getPublisher();
+    }
+
+    private void addToHistory(Task task) {
+        if (task == null) {
+            return;
+        }
+        synchronized (historyManager) {
+            historyManager.add(task);
+        }
+        events.publish(TaskEventType.VIEWED, task);
+    }
+
+    private void removeFromHistory(UUID id) {
+        synchronized (historyManager) {
+            historyManager.remove(id);
+        }
+    }
+
+    private void addToTextIndex(Task task) {
+        synchronized (textIndex) {
+            textIndex.add(task);
+        }
+    }
+
+    private void removeFromTextIndex(UUID id) {
+        synchronized (textIndex) {
+            textIndex.remove(id);
+        }
+    }
+
+    private Task findAnyTask(UUID id) {
+        Task task = tasks.get(id);
+        if (task == null) {
+            task = subTasks.get(id);
+        }
+        return task != null ? task : copyOfStoredEpic(id);
+    }
+
+    /**
+     * Copies the stored epic under its lock, so the copy never shows a half-made change.
+     */
+    private EpicTask copyOfStoredEpic(UUID id) {
+        Lock epicLock = getEpicLock(id);
+        epicLock.lock();
+        try {
+            EpicTask epic = epicTasks.get(id);
+            return epic == null ? null : TaskCopies.copyOf(epic);
+        } finally {
+            epicLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the aggregate to the stored epic and publishes the change, the event copies the epic
+     * only if there are subscribers. Requires the lock of the epic.
+     */
+    private void recalculateEpic(EpicTask epic) {
+        getEpicAggregate(epic.getId()).applyTo(epic);
+        events.publish(TaskEventType.EPIC_CHANGED, epic);
+    }
+
+    private EpicAggregate getEpicAggregate(UUID epicId) {
+        return epicAggregates.computeIfAbsent(epicId, id -> new EpicAggregate());
+    }
+
+    private List<Lock> lockEpics(UUID firstEpicId, UUID secondEpicId) {
+        int firstStripe = getEpicStripe(firstEpicId);
+        int secondStripe = getEpicStripe(secondEpicId);
+        List<Lock> locks = new ArrayList<>(2);
+        locks.add(epicLocks[Math.min(firstStripe, secondStripe)]);
+        if (firstStripe != secondStripe) {
+            locks.add(epicLocks[Math.max(firstStripe, secondStripe)]);
+        }
+        locks.forEach(Lock::lock);
+        return locks;
+    }
+
+    private void unlock(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private Lock getEpicLock(UUID epicId) {
+        return epicLocks[getEpicStripe(epicId)];
+    }
+
+    private int getEpicStripe(UUID epicId) {
+        int hash = epicId == null ? 0 : epicId.hashCode();
+        return (hash ^ (hash >>> 16)) & (EPIC_LOCK_STRIPES - 1);
+    }
+}
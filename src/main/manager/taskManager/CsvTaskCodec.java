@@ -0,0 +1,294 @@
+package main.manager.taskManager;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Codec of csv rows of tasks: id,type,name,status,description[,start_time,duration_min[,epic]].
+ * Fields with commas, quotes or line breaks are quoted and inner quotes are doubled, so rows written
+ * for plain values are the same as before quoting was supported. Absent values are written as empty fields.
+ * Rows are encoded into a reusable buffer and decoded by scanning field bounds in place,
+ * only names and descriptions become new strings. The codec is not thread-safe.
+ */
+class CsvTaskCodec {
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final TaskTypes[] TASK_TYPES = TaskTypes.values();
+    private static final TaskStatus[] TASK_STATUSES = TaskStatus.values();
+    private static final int UUID_LENGTH = 36;
+
+    private final StringBuilder buffer = new StringBuilder(256);
+    private final StringBuilder fieldBuffer = new StringBuilder(64);
+    private CharSequence row;
+    private int fieldStart;
+    private int fieldEnd;
+    private int nextFieldStart;
+    private boolean isFieldQuoted;
+
+    /**
+     * This method encodes the task into the reusable buffer.
+     * The buffer is overwritten by the next call.
+     *
+     * @param task task to encode.
+     * @return CharSequence csv row without line separator.
+     */
+    CharSequence encode(Task task) {
+        buffer.setLength(0);
+        buffer.append(task.getId()).append(DELIMITER).append(task.getType().name()).append(DELIMITER);
+        appendText(task.getName());
+        buffer.append(DELIMITER).append(task.getTaskStatus().name()).append(DELIMITER);
+        appendText(task.getDescription());
+        if (task.getType() == TaskTypes.EPIC) {
+            return buffer;
+        }
+        buffer.append(DELIMITER);
+        if (task.getStartTime() != null) {
+            buffer.append(task.getStartTime());
+        }
+        buffer.append(DELIMITER);
+        if (task.getDuration() != null) {
+            buffer.append(task.getDuration().toMinutes());
+        }
+        if (task.getType() == TaskTypes.SUBTASK) {
+            buffer.append(DELIMITER).append(((SubTask) task).getEpicId());
+        }
+        return buffer;
+    }
+
+    /**
+     * This method decodes the task from the csv row starting at the given position.
+     *
+     * @param row csv row.
+     * @param start position of the first field.
+     * @return Task decoded task or null if the row is not a task row.
+     */
+    Task decode(CharSequence row, int start) {
+        this.row = row;
+        nextFieldStart = start;
+        if (!nextField()) {
+            return null;
+        }
+        int idStart = fieldStart;
+        int idEnd = fieldEnd;
+        if (!nextField()) {
+            return null;
+        }
+        TaskTypes type = findName(TASK_TYPES);
+        if (type == null) {
+            return null;
+        }
+        UUID id = parseUuid(idStart, idEnd);
+        String name = requireField("name").fieldText();
+        requireField("status");
+        TaskStatus status = findName(TASK_STATUSES);
+        if (status == null) {
+            throw new IllegalArgumentException("Incorrect task status in the line: " + row);
+        }
+        String description = requireField("description").fieldText();
+        if (type == TaskTypes.EPIC) {
+            return new EpicTask(id, name, description, status, new ArrayList<>());
+        }
+        requireField("start_time");
+        LocalDateTime startTime = fieldStart == fieldEnd ? null
+                : LocalDateTime.parse(row.subSequence(fieldStart, fieldEnd));
+        requireField("duration_min");
+        Duration duration = fieldStart == fieldEnd ? null
+                : Duration.ofMinutes(Long.parseLong(row, fieldStart, fieldEnd, 10));
+        if (type == TaskTypes.SUBTASK) {
+            requireField("epic");
+            return new SubTask(id, name, description, status, parseUuid(fieldStart, fieldEnd), startTime, duration);
+        }
+        return new Task(id, name, description, status, startTime, duration);
+    }
+
+    /**
+     * This method joins physical lines of rows which have quoted line breaks.
+     * The list is returned as is when no row has them.
+     *
+     * @param lines lines of the file.
+     * @return List<String> rows of the file.
+     */
+    static List<String> joinQuotedLines(List<String> lines) {
+        List<String> rows = null;
+        StringBuilder openRow = null;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            boolean isQuoteOpen = hasOddQuotesCount(line);
+            if (openRow != null) {
+                openRow.append('\n').append(line);
+                if (isQuoteOpen) {
+                    rows.add(openRow.toString());
+                    openRow = null;
+                }
+                continue;
+            }
+            if (isQuoteOpen) {
+                if (rows == null) {
+                    rows = new ArrayList<>(lines.subList(0, i));
+                }
+                openRow = new StringBuilder(line);
+                continue;
+            }
+            if (rows != null) {
+                rows.add(line);
+            }
+        }
+        if (openRow != null) {
+            rows.add(openRow.toString());
+        }
+        return rows == null ? lines : rows;
+    }
+
+    private static boolean hasOddQuotesCount(String line) {
+        boolean isOdd = false;
+        for (int i = line.indexOf(QUOTE); i >= 0; i = line.indexOf(QUOTE, i + 1)) {
+            isOdd = !isOdd;
+        }
+        return isOdd;
+    }
+
+    private void appendText(String value) {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            buffer.append(value);
+            return;
+        }
+        buffer.append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char symbol = value.charAt(i);
+            if (symbol == QUOTE) {
+                buffer.append(QUOTE);
+            }
+            buffer.append(symbol);
+        }
+        buffer.append(QUOTE);
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char symbol = value.charAt(i);
+            if (symbol == DELIMITER || symbol == QUOTE || symbol == '\n' || symbol == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CsvTaskCodec requireField(String fieldName) {
+        if (!nextField()) {
+            throw new IllegalArgumentException("There is no " + fieldName + " field in the line: " + row);
+        }
+        return this;
+    }
+
+    private boolean nextField() {
+        int length = row.length();
+        if (nextFieldStart > length) {
+            return false;
+        }
+        isFieldQuoted = nextFieldStart < length && row.charAt(nextFieldStart) == QUOTE;
+        if (!isFieldQuoted) {
+            fieldStart = nextFieldStart;
+            fieldEnd = fieldStart;
+            while (fieldEnd < length && row.charAt(fieldEnd) != DELIMITER) {
+                fieldEnd++;
+            }
+            nextFieldStart = fieldEnd + 1;
+            return true;
+        }
+        fieldStart = nextFieldStart + 1;
+        int position = fieldStart;
+        while (true) {
+            if (position >= length) {
+                throw new IllegalArgumentException("Quoted field is not closed in the line: " + row);
+            }
+            if (row.charAt(position) == QUOTE) {
+                if (position + 1 < length && row.charAt(position + 1) == QUOTE) {
+                    position += 2;
+                    continue;
+                }
+                break;
+            }
+            position++;
+        }
+        fieldEnd = position;
+        nextFieldStart = position + 2;
+        return true;
+    }
+
+    private String fieldText() {
+        if (!isFieldQuoted) {
+            return row.subSequence(fieldStart, fieldEnd).toString();
+        }
+        fieldBuffer.setLength(0);
+        for (int i = fieldStart; i < fieldEnd; i++) {
+            char symbol = row.charAt(i);
+            fieldBuffer.append(symbol);
+            if (symbol == QUOTE) {
+                i++;
+            }
+        }
+        return fieldBuffer.toString();
+    }
+
+    private <E extends Enum<E>> E findName(E[] values) {
+        int length = fieldEnd - fieldStart;
+        for (E value : values) {
+            String name = value.name();
+            if (name.length() == length && regionMatches(name)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private boolean regionMatches(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (row.charAt(fieldStart + i) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private UUID parseUuid(int start, int end) {
+        if (end - start != UUID_LENGTH) {
+            return UUID.fromString(row.subSequence(start, end).toString());
+        }
+        long mostSignificantBits = 0;
+        long leastSignificantBits = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            char symbol = row.charAt(i);
+            int offset = i - start;
+            if (offset == 8 || offset == 13 || offset == 18 || offset == 23) {
+                if (symbol != '-') {
+                    return UUID.fromString(row.subSequence(start, end).toString());
+                }
+                continue;
+            }
+            int digit = Character.digit(symbol, 16);
+            if (digit < 0) {
+                return UUID.fromString(row.subSequence(start, end).toString());
+            }
+            if (digits < 16) {
+                mostSignificantBits = (mostSignificantBits << 4) | digit;
+            } else {
+                leastSignificantBits = (leastSignificantBits << 4) | digit;
+            }
+            digits++;
+        }
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
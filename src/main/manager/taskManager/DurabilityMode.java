@@ -0,0 +1,20 @@
+package main.manager.taskManager;
+
+/**
+ * Durability of groups of changes written asynchronously by FileBackedTaskManager.
+ */
+public enum DurabilityMode {
+    /**
+     * Records are kept in the write buffer of the open file and reach the file when the buffer
+     * is full, on flush() or on close().
+     */
+    NONE,
+    /**
+     * Every written group of changes is flushed to the operating system.
+     */
+    FLUSH,
+    /**
+     * Every written group of changes is flushed and forced to the storage device.
+     */
+    FSYNC
+}
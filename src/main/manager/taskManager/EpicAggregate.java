@@ -0,0 +1,109 @@
+package main.manager.taskManager;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * EpicAggregate keeps running status counters, duration sum and ordered start and end times
+ * of the subtasks of one epic, so epic data is updated in O(log k) on every subtask change
+ * instead of walking all k subtasks.
+ * Values of every subtask are remembered when it is added, so a subtask changed in place
+ * is still subtracted correctly.
+ */
+class EpicAggregate {
+    private final Map<UUID, SubTaskValues> subTaskValues = new HashMap<>();
+    private final int[] statusCounters = new int[TaskStatus.values().length];
+    private final NavigableMap<LocalDateTime, Integer> startTimes = new TreeMap<>();
+    private final NavigableMap<LocalDateTime, Integer> endTimes = new TreeMap<>();
+    private Duration duration = Duration.ZERO;
+
+    void add(SubTask subTask) {
+        remove(subTask.getId());
+        SubTaskValues values = new SubTaskValues(subTask);
+        subTaskValues.put(subTask.getId(), values);
+        statusCounters[values.status.ordinal()]++;
+        increment(startTimes, values.startTime);
+        increment(endTimes, values.endTime);
+        if (values.duration != null) {
+            duration = duration.plus(values.duration);
+        }
+    }
+
+    void remove(UUID subTaskId) {
+        SubTaskValues values = subTaskValues.remove(subTaskId);
+        if (values == null) {
+            return;
+        }
+        statusCounters[values.status.ordinal()]--;
+        decrement(startTimes, values.startTime);
+        decrement(endTimes, values.endTime);
+        if (values.duration != null) {
+            duration = duration.minus(values.duration);
+        }
+    }
+
+    void clear() {
+        subTaskValues.clear();
+        Arrays.fill(statusCounters, 0);
+        startTimes.clear();
+        endTimes.clear();
+        duration = Duration.ZERO;
+    }
+
+    void applyTo(EpicTask epic) {
+        int subTasksCount = subTaskValues.size();
+        if (subTasksCount == 0) {
+            epic.setTaskStatus(TaskStatus.NEW);
+            epic.setStartTime(null);
+            epic.setEndTime(null);
+            epic.setDuration(null);
+            return;
+        }
+        if (statusCounters[TaskStatus.NEW.ordinal()] == subTasksCount) {
+            epic.setTaskStatus(TaskStatus.NEW);
+        } else if (statusCounters[TaskStatus.DONE.ordinal()] == subTasksCount) {
+            epic.setTaskStatus(TaskStatus.DONE);
+        } else {
+            epic.setTaskStatus(TaskStatus.IN_PROGRESS);
+        }
+        epic.setStartTime(startTimes.isEmpty() ? null : startTimes.firstKey());
+        epic.setEndTime(endTimes.isEmpty() ? null : endTimes.lastKey());
+        epic.setDuration(duration);
+    }
+
+    private static void increment(NavigableMap<LocalDateTime, Integer> times, LocalDateTime time) {
+        if (time != null) {
+            times.merge(time, 1, Integer::sum);
+        }
+    }
+
+    private static void decrement(NavigableMap<LocalDateTime, Integer> times, LocalDateTime time) {
+        if (time != null) {
+            times.computeIfPresent(time, (key, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private static class SubTaskValues {
+        private final TaskStatus status;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private final Duration duration;
+
+        SubTaskValues(SubTask subTask) {
+            this.status = subTask.getTaskStatus();
+            this.startTime = subTask.getStartTime();
+            this.duration = subTask.getDuration();
+            this.endTime = startTime == null || duration == null ? null : subTask.getEndTime();
+        }
+    }
+}
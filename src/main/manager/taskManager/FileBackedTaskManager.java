@@ -9,36 +9,60 @@ import main.tasks.TaskStatus;
 import main.tasks.TaskTypes;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static java.util.stream.Collectors.toList;
 
-public class FileBackedTaskManager extends InMemoryTaskManager {
+/**
+ * TaskManager which stores its state in a csv or binary file next to the journal and history files.
+ * With asynchronous writes changes are collected under the lock of the manager and written
+ * by a background writer, so changes do not wait for the disk until {@link #flush()} or {@link #close()}.
+ */
+public class FileBackedTaskManager extends InMemoryTaskManager implements AutoCloseable {
 
     private static final String COMMA_DELIMITER = ",";
     private static final String HEADER_LINE = "id,type,name,status,description,epic,start_time,duration_min";
     private static final String LINE_SEPARATOR = System.lineSeparator();
-    private static final int ID_POSITION = 0;
-    private static final int NAME_POSITION = 2;
-    private static final int STATUS_POSITION = 3;
-    private static final int DESCRIPTION_POSITION = 4;
-    private static final int START_TIME_POSITION = 5;
-    private static final int DURATION_POSITION = 6;
-    private static final int EPIC_ID_POSITION = 7;
+    private static final String JOURNAL_FILE_SUFFIX = ".journal";
+    private static final String HISTORY_FILE_SUFFIX = ".history";
+    private static final int MIN_HISTORY_RECORDS_TO_COMPACT = 100;
+    private static final int PARSE_CHUNK_SIZE = 8_192;
 
     private final File tasksFile;
-
-    private FileBackedTaskManager(File tasksFile) {
+    private final File journalFile;
+    private final File historyFile;
+    private final FileStorageSettings settings;
+    private int journalRecordsCount;
+    private int historyRecordsCount;
+    private int historyCompactionLimit = MIN_HISTORY_RECORDS_TO_COMPACT;
+    private boolean isHistoryChanged;
+    private boolean isLoading;
+    private LoadStatistics loadStatistics;
+    private List<String> batchRecords;
+    private AsyncStorageWriter asyncWriter;
+    private MappedJournal mappedJournal;
+    private final CsvTaskCodec csvCodec = new CsvTaskCodec();
+
+    private FileBackedTaskManager(File tasksFile, FileStorageSettings settings) {
         this.tasksFile = tasksFile;
+        this.journalFile = new File(tasksFile.getPath() + JOURNAL_FILE_SUFFIX);
+        this.historyFile = new File(tasksFile.getPath() + HISTORY_FILE_SUFFIX);
+        this.settings = settings;
+        if (settings.getStorageBackend() == StorageBackend.MEMORY_MAPPED && !settings.isAsyncWrites()) {
+            mappedJournal = new MappedJournal(journalFile);
+        }
     }
 
     /**
@@ -49,33 +73,144 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
      * @return FileBackedTaskManager TaskManager which works with csv file.
      */
     public static FileBackedTaskManager loadFromFile(File file) {
-        FileBackedTaskManager manager = new FileBackedTaskManager(file);
-        List<String> records = readFile(file);
-        List<Task> tasks = serializeTasks(records);
-        for (Task task : tasks) {
-            switch (task.getType()) {
-                case SUBTASK: {
-                    manager.addSubTask((SubTask) task);
-                    break;
-                }
-                case EPIC: {
-                    manager.addEpicTask((EpicTask) task);
-                    break;
-                }
-                case TASK: {
-                    manager.addTask(task);
-                    break;
-                }
-                default: {
-                    throw new RuntimeException("Incorrect task type: " + task);
+        return loadFromFile(file, FileStorageSettings.defaults());
+    }
+
+    /**
+     * This static method works as {@link #loadFromFile(File)} with provided persistence mode.
+     *
+     * @param file csv file where main.tasks are stored.
+     * @param persistenceMode mode of persisting further changes.
+     * @return FileBackedTaskManager TaskManager which works with csv file.
+     */
+    public static FileBackedTaskManager loadFromFile(File file, PersistenceMode persistenceMode) {
+        return loadFromFile(file, FileStorageSettings.defaults().withPersistenceMode(persistenceMode));
+    }
+
+    /**
+     * This static method reads content of csv file, replays the journal records written after
+     * the last compaction and the history file, and returns TaskManager which works with that file.
+     *
+     * @param file csv file where main.tasks are stored.
+     * @param settings settings of the storage.
+     * @return FileBackedTaskManager TaskManager which works with csv file.
+     */
+    public static FileBackedTaskManager loadFromFile(File file, FileStorageSettings settings) {
+        long loadStartTime = System.nanoTime();
+        FileBackedTaskManager manager = new FileBackedTaskManager(file, settings);
+        manager.isLoading = true;
+        List<Task> tasks;
+        List<UUID> legacyHistory = List.of();
+        boolean isMemoryMapped = settings.getStorageBackend() == StorageBackend.MEMORY_MAPPED;
+        if (settings.getSnapshotFormat() == SnapshotFormat.BINARY) {
+            tasks = readBinaryFile(file, isMemoryMapped);
+        } else {
+            List<String> records = readFile(file, isMemoryMapped);
+            tasks = serializeTasks(records);
+            legacyHistory = getHistory(records);
+        }
+        int skippedTasksCount = manager.importTasks(tasks);
+        // history ids are resolved to tasks, so they are imported after the tasks
+        manager.importHistory(legacyHistory);
+        if (settings.getPersistenceMode() == PersistenceMode.JOURNAL) {
+            manager.replayJournal();
+        }
+        manager.replayHistory();
+        if (!legacyHistory.isEmpty()) {
+            // snapshots are written without the history line, so the legacy history is moved to the history file
+            manager.flushHistory();
+        }
+        manager.isLoading = false;
+        if (settings.isAsyncWrites()) {
+            manager.asyncWriter = new AsyncStorageWriter(manager, file, manager.journalFile, manager.historyFile,
+                    manager::captureSnapshot, manager::captureHistory, settings);
+        }
+        manager.loadStatistics = new LoadStatistics(tasks.size() - skippedTasksCount, skippedTasksCount,
+                manager.journalRecordsCount, manager.getHistory().size(),
+                Duration.ofNanos(System.nanoTime() - loadStartTime));
+        return manager;
+    }
+
+    /**
+     * Returns statistics of loading this manager from the file.
+     *
+     * @return LoadStatistics statistics of the load.
+     */
+    public LoadStatistics getLoadStatistics() {
+        return loadStatistics;
+    }
+
+    /**
+     * This method rewrites history file with the current history.
+     */
+    public synchronized void flushHistory() {
+        List<String> history = captureHistory();
+        if (asyncWriter != null) {
+            asyncWriter.requestHistoryRewrite();
+        } else {
+            try (FileWriter fw = new FileWriter(historyFile, false)) {
+                for (String record : history) {
+                    fw.write(record + LINE_SEPARATOR);
                 }
+            } catch (IOException exception) {
+                throw new ManagerSaveException("Cannot save history: " + exception.getMessage());
             }
         }
-        List<UUID> history = getHistory(records);
-        for (UUID id : history) {
-            manager.getAnyTaskById(id);
+        historyRecordsCount = history.size();
+        historyCompactionLimit = Math.max(MIN_HISTORY_RECORDS_TO_COMPACT, 2 * history.size());
+        isHistoryChanged = false;
+    }
+
+    /**
+     * This method rewrites csv file with the current state and truncates the journal.
+     */
+    public synchronized void compact() {
+        if (asyncWriter != null) {
+            asyncWriter.requestSnapshot(true);
+            journalRecordsCount = 0;
+            return;
+        }
+        save();
+        try {
+            if (mappedJournal != null) {
+                mappedJournal.clear();
+            } else {
+                new FileWriter(journalFile, false).close();
+            }
+            journalRecordsCount = 0;
+        } catch (IOException exception) {
+            throw new ManagerSaveException("Cannot truncate journal: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * This method waits until all changes collected for asynchronous writes are written to the files.
+     * It does nothing when changes are written synchronously.
+     */
+    public void flush() {
+        if (asyncWriter != null) {
+            asyncWriter.flush();
+        }
+    }
+
+    /**
+     * This method writes all collected changes and stops the background writer.
+     * Further changes of the manager can not be persisted after that.
+     */
+    @Override
+    public void close() {
+        if (asyncWriter != null) {
+            asyncWriter.close();
+        }
+        if (mappedJournal != null) {
+            synchronized (this) {
+                try {
+                    mappedJournal.close();
+                } catch (IOException exception) {
+                    throw new ManagerSaveException("Cannot close journal: " + exception.getMessage());
+                }
+            }
         }
-        return manager;
     }
 
     public static void main(String[] args) {
@@ -109,32 +244,54 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         manager.removeEpicTaskById(newEpic.getId());
     }
 
-    private static List<String> readFile(File file) {
-        List<String> records = new ArrayList<>();
+    private static List<String> readFile(File file, boolean isMemoryMapped) {
+        try {
+            List<String> records = CsvTaskCodec.joinQuotedLines(readLines(file, isMemoryMapped));
+            return records.subList(1, records.size());
+        } catch (Exception exception) {
+            throw new ManagerReadException("Cannot read file: " + exception.getMessage());
+        }
+    }
+
+    private static List<String> readLines(File file, boolean isMemoryMapped) throws IOException {
+        if (isMemoryMapped) {
+            return MappedFiles.readLines(file.toPath());
+        }
+        List<String> lines = new ArrayList<>();
         try (BufferedReader br = new BufferedReader(new FileReader(file.getAbsolutePath()))) {
             String line;
             while ((line = br.readLine()) != null) {
-                records.add(line);
+                lines.add(line);
             }
-            return records.subList(1, records.size());
+        }
+        return lines;
+    }
+
+    private static List<Task> readBinaryFile(File file, boolean isMemoryMapped) {
+        try {
+            return isMemoryMapped ? BinarySnapshotCodec.readMapped(file) : BinarySnapshotCodec.read(file);
         } catch (Exception exception) {
             throw new ManagerReadException("Cannot read file: " + exception.getMessage());
         }
     }
 
+    /**
+     * Parses records of a large board in chunks on the common ForkJoinPool. Chunks keep the order
+     * of records, subtasks are linked to their epics afterwards by importTasks.
+     */
     private static List<Task> serializeTasks(List<String> records) {
-        List<Task> result = new ArrayList<>();
-        for (String record : records) {
-            if (record.contains(COMMA_DELIMITER + TaskTypes.SUBTASK + COMMA_DELIMITER)) {
-                Task subTask = getTaskFromString(record, TaskTypes.SUBTASK);
-                result.add(subTask);
-            }
-            if (record.contains(COMMA_DELIMITER + TaskTypes.EPIC + COMMA_DELIMITER)) {
-                Task epic = getTaskFromString(record, TaskTypes.EPIC);
-                result.add(epic);
-            }
-            if (record.contains(COMMA_DELIMITER + TaskTypes.TASK + COMMA_DELIMITER)) {
-                Task task = getTaskFromString(record, TaskTypes.TASK);
+        if (records.size() <= PARSE_CHUNK_SIZE) {
+            return serializeTasks(records, 0, records.size());
+        }
+        return ForkJoinPool.commonPool().invoke(new ParseRecordsTask(records, 0, records.size()));
+    }
+
+    private static List<Task> serializeTasks(List<String> records, int from, int to) {
+        CsvTaskCodec codec = new CsvTaskCodec();
+        List<Task> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Task task = codec.decode(records.get(i), 0);
+            if (task != null) {
                 result.add(task);
             }
         }
@@ -158,165 +315,473 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
                 .collect(toList());
     }
 
-    private static Task getTaskFromString(String line, TaskTypes type) {
-        String[] values = line.split(COMMA_DELIMITER);
-        UUID id = UUID.fromString(values[ID_POSITION]);
-        String name = values[NAME_POSITION];
-        String description = values[DESCRIPTION_POSITION];
-        TaskStatus status = TaskStatus.valueOf(values[STATUS_POSITION]);
-        switch (type) {
-            case SUBTASK: {
-                LocalDateTime startTime = LocalDateTime.parse(values[START_TIME_POSITION]);
-                Duration duration = Duration.ofMinutes(Long.parseLong(values[DURATION_POSITION]));
-                UUID epicId = UUID.fromString(values[EPIC_ID_POSITION]);
-                return new SubTask(id, name, description, status, epicId, startTime, duration);
-            }
-            case EPIC: {
-                List<UUID> subTaskIds = new ArrayList<>();
-                return new EpicTask(id, name, description, status, subTaskIds);
-            }
-            case TASK: {
-                LocalDateTime startTime = LocalDateTime.parse(values[START_TIME_POSITION]);
-                Duration duration = Duration.ofMinutes(Long.parseLong(values[DURATION_POSITION]));
-                return new Task(id, name, description, status, startTime, duration);
-            }
-            default: {
-                throw new RuntimeException("Incorrect task type in the line: " + line);
-            }
-        }
-    }
-
     @Override
-    public Task addTask(Task task) {
+    public synchronized Task addTask(Task task) {
         super.addTask(task);
-        save();
+        persist(JournalOperation.ADD, task);
         return task;
     }
 
     @Override
-    public Task updateTask(Task task) {
+    public synchronized Task updateTask(Task task) {
         super.updateTask(task);
-        save();
+        persist(JournalOperation.UPDATE, task);
         return task;
     }
 
     @Override
-    public void removeTaskById(UUID id) {
+    public synchronized void removeTaskById(UUID id) {
         super.removeTaskById(id);
-        save();
+        persist(JournalOperation.REMOVE, TaskTypes.TASK + COMMA_DELIMITER + id);
     }
 
     @Override
-    public void clearTaskList() {
+    public synchronized void clearTaskList() {
         super.clearTaskList();
-        save();
+        persist(JournalOperation.CLEAR, TaskTypes.TASK.toString());
     }
 
     @Override
-    public Task getTaskById(UUID id) {
+    public synchronized Task getTaskById(UUID id) {
         Task task = super.getTaskById(id);
-        save();
+        persistView(task);
         return task;
     }
 
+    /**
+     * Searches under the manager lock, because the text index is changed by writers.
+     */
     @Override
-    public SubTask addSubTask(SubTask subTask) {
+    public synchronized List<Task> searchTasks(String query, int limit) {
+        return super.searchTasks(query, limit);
+    }
+
+    @Override
+    public synchronized SubTask addSubTask(SubTask subTask) {
         super.addSubTask(subTask);
-        save();
+        persist(JournalOperation.ADD, subTask);
         return subTask;
     }
 
     @Override
-    public SubTask updateSubTask(SubTask subTask) {
+    public synchronized SubTask updateSubTask(SubTask subTask) {
         super.updateSubTask(subTask);
-        save();
+        persist(JournalOperation.UPDATE, subTask);
         return subTask;
     }
 
     @Override
-    public void removeSubTaskById(UUID id) {
+    public synchronized void removeSubTaskById(UUID id) {
         super.removeSubTaskById(id);
-        save();
+        persist(JournalOperation.REMOVE, TaskTypes.SUBTASK + COMMA_DELIMITER + id);
     }
 
     @Override
-    public void clearSubTaskLists() {
+    public synchronized void clearSubTaskLists() {
         super.clearSubTaskLists();
-        save();
+        persist(JournalOperation.CLEAR, TaskTypes.SUBTASK.toString());
     }
 
     @Override
-    public SubTask getSubTaskById(UUID id) {
+    public synchronized SubTask getSubTaskById(UUID id) {
         SubTask subTask = super.getSubTaskById(id);
-        save();
+        persistView(subTask);
         return subTask;
     }
 
     @Override
-    public EpicTask addEpicTask(EpicTask epic) {
+    public synchronized EpicTask addEpicTask(EpicTask epic) {
         super.addEpicTask(epic);
-        save();
+        persist(JournalOperation.ADD, epic);
         return epic;
     }
 
     @Override
-    public EpicTask updateEpicTask(EpicTask epic) {
+    public synchronized EpicTask updateEpicTask(EpicTask epic) {
         super.updateEpicTask(epic);
-        save();
+        persist(JournalOperation.UPDATE, epic);
         return epic;
     }
 
     @Override
-    public void removeEpicTaskById(UUID id) {
+    public synchronized void removeEpicTaskById(UUID id) {
         super.removeEpicTaskById(id);
-        save();
+        persist(JournalOperation.REMOVE, TaskTypes.EPIC + COMMA_DELIMITER + id);
     }
 
     @Override
-    public void clearEpicTaskLists() {
+    public synchronized void clearEpicTaskLists() {
         super.clearEpicTaskLists();
-        save();
+        persist(JournalOperation.CLEAR, TaskTypes.EPIC.toString());
     }
 
     @Override
-    public EpicTask getEpicTaskById(UUID id) {
+    public synchronized EpicTask getEpicTaskById(UUID id) {
         EpicTask epic = super.getEpicTaskById(id);
-        save();
+        persistView(epic);
         return epic;
     }
 
+    /**
+     * Persists the whole batch once: records of all operations are appended to the journal
+     * with one write, in snapshot mode the snapshot is saved once after the batch.
+     */
+    @Override
+    public synchronized boolean applyBatch(List<TaskOperation> operations) {
+        if (isLoading || batchRecords != null) {
+            return super.applyBatch(operations);
+        }
+        batchRecords = new ArrayList<>();
+        try {
+            return super.applyBatch(operations);
+        } finally {
+            List<String> records = batchRecords;
+            batchRecords = null;
+            if (!records.isEmpty()) {
+                if (settings.getPersistenceMode() == PersistenceMode.SNAPSHOT) {
+                    saveSnapshot();
+                } else {
+                    appendToJournal(records);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized Task findTask(TaskTypes type, UUID id) {
+        return super.findTask(type, id);
+    }
+
     @Override
-    public Task getAnyTaskById(UUID id) {
+    public synchronized Task getAnyTaskById(UUID id) {
         Task task = super.getAnyTaskById(id);
-        save();
+        persistView(task);
+        return task;
+    }
+
+    /**
+     * Reads the change log under the manager lock, because the log is changed by writers.
+     */
+    @Override
+    public synchronized TaskChanges getChangesSince(long version) {
+        return super.getChangesSince(version);
+    }
+
+    private void persist(JournalOperation operation, Task task) {
+        if (task.getId() == null) {
+            return;
+        }
+        persist(operation, csvCodec.encode(task).toString());
+    }
+
+    private void persistView(Task task) {
+        if (task == null || isLoading) {
+            return;
+        }
+        if (settings.getHistoryFlushPolicy() != HistoryFlushPolicy.EVERY_VIEW) {
+            isHistoryChanged = true;
+            return;
+        }
+        if (asyncWriter != null) {
+            asyncWriter.appendHistory(task.getId().toString());
+        } else {
+            try (FileWriter fw = new FileWriter(historyFile, true)) {
+                fw.write(task.getId() + LINE_SEPARATOR);
+            } catch (IOException exception) {
+                throw new ManagerSaveException("Cannot append to history: " + exception.getMessage());
+            }
+        }
+        historyRecordsCount++;
+        if (historyRecordsCount >= historyCompactionLimit) {
+            flushHistory();
+        }
+    }
+
+    private void persist(JournalOperation operation, String payload) {
+        if (isLoading) {
+            return;
+        }
+        if (isHistoryChanged && settings.getHistoryFlushPolicy() == HistoryFlushPolicy.WITH_TASK_CHANGES) {
+            flushHistory();
+        }
+        String record = operation + COMMA_DELIMITER + payload;
+        if (batchRecords != null) {
+            batchRecords.add(record);
+            return;
+        }
+        if (settings.getPersistenceMode() == PersistenceMode.SNAPSHOT) {
+            saveSnapshot();
+            return;
+        }
+        appendToJournal(List.of(record));
+    }
+
+    private void saveSnapshot() {
+        if (asyncWriter != null) {
+            asyncWriter.requestSnapshot(false);
+        } else {
+            save();
+        }
+    }
+
+    private void appendToJournal(List<String> records) {
+        if (asyncWriter != null) {
+            asyncWriter.appendJournal(records);
+        } else if (mappedJournal != null) {
+            try {
+                mappedJournal.append(records);
+            } catch (IOException exception) {
+                throw new ManagerSaveException("Cannot append to journal: " + exception.getMessage());
+            }
+        } else {
+            try (Writer writer = new BufferedWriter(new FileWriter(journalFile, true))) {
+                for (String record : records) {
+                    writer.write(record + LINE_SEPARATOR);
+                }
+            } catch (IOException exception) {
+                throw new ManagerSaveException("Cannot append to journal: " + exception.getMessage());
+            }
+        }
+        journalRecordsCount += records.size();
+        if (journalRecordsCount >= settings.getJournalCompactionThreshold()) {
+            compact();
+        }
+    }
+
+    private void replayJournal() {
+        List<String> records = readNonEmptyLines(journalFile);
+        for (int i = 0; i < records.size(); i++) {
+            Runnable change;
+            try {
+                change = parseRecord(records.get(i));
+            } catch (RuntimeException exception) {
+                // the last record may be partially written if the process was stopped while appending it
+                if (i != records.size() - 1) {
+                    throw new ManagerReadException("Cannot read journal record: " + records.get(i), exception);
+                }
+                break;
+            }
+            try {
+                change.run();
+            } catch (RuntimeException exception) {
+                throw new ManagerReadException("Cannot replay journal record: " + records.get(i), exception);
+            }
+        }
+        journalRecordsCount = records.size();
+    }
+
+    private void replayHistory() {
+        List<String> records = readNonEmptyLines(historyFile);
+        List<UUID> history = new ArrayList<>(records.size());
+        for (String record : records) {
+            try {
+                history.add(UUID.fromString(record));
+            } catch (IllegalArgumentException exception) {
+                throw new ManagerReadException("Cannot read history record: " + record, exception);
+            }
+        }
+        importHistory(history);
+        historyRecordsCount = records.size();
+    }
+
+    private List<String> readNonEmptyLines(File file) {
+        List<String> records = new ArrayList<>();
+        if (!file.exists()) {
+            return records;
+        }
+        try {
+            boolean isMemoryMapped = settings.getStorageBackend() == StorageBackend.MEMORY_MAPPED;
+            for (String record : CsvTaskCodec.joinQuotedLines(readLines(file, isMemoryMapped))) {
+                if (!record.isEmpty()) {
+                    records.add(record);
+                }
+            }
+        } catch (IOException exception) {
+            throw new ManagerReadException("Cannot read file: " + exception.getMessage());
+        }
+        return records;
+    }
+
+    /**
+     * Decodes the journal record into the change it describes, so a malformed record is found
+     * before anything is changed.
+     */
+    private Runnable parseRecord(String record) {
+        int delimiterPosition = record.indexOf(COMMA_DELIMITER);
+        JournalOperation operation = JournalOperation.valueOf(record.substring(0, delimiterPosition));
+        String payload = record.substring(delimiterPosition + 1);
+        int payloadStart = delimiterPosition + 1;
+        switch (operation) {
+            case ADD: {
+                Task task = decodeRecord(record, payloadStart);
+                if (task instanceof SubTask) {
+                    return () -> addSubTask((SubTask) task);
+                } else if (task instanceof EpicTask) {
+                    return () -> addEpicTask((EpicTask) task);
+                }
+                return () -> addTask(task);
+            }
+            case UPDATE: {
+                Task task = decodeRecord(record, payloadStart);
+                if (task instanceof SubTask) {
+                    return () -> updateSubTask((SubTask) task);
+                } else if (task instanceof EpicTask) {
+                    EpicTask epic = (EpicTask) task;
+                    return () -> {
+                        EpicTask currentEpic = findEpicTask(epic.getId());
+                        if (currentEpic != null) {
+                            currentEpic.getSubTaskIds().forEach(epic::addSubTaskId);
+                        }
+                        updateEpicTask(epic);
+                    };
+                }
+                return () -> updateTask(task);
+            }
+            case REMOVE: {
+                String[] values = payload.split(COMMA_DELIMITER);
+                UUID id = UUID.fromString(values[1]);
+                switch (TaskTypes.valueOf(values[0])) {
+                    case SUBTASK: {
+                        return () -> removeSubTaskById(id);
+                    }
+                    case EPIC: {
+                        return () -> removeEpicTaskById(id);
+                    }
+                    default: {
+                        return () -> removeTaskById(id);
+                    }
+                }
+            }
+            case CLEAR: {
+                switch (TaskTypes.valueOf(payload)) {
+                    case SUBTASK: {
+                        return this::clearSubTaskLists;
+                    }
+                    case EPIC: {
+                        return this::clearEpicTaskLists;
+                    }
+                    default: {
+                        return this::clearTaskList;
+                    }
+                }
+            }
+            default: {
+                throw new IllegalArgumentException("Incorrect journal record: " + record);
+            }
+        }
+    }
+
+    private Task decodeRecord(String record, int payloadStart) {
+        Task task = csvCodec.decode(record, payloadStart);
+        if (task == null) {
+            throw new IllegalArgumentException("There is no task in the journal record: " + record);
+        }
         return task;
     }
 
     private void save() {
+        writeSnapshot(super.getAllTasks(), super.getAllEpics(), super.getAllSubTasks());
+    }
+
+    private Runnable captureSnapshot() {
         List<Task> tasks = super.getAllTasks();
         List<EpicTask> epics = super.getAllEpics();
         List<SubTask> subTasks = super.getAllSubTasks();
-        try (FileWriter fw = new FileWriter(tasksFile, false)) {
-            fw.write(HEADER_LINE + LINE_SEPARATOR);
+        return () -> writeSnapshot(tasks, epics, subTasks);
+    }
+
+    private List<String> captureHistory() {
+        List<Task> history = super.getHistory();
+        List<String> records = new ArrayList<>(history.size());
+        for (Task task : history) {
+            records.add(task.getId().toString());
+        }
+        return records;
+    }
+
+    private void writeSnapshot(List<Task> tasks, List<EpicTask> epics, List<SubTask> subTasks) {
+        if (settings.getSnapshotFormat() == SnapshotFormat.BINARY) {
+            saveBinary(tasks, epics, subTasks);
+            return;
+        }
+        if (settings.getStorageBackend() == StorageBackend.MEMORY_MAPPED) {
+            saveMapped(tasks, epics, subTasks);
+            return;
+        }
+        CsvTaskCodec codec = new CsvTaskCodec();
+        try (Writer writer = new BufferedWriter(new FileWriter(tasksFile, false))) {
+            writer.write(HEADER_LINE + LINE_SEPARATOR);
             for (Task task : tasks) {
-                fw.write(task.toString() + LINE_SEPARATOR);
+                writer.append(codec.encode(task)).append(LINE_SEPARATOR);
             }
             for (Task epic : epics) {
-                fw.write(epic.toString() + LINE_SEPARATOR);
+                writer.append(codec.encode(epic)).append(LINE_SEPARATOR);
             }
             for (Task subTask : subTasks) {
-                fw.write(subTask.toString() + LINE_SEPARATOR);
+                writer.append(codec.encode(subTask)).append(LINE_SEPARATOR);
             }
-            fw.write(LINE_SEPARATOR);
-            String history = historyToString();
-            fw.write(history);
+            writer.write(LINE_SEPARATOR);
         } catch (IOException exception) {
             throw new ManagerSaveException("Cannot save to file: " + exception.getMessage());
         }
     }
 
-    private String historyToString() {
-        List<Task> history = super.getHistory();
-        return history.stream().map(task -> task.getId().toString()).collect(Collectors.joining(COMMA_DELIMITER));
+    private void saveMapped(List<Task> tasks, List<EpicTask> epics, List<SubTask> subTasks) {
+        List<String> lines = new ArrayList<>(tasks.size() + epics.size() + subTasks.size() + 2);
+        lines.add(HEADER_LINE);
+        CsvTaskCodec codec = new CsvTaskCodec();
+        tasks.forEach(task -> lines.add(codec.encode(task).toString()));
+        epics.forEach(epic -> lines.add(codec.encode(epic).toString()));
+        subTasks.forEach(subTask -> lines.add(codec.encode(subTask).toString()));
+        lines.add("");
+        try {
+            MappedFiles.writeLines(tasksFile.toPath(), lines);
+        } catch (IOException exception) {
+            throw new ManagerSaveException("Cannot save to file: " + exception.getMessage());
+        }
+    }
+
+    private void saveBinary(List<Task> tasks, List<EpicTask> epics, List<SubTask> subTasks) {
+        List<Task> allTasks = new ArrayList<>(tasks.size() + epics.size() + subTasks.size());
+        allTasks.addAll(tasks);
+        allTasks.addAll(epics);
+        allTasks.addAll(subTasks);
+        try {
+            BinarySnapshotCodec.write(tasksFile, allTasks);
+        } catch (IOException exception) {
+            throw new ManagerSaveException("Cannot save to file: " + exception.getMessage());
+        }
+    }
+
+    private static class ParseRecordsTask extends RecursiveTask<List<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> records;
+        private final int from;
+        private final int to;
+
+        ParseRecordsTask(List<String> records, int from, int to) {
+            this.records = records;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            if (to - from <= PARSE_CHUNK_SIZE) {
+                return serializeTasks(records, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ParseRecordsTask firstHalf = new ParseRecordsTask(records, from, middle);
+            firstHalf.fork();
+            List<Task> secondHalfTasks = new ParseRecordsTask(records, middle, to).compute();
+            List<Task> tasks = firstHalf.join();
+            tasks.addAll(secondHalfTasks);
+            return tasks;
+        }
+    }
+
+    private enum JournalOperation {
+        ADD, UPDATE, REMOVE, CLEAR
     }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package main.manager.taskManager;
+
+import java.time.Duration;
+
+/**
+ * Immutable settings of FileBackedTaskManager storage.
+ * Every with* method returns a copy of the settings with one changed value.
+ */
+public class FileStorageSettings {
+    private static final int DEFAULT_JOURNAL_COMPACTION_THRESHOLD = 10_000;
+
+    private final PersistenceMode persistenceMode;
+    private final int journalCompactionThreshold;
+    private final HistoryFlushPolicy historyFlushPolicy;
+    private final SnapshotFormat snapshotFormat;
+    private final Duration asyncFlushInterval;
+    private final int asyncFlushThreshold;
+    private final DurabilityMode durabilityMode;
+    private final StorageBackend storageBackend;
+
+    private FileStorageSettings(PersistenceMode persistenceMode, int journalCompactionThreshold,
+                                HistoryFlushPolicy historyFlushPolicy, SnapshotFormat snapshotFormat,
+                                Duration asyncFlushInterval, int asyncFlushThreshold, DurabilityMode durabilityMode,
+                                StorageBackend storageBackend) {
+        if (journalCompactionThreshold <= 0) {
+            throw new IllegalArgumentException("Journal compaction threshold should be positive");
+        }
+        if (asyncFlushInterval != null && (asyncFlushInterval.isNegative() || asyncFlushInterval.isZero())) {
+            throw new IllegalArgumentException("Asynchronous flush interval should be positive");
+        }
+        if (asyncFlushInterval != null && asyncFlushThreshold <= 0) {
+            throw new IllegalArgumentException("Asynchronous flush threshold should be positive");
+        }
+        this.persistenceMode = persistenceMode;
+        this.journalCompactionThreshold = journalCompactionThreshold;
+        this.historyFlushPolicy = historyFlushPolicy;
+        this.snapshotFormat = snapshotFormat;
+        this.asyncFlushInterval = asyncFlushInterval;
+        this.asyncFlushThreshold = asyncFlushThreshold;
+        this.durabilityMode = durabilityMode;
+        this.storageBackend = storageBackend;
+    }
+
+    /**
+     * Returns default settings: csv file rewritten on every change and history appended on every view.
+     *
+     * @return FileStorageSettings default settings.
+     */
+    public static FileStorageSettings defaults() {
+        return new FileStorageSettings(PersistenceMode.SNAPSHOT, DEFAULT_JOURNAL_COMPACTION_THRESHOLD,
+                HistoryFlushPolicy.EVERY_VIEW, SnapshotFormat.CSV, null, 0, DurabilityMode.FLUSH,
+                StorageBackend.STREAMS);
+    }
+
+    public FileStorageSettings withPersistenceMode(PersistenceMode persistenceMode) {
+        return new FileStorageSettings(persistenceMode, journalCompactionThreshold, historyFlushPolicy,
+                snapshotFormat, asyncFlushInterval, asyncFlushThreshold, durabilityMode,
+                storageBackend);
+    }
+
+    public FileStorageSettings withJournalCompactionThreshold(int journalCompactionThreshold) {
+        return new FileStorageSettings(persistenceMode, journalCompactionThreshold, historyFlushPolicy,
+                snapshotFormat, asyncFlushInterval, asyncFlushThreshold, durabilityMode,
+                storageBackend);
+    }
+
+    public FileStorageSettings withHistoryFlushPolicy(HistoryFlushPolicy historyFlushPolicy) {
+        return new FileStorageSettings(persistenceMode, journalCompactionThreshold, historyFlushPolicy,
+                snapshotFormat, asyncFlushInterval, asyncFlushThreshold, durabilityMode,
+                storageBackend);
+    }
+
+    public FileStorageSettings withSnapshotFormat(SnapshotFormat snapshotFormat) {
+        return new FileStorageSettings(persistenceMode, journalCompactionThreshold, historyFlushPolicy,
+                snapshotFormat, asyncFlushInterval, asyncFlushThreshold, durabilityMode,
+                storageBackend);
+    }
+
+    /**
+     * Returns copy of the settings where changes are written by a background writer. Changes are
+     * collected in memory and written in one group every flushInterval or as soon as flushThreshold
+     * changes are collected, so callers do not wait for the disk.
+     *
+     * @param flushInterval maximum time between writes of collected changes.
+     * @param flushThreshold number of collected changes which starts a write immediately.
+     * @return FileStorageSettings settings with asynchronous writes.
+     */
+    public FileStorageSettings withAsyncWrites(Duration flushInterval, int flushThreshold) {
+        return new FileStorageSettings(persistenceMode, journalCompactionThreshold, historyFlushPolicy,
+                snapshotFormat, flushInterval, flushThreshold, durabilityMode, storageBackend);
+    }
+
+    public FileStorageSettings withDurabilityMode(DurabilityMode durabilityMode) {
+        return new FileStorageSettings(persistenceMode, journalCompactionThreshold, historyFlushPolicy,
+                snapshotFormat, asyncFlushInterval, asyncFlushThreshold, durabilityMode,
+                storageBackend);
+    }
+
+    public FileStorageSettings withStorageBackend(StorageBackend storageBackend) {
+        return new FileStorageSettings(persistenceMode, journalCompactionThreshold, historyFlushPolicy,
+                snapshotFormat, asyncFlushInterval, asyncFlushThreshold, durabilityMode, storageBackend);
+    }
+
+    public PersistenceMode getPersistenceMode() {
+        return persistenceMode;
+    }
+
+    public int getJournalCompactionThreshold() {
+        return journalCompactionThreshold;
+    }
+
+    public HistoryFlushPolicy getHistoryFlushPolicy() {
+        return historyFlushPolicy;
+    }
+
+    public SnapshotFormat getSnapshotFormat() {
+        return snapshotFormat;
+    }
+
+    public boolean isAsyncWrites() {
+        return asyncFlushInterval != null;
+    }
+
+    public Duration getAsyncFlushInterval() {
+        return asyncFlushInterval;
+    }
+
+    public int getAsyncFlushThreshold() {
+        return asyncFlushThreshold;
+    }
+
+    public DurabilityMode getDurabilityMode() {
+        return durabilityMode;
+    }
+
+    public StorageBackend getStorageBackend() {
+        return storageBackend;
+    }
+}
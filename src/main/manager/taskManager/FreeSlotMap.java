@@ -0,0 +1,219 @@
+package main.manager.taskManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Free slots which are taken by placed tasks one by one.
+ * Slots are nodes of a treap ordered by start, every node also keeps the maximal length of the slots
+ * of its subtree, so the earliest slot after a time which fits a duration is found in O(log n)
+ * without visiting shorter slots. Slots shorter than the minimal duration are dropped.
+ * The map is not thread-safe.
+ */
+class FreeSlotMap {
+    private final Duration minDuration;
+    private final Random random;
+    private SlotNode root;
+
+    /**
+     * @param minDuration minimal duration of a kept slot.
+     */
+    FreeSlotMap(Duration minDuration) {
+        this(minDuration, null, new Random(minDuration.hashCode()));
+    }
+
+    private FreeSlotMap(Duration minDuration, SlotNode root, Random random) {
+        this.minDuration = minDuration;
+        this.root = root;
+        this.random = random;
+    }
+
+    /**
+     * Returns independent copy of the map.
+     *
+     * @return FreeSlotMap copy of the map.
+     */
+    FreeSlotMap copy() {
+        return new FreeSlotMap(minDuration, copy(root), new Random(random.nextLong()));
+    }
+
+    /**
+     * This method adds free slot which does not intersect other slots of the map.
+     *
+     * @param start start of the slot.
+     * @param end end of the slot.
+     */
+    void add(LocalDateTime start, LocalDateTime end) {
+        if (start.isBefore(end) && fits(start, minDuration, end)) {
+            root = insert(root, new SlotNode(start, end, random.nextInt()));
+        }
+    }
+
+    /**
+     * This method takes the earliest part of a free slot which fits the task, the rest of the slot stays free.
+     *
+     * @param earliestStart earliest start of the task.
+     * @param deadline latest end of the task.
+     * @param duration duration of the task.
+     * @return LocalDateTime start of the task or null if it does not fit any slot.
+     */
+    LocalDateTime take(LocalDateTime earliestStart, LocalDateTime deadline, Duration duration) {
+        SlotNode slot = floor(earliestStart);
+        LocalDateTime start = earliestStart;
+        if (slot == null || !fits(earliestStart, duration, slot.end)) {
+            slot = findFirstFit(root, earliestStart, duration);
+            start = slot == null ? null : slot.start;
+        }
+        if (slot == null || !fits(start, duration, deadline)) {
+            return null;
+        }
+        root = remove(root, slot.start);
+        add(slot.start, start);
+        add(start.plus(duration), slot.end);
+        return start;
+    }
+
+    private SlotNode floor(LocalDateTime time) {
+        SlotNode result = null;
+        for (SlotNode node = root; node != null; ) {
+            if (node.start.isAfter(time)) {
+                node = node.left;
+            } else {
+                result = node;
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    private static SlotNode findFirstFit(SlotNode node, LocalDateTime after, Duration duration) {
+        if (node == null || node.maxLength.compareTo(duration) < 0) {
+            return null;
+        }
+        if (!node.start.isAfter(after)) {
+            return findFirstFit(node.right, after, duration);
+        }
+        SlotNode result = findFirstFit(node.left, after, duration);
+        if (result != null) {
+            return result;
+        }
+        if (node.length.compareTo(duration) >= 0) {
+            return node;
+        }
+        return findFirstFit(node.right, after, duration);
+    }
+
+    private static SlotNode insert(SlotNode node, SlotNode inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.start.isBefore(node.start)) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static SlotNode remove(SlotNode node, LocalDateTime start) {
+        if (node == null) {
+            return null;
+        }
+        if (node.start.equals(start)) {
+            return merge(node.left, node.right);
+        }
+        if (start.isBefore(node.start)) {
+            node.left = remove(node.left, start);
+        } else {
+            node.right = remove(node.right, start);
+        }
+        node.update();
+        return node;
+    }
+
+    private static SlotNode merge(SlotNode left, SlotNode right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static SlotNode rotateRight(SlotNode node) {
+        SlotNode left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static SlotNode rotateLeft(SlotNode node) {
+        SlotNode right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static SlotNode copy(SlotNode node) {
+        if (node == null) {
+            return null;
+        }
+        SlotNode copy = new SlotNode(node.start, node.end, node.priority);
+        copy.left = copy(node.left);
+        copy.right = copy(node.right);
+        copy.maxLength = node.maxLength;
+        return copy;
+    }
+
+    private static boolean fits(LocalDateTime start, Duration duration, LocalDateTime end) {
+        return Duration.between(start, end).compareTo(duration) >= 0;
+    }
+
+    private static class SlotNode {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final Duration length;
+        private final int priority;
+        private Duration maxLength;
+        private SlotNode left;
+        private SlotNode right;
+
+        SlotNode(LocalDateTime start, LocalDateTime end, int priority) {
+            this.start = start;
+            this.end = end;
+            this.length = Duration.between(start, end);
+            this.priority = priority;
+            this.maxLength = length;
+        }
+
+        void update() {
+            maxLength = length;
+            if (left != null && left.maxLength.compareTo(maxLength) > 0) {
+                maxLength = left.maxLength;
+            }
+            if (right != null && right.maxLength.compareTo(maxLength) > 0) {
+                maxLength = right.maxLength;
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package main.manager.taskManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FreeSlotSearch collects free intervals of a window from scheduled tasks passed in the order of their
+ * start time, beginning with the last task which starts not after the start of the window.
+ * Scheduled tasks do not intersect, so every free interval lies between the latest end seen so far
+ * and the start of the next task, and the search stops at the first task after the window.
+ */
+class FreeSlotSearch {
+    private final LocalDateTime to;
+    private final Duration minDuration;
+    private final int limit;
+    private final List<TimeSlot> slots = new ArrayList<>();
+    private LocalDateTime cursor;
+
+    /**
+     * @param from start of the window.
+     * @param to end of the window.
+     * @param minDuration minimal duration of a free interval.
+     * @param limit maximum number of free intervals.
+     */
+    FreeSlotSearch(LocalDateTime from, LocalDateTime to, Duration minDuration, int limit) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Window should start before its end");
+        }
+        if (minDuration == null || minDuration.isNegative() || minDuration.isZero()) {
+            throw new IllegalArgumentException("Duration of a free slot should be positive");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit of free slots should be positive");
+        }
+        this.to = to;
+        this.minDuration = minDuration;
+        this.limit = limit;
+        this.cursor = from;
+    }
+
+    /**
+     * This method takes the next scheduled task into account.
+     *
+     * @param start start time of the task.
+     * @param end end time of the task, the start time for a task without duration.
+     * @return true if the search needs next tasks.
+     */
+    boolean accept(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(to)) {
+            return false;
+        }
+        if (isLongEnough(cursor, start)) {
+            slots.add(new TimeSlot(cursor, start));
+            if (slots.size() == limit) {
+                return false;
+            }
+        }
+        if (end.isAfter(cursor)) {
+            cursor = end;
+        }
+        return cursor.isBefore(to);
+    }
+
+    /**
+     * Returns found free intervals, the interval after the last passed task is added here.
+     *
+     * @return List<TimeSlot> free intervals ordered by their start.
+     */
+    List<TimeSlot> getSlots() {
+        if (slots.size() < limit && cursor.isBefore(to) && isLongEnough(cursor, to)) {
+            slots.add(new TimeSlot(cursor, to));
+            cursor = to;
+        }
+        return slots;
+    }
+
+    private boolean isLongEnough(LocalDateTime start, LocalDateTime end) {
+        return start.isBefore(end) && Duration.between(start, end).compareTo(minDuration) >= 0;
+    }
+}
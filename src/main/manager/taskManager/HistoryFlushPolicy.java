@@ -0,0 +1,20 @@
+package main.manager.taskManager;
+
+/**
+ * Policies of persisting view history of FileBackedTaskManager.
+ * History is stored in its own file, so views never rewrite the file with tasks.
+ */
+public enum HistoryFlushPolicy {
+    /**
+     * Every view appends one record to the history file.
+     */
+    EVERY_VIEW,
+    /**
+     * Views are kept in memory and the history file is rewritten together with the next task change.
+     */
+    WITH_TASK_CHANGES,
+    /**
+     * History file is rewritten only by an explicit flushHistory() call.
+     */
+    MANUAL
+}
@@ -6,21 +6,46 @@ import main.tasks.EpicTask;
 import main.tasks.SubTask;
 import main.tasks.Task;
 import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Flow;
 
 public class InMemoryTaskManager implements TaskManager {
+    private static final int CHANGE_LOG_CAPACITY = 4096;
+
     private final Map<UUID, Task> tasks = new HashMap<>();
     private final Map<UUID, EpicTask> epicTasks = new HashMap<>();
     private final Map<UUID, SubTask> subTasks = new HashMap<>();
-    private final HistoryManager historyManager = Managers.getDefaultHistory();
-    protected final Comparator<Task> comparator = Comparator.comparing(
-        Task::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())
-    );
-    protected final Set<Task> prioritizedTasks = new TreeSet<>(comparator);
+    private final Map<UUID, EpicAggregate> epicAggregates = new HashMap<>();
+    private final HistoryManager historyManager;
+    protected final PrioritizedTasksIndex prioritizedTasks = new PrioritizedTasksIndex();
+    private final SnapshotCache<Task> tasksSnapshot = new SnapshotCache<>(() -> new ArrayList<>(tasks.values()));
+    private final SnapshotCache<SubTask> subTasksSnapshot =
+            new SnapshotCache<>(() -> new ArrayList<>(subTasks.values()));
+    private final SnapshotCache<EpicTask> epicsSnapshot =
+            new SnapshotCache<>(() -> new ArrayList<>(epicTasks.values()));
+    private final SnapshotCache<Task> prioritizedSnapshot = new SnapshotCache<>(prioritizedTasks::toList);
+    private final StatusIndex statusIndex = new StatusIndex();
+    private final TextIndex textIndex = new TextIndex();
+    private final TaskEventPublisher events = new TaskEventPublisher();
+    private final ChangeLog changeLog = new ChangeLog(CHANGE_LOG_CAPACITY);
+    private volatile long snapshotVersion;
+
+    public InMemoryTaskManager() {
+        historyManager = Managers.getDefaultHistory();
+    }
+
+    /**
+     * Creates manager which keeps only the given number of last views in the history.
+     *
+     * @param historyCapacity maximum number of views in the history.
+     */
+    public InMemoryTaskManager(int historyCapacity) {
+        historyManager = Managers.getBoundedHistory(historyCapacity, this::findAnyTask);
+    }
 
     @Override
     public Task addTask(Task task) {
@@ -36,6 +61,10 @@ public class InMemoryTaskManager implements TaskManager {
         }
         tasks.put(id, task);
         prioritizedTasks.add(task);
+        statusIndex.add(task);
+        textIndex.add(task);
+        markChanged(tasksSnapshot, prioritizedSnapshot);
+        publishChange(TaskEventType.ADDED, task);
         return task;
     }
 
@@ -48,28 +77,38 @@ public class InMemoryTaskManager implements TaskManager {
 
         if (tasks.containsKey(task.getId())) {
             tasks.put(task.getId(), task);
-            prioritizedTasks.remove(task);
             prioritizedTasks.add(task);
+            statusIndex.add(task);
+            textIndex.add(task);
+            markChanged(tasksSnapshot, prioritizedSnapshot);
+            publishChange(TaskEventType.UPDATED, task);
         }
         return task;
     }
 
     @Override
     public void removeTaskById(UUID id) {
-        if (id != null) {
-            prioritizedTasks.remove(tasks.get(id));
-            tasks.remove(id);
+        if (id != null && tasks.remove(id) != null) {
+            prioritizedTasks.remove(id);
+            statusIndex.remove(id);
+            textIndex.remove(id);
             historyManager.remove(id);
+            markChanged(tasksSnapshot, prioritizedSnapshot);
+            publishRemoval(TaskTypes.TASK, id);
         }
     }
 
     @Override
     public void clearTaskList() {
-        for (Map.Entry<UUID, Task> taskEntry : tasks.entrySet()) {
-            historyManager.remove(taskEntry.getKey());
-            prioritizedTasks.remove(taskEntry.getValue());
+        for (UUID id : tasks.keySet()) {
+            textIndex.remove(id);
+            historyManager.remove(id);
+            prioritizedTasks.remove(id);
+            publishRemoval(TaskTypes.TASK, id);
         }
         tasks.clear();
+        statusIndex.clear(TaskTypes.TASK);
+        markChanged(tasksSnapshot, prioritizedSnapshot);
     }
 
     @Override
@@ -79,12 +118,13 @@ public class InMemoryTaskManager implements TaskManager {
         }
         Task task = tasks.get(id);
         historyManager.add(task);
+        publishView(task);
         return task;
     }
 
     @Override
     public List<Task> getAllTasks() {
-        return new ArrayList<>(tasks.values());
+        return tasksSnapshot.get();
     }
 
     @Override
@@ -103,8 +143,12 @@ public class InMemoryTaskManager implements TaskManager {
         EpicTask epic = epicTasks.get(subTask.getEpicId());
         if (epic != null) {
             epic.addSubTaskId(subTaskId);
-            recalculateEpicData(epic);
+            publishChange(TaskEventType.ADDED, subTask);
+            addToEpicData(epic, subTask);
             prioritizedTasks.add(subTask);
+            statusIndex.add(subTask);
+            textIndex.add(subTask);
+            markChanged(subTasksSnapshot, prioritizedSnapshot);
         } else {
             throw new RuntimeException("There is no epic for this subtask!");
         }
@@ -118,18 +162,26 @@ public class InMemoryTaskManager implements TaskManager {
             return subTask;
         }
 
-        UUID subTaskId = subTask.getId();
-        if (subTasks.containsKey(subTaskId)) {
-            subTasks.put(subTaskId, subTask);
-        }
         EpicTask epic = epicTasks.get(subTask.getEpicId());
-        if (epic != null) {
-            recalculateEpicData(epic);
-        } else {
+        if (epic == null) {
             throw new RuntimeException("There is no epic for this subtask!");
         }
-        prioritizedTasks.remove(subTask);
-        prioritizedTasks.add(subTask);
+        UUID subTaskId = subTask.getId();
+        if (subTasks.containsKey(subTaskId)) {
+            SubTask previousSubTask = subTasks.put(subTaskId, subTask);
+            prioritizedTasks.add(subTask);
+            statusIndex.add(subTask);
+            textIndex.add(subTask);
+            publishChange(TaskEventType.UPDATED, subTask);
+            EpicTask previousEpic = epicTasks.get(previousSubTask.getEpicId());
+            if (previousEpic != null && previousEpic != epic) {
+                previousEpic.removeSubTaskId(subTaskId);
+                removeFromEpicData(previousEpic, subTaskId);
+                epic.addSubTaskId(subTaskId);
+            }
+            addToEpicData(epic, subTask);
+            markChanged(subTasksSnapshot, prioritizedSnapshot);
+        }
         return subTask;
     }
 
@@ -138,28 +190,39 @@ public class InMemoryTaskManager implements TaskManager {
         if (id != null && subTasks.containsKey(id)) {
             SubTask subTask = subTasks.get(id);
             UUID relatedEpicId = subTask.getEpicId();
+            publishRemoval(TaskTypes.SUBTASK, id);
             if (epicTasks.containsKey(relatedEpicId)) {
                 EpicTask relatedEpic = epicTasks.get(relatedEpicId);
                 relatedEpic.removeSubTaskId(id);
-                recalculateEpicData(relatedEpic);
+                removeFromEpicData(relatedEpic, id);
             }
-            prioritizedTasks.remove(subTasks.get(id));
+            prioritizedTasks.remove(id);
             subTasks.remove(id);
+            statusIndex.remove(id);
+            textIndex.remove(id);
             historyManager.remove(id);
+            markChanged(subTasksSnapshot, prioritizedSnapshot);
         }
     }
 
     @Override
     public void clearSubTaskLists() {
-        for (Map.Entry<UUID, SubTask> subTaskEntry : subTasks.entrySet()) {
-            historyManager.remove(subTaskEntry.getKey());
-            prioritizedTasks.remove(subTaskEntry.getValue());
+        for (UUID id : subTasks.keySet()) {
+            textIndex.remove(id);
+            historyManager.remove(id);
+            prioritizedTasks.remove(id);
+            publishRemoval(TaskTypes.SUBTASK, id);
         }
         subTasks.clear();
+        statusIndex.clear(TaskTypes.SUBTASK);
+        epicAggregates.clear();
         for (EpicTask epic : epicTasks.values()) {
             epic.clearSubTaskIds();
-            recalculateEpicData(epic);
+            getEpicAggregate(epic.getId()).applyTo(epic);
+            statusIndex.add(epic);
+            publishChange(TaskEventType.EPIC_CHANGED, epic);
         }
+        markChanged(subTasksSnapshot, prioritizedSnapshot);
     }
 
     @Override
@@ -169,12 +232,13 @@ public class InMemoryTaskManager implements TaskManager {
         }
         SubTask subTask = subTasks.get(id);
         historyManager.add(subTask);
+        publishView(subTask);
         return subTask;
     }
 
     @Override
     public List<SubTask> getAllSubTasks() {
-        return new ArrayList<>(subTasks.values());
+        return subTasksSnapshot.get();
     }
 
     @Override
@@ -185,6 +249,10 @@ public class InMemoryTaskManager implements TaskManager {
             epicTask.setId(epicTaskId);
         }
         epicTasks.put(epicTaskId, epicTask);
+        statusIndex.add(epicTask);
+        textIndex.add(epicTask);
+        markChanged(epicsSnapshot);
+        publishChange(TaskEventType.ADDED, epicTask);
         return epicTask;
     }
 
@@ -192,6 +260,10 @@ public class InMemoryTaskManager implements TaskManager {
     public EpicTask updateEpicTask(EpicTask epicTask) {
         if (epicTasks.containsKey(epicTask.getId())) {
             epicTasks.put(epicTask.getId(), epicTask);
+            statusIndex.add(epicTask);
+            textIndex.add(epicTask);
+            markChanged(epicsSnapshot);
+            publishChange(TaskEventType.UPDATED, epicTask);
         }
         return epicTask;
     }
@@ -201,24 +273,42 @@ public class InMemoryTaskManager implements TaskManager {
         if (id != null && epicTasks.containsKey(id)) {
             EpicTask epic = epicTasks.get(id);
             for (UUID subTaskId : epic.getSubTaskIds()) {
-                prioritizedTasks.remove(subTasks.get(subTaskId));
+                prioritizedTasks.remove(subTaskId);
                 subTasks.remove(subTaskId);
+                statusIndex.remove(subTaskId);
+                textIndex.remove(subTaskId);
                 historyManager.remove(subTaskId);
+                publishRemoval(TaskTypes.SUBTASK, subTaskId);
             }
             epicTasks.remove(id);
+            statusIndex.remove(id);
+            textIndex.remove(id);
+            epicAggregates.remove(id);
             historyManager.remove(id);
+            markChanged(epicsSnapshot, subTasksSnapshot, prioritizedSnapshot);
+            publishRemoval(TaskTypes.EPIC, id);
         }
     }
 
     @Override
     public void clearEpicTaskLists() {
-        subTasks.forEach((key, value) -> {
-            historyManager.remove(key);
-            prioritizedTasks.remove(value);
+        subTasks.keySet().forEach(id -> {
+            textIndex.remove(id);
+            historyManager.remove(id);
+            prioritizedTasks.remove(id);
+            publishRemoval(TaskTypes.SUBTASK, id);
+        });
+        epicTasks.keySet().forEach(id -> {
+            historyManager.remove(id);
+            textIndex.remove(id);
+            publishRemoval(TaskTypes.EPIC, id);
         });
-        epicTasks.keySet().forEach(historyManager::remove);
         epicTasks.clear();
+        epicAggregates.clear();
         subTasks.clear();
+        statusIndex.clear(TaskTypes.EPIC);
+        statusIndex.clear(TaskTypes.SUBTASK);
+        markChanged(epicsSnapshot, subTasksSnapshot, prioritizedSnapshot);
     }
 
     @Override
@@ -228,6 +318,7 @@ public class InMemoryTaskManager implements TaskManager {
         }
         EpicTask epic = epicTasks.get(id);
         historyManager.add(epic);
+        publishView(epic);
         return epic;
     }
 
@@ -246,7 +337,7 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public List<EpicTask> getAllEpics() {
-        return new ArrayList<>(epicTasks.values());
+        return epicsSnapshot.get();
     }
 
     @Override
@@ -256,7 +347,146 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public List<Task> getPrioritizedTasks() {
-        return new ArrayList<>(prioritizedTasks);
+        return prioritizedSnapshot.get();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return prioritizedTasks.getRange(from, to);
+    }
+
+    @Override
+    public TaskPage getPrioritizedTasksPage(LocalDateTime cursor, int limit) {
+        return prioritizedTasks.getPage(cursor, limit);
+    }
+
+    @Override
+    public boolean applyBatch(List<TaskOperation> operations) {
+        if (!BatchValidator.isApplicable(operations, prioritizedTasks, tasks, subTasks, epicTasks)) {
+            return false;
+        }
+        for (TaskOperation operation : operations) {
+            operation.applyTo(this);
+        }
+        return true;
+    }
+
+    @Override
+    public List<TimeSlot> findFreeSlots(LocalDateTime from, LocalDateTime to, Duration minDuration, int limit) {
+        return prioritizedTasks.findFreeSlots(from, to, minDuration, limit);
+    }
+
+    @Override
+    public Flow.Publisher<TaskEvent> getEvents() {
+        return events.getPublisher();
+    }
+
+    /**
+     * Searches the inverted index of names and descriptions which is updated by every change,
+     * so only tasks containing the rarest word of the query or the prefix are visited.
+     */
+    @Override
+    public List<Task> searchTasks(String query, int limit) {
+        List<Task> result = new ArrayList<>();
+        for (UUID id : textIndex.search(query, limit)) {
+            result.add(findAnyTask(id));
+        }
+        return result;
+    }
+
+    /**
+     * This method returns tasks, subtasks or epics with provided status in the order they were added
+     * without filtering the whole board. The status of an epic is calculated from its subtasks.
+     *
+     * @param type type of returned tasks.
+     * @param status status of returned tasks.
+     * @return List<Task> tasks of the type with provided status.
+     */
+    public List<Task> getTasksByStatus(TaskTypes type, TaskStatus status) {
+        return statusIndex.get(type, status);
+    }
+
+    /**
+     * This method returns tasks and subtasks with provided status, it is a kanban column of the board.
+     *
+     * @param status status of returned tasks.
+     * @return List<Task> tasks followed by subtasks with provided status.
+     */
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        List<Task> result = statusIndex.get(TaskTypes.TASK, status);
+        result.addAll(statusIndex.get(TaskTypes.SUBTASK, status));
+        return result;
+    }
+
+    /**
+     * Returns number of tasks, subtasks or epics with provided status in constant time.
+     *
+     * @param type type of counted tasks.
+     * @param status status of counted tasks.
+     * @return int number of tasks.
+     */
+    public int getTasksCount(TaskTypes type, TaskStatus status) {
+        return statusIndex.count(type, status);
+    }
+
+    /**
+     * Returns number of tasks, subtasks or epics in constant time.
+     *
+     * @param type type of counted tasks.
+     * @return int number of tasks.
+     */
+    public int getTasksCount(TaskTypes type) {
+        switch (type) {
+            case TASK: {
+                return tasks.size();
+            }
+            case SUBTASK: {
+                return subTasks.size();
+            }
+            default: {
+                return epicTasks.size();
+            }
+        }
+    }
+
+    /**
+     * Returns number of changes of tasks, epics and subtasks made by the manager,
+     * a recalculation of an epic is a change of the epic.
+     * Lists returned by getAllTasks, getAllSubTasks, getAllEpics and getPrioritizedTasks are unmodifiable
+     * snapshots which are shared between calls until the corresponding collection changes.
+     *
+     * @return long version of the manager.
+     */
+    public long getVersion() {
+        return changeLog.getVersion();
+    }
+
+    /**
+     * This method returns tasks, epics and subtasks changed after the version, so a client which
+     * keeps a copy of the board reads only the changes instead of the whole board.
+     * The last 4096 changes are retained, a client which is behind them gets a resync marker
+     * and has to read the board again.
+     *
+     * @param version version returned by getVersion or by the previous changes, 0 for all retained changes.
+     * @return TaskChanges changes since the version.
+     */
+    public TaskChanges getChangesSince(long version) {
+        return changeLog.getChangesSince(version, this::findAnyTask);
+    }
+
+    @Override
+    public Task findTask(TaskTypes type, UUID id) {
+        switch (type) {
+            case TASK: {
+                return tasks.get(id);
+            }
+            case SUBTASK: {
+                return subTasks.get(id);
+            }
+            default: {
+                return epicTasks.get(id);
+            }
+        }
     }
 
     public Task getAnyTaskById(UUID id) {
@@ -268,85 +498,148 @@ public class InMemoryTaskManager implements TaskManager {
         } else {
             requiredTask = subTasks.get(id);
         }
-        historyManager.add(requiredTask);
+        if (requiredTask != null) {
+            historyManager.add(requiredTask);
+            publishView(requiredTask);
+        }
         return requiredTask;
     }
 
-    private void recalculateEpicData(EpicTask epic) {
-        recalculateEpicStatus(epic);
-        recalculateEpicTimeData(epic);
+    /**
+     * This method adds tasks, epics and subtasks with assigned ids in one pass.
+     * Epics are added first, so subtasks may precede their epics, and each epic is recalculated once.
+     * Tasks and subtasks intersecting already added ones are skipped as in addTask and addSubTask.
+     *
+     * @param tasksToImport tasks, epics and subtasks to add.
+     * @return int number of skipped tasks and subtasks.
+     */
+    protected int importTasks(Collection<? extends Task> tasksToImport) {
+        for (Task task : tasksToImport) {
+            if (task instanceof EpicTask) {
+                epicTasks.put(task.getId(), (EpicTask) task);
+                textIndex.add(task);
+                publishChange(TaskEventType.ADDED, task);
+            }
+        }
+        int skippedTasksCount = 0;
+        Set<EpicTask> changedEpics = new HashSet<>();
+        for (Task task : tasksToImport) {
+            if (task instanceof EpicTask) {
+                continue;
+            }
+            if (isTaskIntersected(task)) {
+                skippedTasksCount++;
+                continue;
+            }
+            if (task instanceof SubTask) {
+                SubTask subTask = (SubTask) task;
+                EpicTask epic = epicTasks.get(subTask.getEpicId());
+                if (epic == null) {
+                    throw new RuntimeException("There is no epic for this subtask!");
+                }
+                subTasks.put(subTask.getId(), subTask);
+                statusIndex.add(subTask);
+                textIndex.add(subTask);
+                epic.addSubTaskId(subTask.getId());
+                getEpicAggregate(epic.getId()).add(subTask);
+                changedEpics.add(epic);
+            } else {
+                tasks.put(task.getId(), task);
+                statusIndex.add(task);
+                textIndex.add(task);
+            }
+            prioritizedTasks.add(task);
+            publishChange(TaskEventType.ADDED, task);
+        }
+        for (EpicTask epic : changedEpics) {
+            getEpicAggregate(epic.getId()).applyTo(epic);
+            publishChange(TaskEventType.EPIC_CHANGED, epic);
+        }
+        epicTasks.values().forEach(statusIndex::add);
+        markChanged(tasksSnapshot, epicsSnapshot, subTasksSnapshot, prioritizedSnapshot);
+        return skippedTasksCount;
     }
-    private void recalculateEpicStatus(EpicTask epic) {
-        boolean isNew = true;
-        boolean isDone = true;
 
-        List<UUID> subTaskIds = epic.getSubTaskIds();
-
-        if (subTaskIds.isEmpty()) {
-            epic.setTaskStatus(TaskStatus.NEW);
-            return;
+    /**
+     * This method adds tasks with provided ids to the history, missing ids are ignored.
+     *
+     * @param ids ids of viewed tasks from the oldest view to the latest one.
+     */
+    protected void importHistory(List<UUID> ids) {
+        for (UUID id : ids) {
+            Task task = findAnyTask(id);
+            if (task != null) {
+                historyManager.add(task);
+            }
         }
+    }
 
-        for (UUID subTaskId : subTaskIds) {
-            SubTask subTask = subTasks.get(subTaskId);
-            TaskStatus subTaskStatus = subTask.getTaskStatus();
-
-            if (!subTaskStatus.equals(TaskStatus.NEW)) {
-                isNew = false;
-            }
+    /**
+     * This method returns EpicTask by its ID without adding it to the history.
+     *
+     * @param id id of the EpicTask.
+     * @return EpicTask by its id or null if there is no such epic.
+     */
+    protected EpicTask findEpicTask(UUID id) {
+        return epicTasks.get(id);
+    }
 
-            if (!subTaskStatus.equals(TaskStatus.DONE)) {
-                isDone = false;
-            }
+    private Task findAnyTask(UUID id) {
+        Task task = tasks.get(id);
+        if (task == null) {
+            task = epicTasks.get(id);
         }
+        if (task == null) {
+            task = subTasks.get(id);
+        }
+        return task;
+    }
 
-        if (isNew) {
-            epic.setTaskStatus(TaskStatus.NEW);
-        } else if (isDone) {
-            epic.setTaskStatus(TaskStatus.DONE);
-        } else {
-            epic.setTaskStatus(TaskStatus.IN_PROGRESS);
+    private void markChanged(SnapshotCache<?>... changedSnapshots) {
+        long changedVersion = snapshotVersion + 1;
+        for (SnapshotCache<?> snapshot : changedSnapshots) {
+            snapshot.invalidate(changedVersion);
         }
+        snapshotVersion = changedVersion;
     }
 
-    private void recalculateEpicTimeData(EpicTask epic) {
+    private void publishChange(TaskEventType type, Task task) {
+        changeLog.add(type, task.getId());
+        events.publish(type, task);
+    }
 
-        if (epic.getSubTaskIds().isEmpty()) {
-            epic.setStartTime(null);
-            epic.setEndTime(null);
-            epic.setDuration(null);
-            return;
+    private void publishRemoval(TaskTypes type, UUID id) {
+        changeLog.add(TaskEventType.REMOVED, id);
+        events.publishRemoved(type, id);
+    }
+
+    private void publishView(Task task) {
+        if (task != null) {
+            events.publish(TaskEventType.VIEWED, task);
         }
+    }
 
-        List<SubTask> subTasksOfEpic = epic.getSubTaskIds().stream().map(subTasks::get).collect(Collectors.toList());
+    private void addToEpicData(EpicTask epic, SubTask subTask) {
+        EpicAggregate aggregate = getEpicAggregate(epic.getId());
+        aggregate.add(subTask);
+        aggregate.applyTo(epic);
+        statusIndex.add(epic);
+        publishChange(TaskEventType.EPIC_CHANGED, epic);
+    }
+
+    private void removeFromEpicData(EpicTask epic, UUID subTaskId) {
+        EpicAggregate aggregate = getEpicAggregate(epic.getId());
+        aggregate.remove(subTaskId);
+        aggregate.applyTo(epic);
+        statusIndex.add(epic);
+        publishChange(TaskEventType.EPIC_CHANGED, epic);
+    }
 
-        LocalDateTime minStartTime = subTasksOfEpic.stream()
-                .map(SubTask::getStartTime)
-                .min(LocalDateTime::compareTo)
-                .orElseThrow(NoSuchElementException::new);
-        LocalDateTime maxEndTime = subTasksOfEpic.stream()
-                .map(SubTask::getEndTime)
-                .max(LocalDateTime::compareTo)
-                .orElseThrow(NoSuchElementException::new);
-        Duration duration = subTasksOfEpic.stream().map(SubTask::getDuration).reduce(Duration.ZERO, Duration::plus);
-        epic.setStartTime(minStartTime);
-        epic.setEndTime(maxEndTime);
-        epic.setDuration(duration);
+    private EpicAggregate getEpicAggregate(UUID epicId) {
+        return epicAggregates.computeIfAbsent(epicId, id -> new EpicAggregate());
     }
 
     private boolean isTaskIntersected(Task task) {
-        return prioritizedTasks.stream()
-            .anyMatch(prioritizedTask -> {
-                LocalDateTime startTime = prioritizedTask.getStartTime();
-                LocalDateTime endTime = prioritizedTask.getEndTime();
-                return (
-                    task.getStartTime().equals(startTime) ||
-                    task.getEndTime().equals(endTime) ||
-                    (task.getStartTime().isAfter(startTime) && task.getEndTime().isBefore(endTime)) ||
-                    (task.getStartTime().isBefore(startTime) && task.getEndTime().isAfter(endTime)) ||
-                    (task.getStartTime().isBefore(startTime) && task.getEndTime().isAfter(startTime)) ||
-                    (task.getStartTime().isAfter(startTime) && task.getStartTime().isBefore(endTime))
-                );
-            });
+        return prioritizedTasks.isIntersected(task);
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package main.manager.taskManager;
+
+import java.time.Duration;
+
+/**
+ * Statistics of the last FileBackedTaskManager load.
+ */
+public class LoadStatistics {
+    private final int loadedTasksCount;
+    private final int skippedTasksCount;
+    private final int journalRecordsCount;
+    private final int historySize;
+    private final Duration loadTime;
+
+    public LoadStatistics(int loadedTasksCount, int skippedTasksCount, int journalRecordsCount, int historySize,
+                          Duration loadTime) {
+        this.loadedTasksCount = loadedTasksCount;
+        this.skippedTasksCount = skippedTasksCount;
+        this.journalRecordsCount = journalRecordsCount;
+        this.historySize = historySize;
+        this.loadTime = loadTime;
+    }
+
+    /**
+     * Returns number of tasks, epics and subtasks read from the csv file and added to the manager.
+     *
+     * @return int number of loaded records.
+     */
+    public int getLoadedTasksCount() {
+        return loadedTasksCount;
+    }
+
+    /**
+     * Returns number of tasks read from the csv file and skipped because they intersect other tasks.
+     *
+     * @return int number of skipped records.
+     */
+    public int getSkippedTasksCount() {
+        return skippedTasksCount;
+    }
+
+    public int getJournalRecordsCount() {
+        return journalRecordsCount;
+    }
+
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    public Duration getLoadTime() {
+        return loadTime;
+    }
+
+    @Override
+    public String toString() {
+        return "loaded=" + loadedTasksCount + ", skipped=" + skippedTasksCount + ", journal="
+                + journalRecordsCount + ", history=" + historySize + ", time=" + loadTime.toMillis() + "ms";
+    }
+}
@@ -0,0 +1,145 @@
+package main.manager.taskManager;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reading and writing of text files through memory mapped regions.
+ * Lines are decoded straight from the mapped region, a line crossing the end of a region is read
+ * from the next region which starts at the beginning of that line.
+ * A zero byte ends the file, so zero padding left by MappedJournal after the last record is ignored.
+ */
+class MappedFiles {
+    static final int REGION_SIZE = 1 << 30;
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    private MappedFiles() {
+    }
+
+    /**
+     * This method reads all lines of the file like BufferedReader.readLine does.
+     *
+     * @param path file to read.
+     * @return List<String> lines of the file without line terminators.
+     * @throws IOException if the file cannot be read or contains a line longer than a region.
+     */
+    static List<String> readLines(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long regionStart = 0;
+            byte[] lineBytes = new byte[256];
+            while (regionStart < size) {
+                int regionSize = (int) Math.min(size - regionStart, REGION_SIZE);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionSize);
+                int lineStart = 0;
+                for (int position = 0; position < regionSize; position++) {
+                    byte value = region.get(position);
+                    if (value != '\n' && value != 0) {
+                        continue;
+                    }
+                    if (value == 0 && position == lineStart) {
+                        return lines;
+                    }
+                    lineBytes = ensureCapacity(lineBytes, position - lineStart);
+                    lines.add(decodeLine(region, lineStart, position, lineBytes));
+                    if (value == 0) {
+                        return lines;
+                    }
+                    lineStart = position + 1;
+                }
+                if (regionStart + regionSize == size) {
+                    if (lineStart < regionSize) {
+                        lineBytes = ensureCapacity(lineBytes, regionSize - lineStart);
+                        lines.add(decodeLine(region, lineStart, regionSize, lineBytes));
+                    }
+                    break;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("Line is longer than " + REGION_SIZE + " bytes");
+                }
+                regionStart += lineStart;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * This method rewrites the file with provided lines, every line ends with the line separator.
+     *
+     * @param path file to write.
+     * @param lines lines to write.
+     * @throws IOException if the file cannot be written.
+     */
+    static void writeLines(Path path, List<String> lines) throws IOException {
+        byte[] separator = System.lineSeparator().getBytes(CHARSET);
+        List<byte[]> encodedLines = new ArrayList<>(lines.size());
+        long size = 0;
+        for (String line : lines) {
+            byte[] encodedLine = line.getBytes(CHARSET);
+            encodedLines.add(encodedLine);
+            size += encodedLine.length + separator.length;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            RegionWriter writer = new RegionWriter(channel, size);
+            for (byte[] encodedLine : encodedLines) {
+                writer.put(encodedLine);
+                writer.put(separator);
+            }
+        }
+    }
+
+    private static byte[] ensureCapacity(byte[] bytes, int length) {
+        return bytes.length >= length ? bytes : new byte[Math.max(length, 2 * bytes.length)];
+    }
+
+    private static String decodeLine(MappedByteBuffer region, int start, int end, byte[] lineBytes) {
+        if (end > start && region.get(end - 1) == '\r') {
+            end--;
+        }
+        region.position(start);
+        region.get(lineBytes, 0, end - start);
+        return new String(lineBytes, 0, end - start, CHARSET);
+    }
+
+    /**
+     * Writes bytes of a file with known size region by region.
+     */
+    private static class RegionWriter {
+        private final FileChannel channel;
+        private final long size;
+        private long regionStart;
+        private MappedByteBuffer region;
+
+        RegionWriter(FileChannel channel, long size) throws IOException {
+            this.channel = channel;
+            this.size = size;
+            mapRegion();
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!region.hasRemaining()) {
+                    regionStart += region.capacity();
+                    mapRegion();
+                }
+                int length = Math.min(region.remaining(), bytes.length - offset);
+                region.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        private void mapRegion() throws IOException {
+            long regionSize = Math.min(size - regionStart, REGION_SIZE);
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionSize);
+        }
+    }
+}
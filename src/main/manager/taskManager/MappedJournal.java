@@ -0,0 +1,149 @@
+package main.manager.taskManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Journal file appended through a memory mapped region.
+ * The region is mapped past the end of the written records, so the file grows by whole regions
+ * and is zero padded after the last record until it is closed. Readers stop at the padding,
+ * see {@link MappedFiles#readLines}. A partially written last record is dropped when the journal is opened.
+ * The journal is not thread-safe.
+ */
+class MappedJournal {
+    private static final int REGION_SIZE = 1 << 22;
+    private static final Charset CHARSET = Charset.defaultCharset();
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(CHARSET);
+
+    private final File file;
+    private final List<MappedByteBuffer> filledRegions = new ArrayList<>();
+    private MappedByteBuffer region;
+    private long length = -1;
+
+    MappedJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * This method appends records to the journal, every record ends with the line separator.
+     *
+     * @param records records to append.
+     * @throws IOException if the journal cannot be mapped.
+     */
+    void append(List<String> records) throws IOException {
+        if (length < 0) {
+            open();
+        }
+        for (String record : records) {
+            put(record.getBytes(CHARSET));
+            put(LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Forces written records to the storage device.
+     */
+    void force() {
+        filledRegions.forEach(MappedByteBuffer::force);
+        filledRegions.clear();
+        if (region != null) {
+            region.force();
+        }
+    }
+
+    /**
+     * This method removes all records from the journal.
+     *
+     * @throws IOException if the journal cannot be mapped.
+     */
+    void clear() throws IOException {
+        if (length < 0) {
+            open();
+        }
+        // old records are overwritten with zeros instead of truncating the file,
+        // so the file never shrinks under regions which are still mapped
+        for (long position = 0; position < length; position += REGION_SIZE) {
+            MappedByteBuffer cleared = map(position, Math.min(REGION_SIZE, length - position));
+            while (cleared.hasRemaining()) {
+                cleared.put((byte) 0);
+            }
+            filledRegions.add(cleared);
+        }
+        length = 0;
+        region = map(0, REGION_SIZE);
+    }
+
+    /**
+     * This method forces written records and cuts off the zero padding after the last record.
+     * Regions mapped before are not accessed after that.
+     *
+     * @throws IOException if the journal cannot be truncated.
+     */
+    void close() throws IOException {
+        if (length < 0) {
+            return;
+        }
+        force();
+        region = null;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+        length = -1;
+    }
+
+    private void open() throws IOException {
+        long size = file.exists() ? file.length() : 0;
+        long dataEnd = size;
+        long recordsEnd = 0;
+        // skip zero padding and a partially written last record
+        for (long position = size; position > 0; ) {
+            long start = Math.max(0, position - REGION_SIZE);
+            MappedByteBuffer tail = map(start, position - start);
+            int index = tail.capacity() - 1;
+            if (dataEnd == position) {
+                while (index >= 0 && tail.get(index) == 0) {
+                    index--;
+                }
+                dataEnd = start + index + 1;
+            }
+            while (index >= 0 && tail.get(index) != '\n') {
+                index--;
+            }
+            if (index >= 0) {
+                recordsEnd = start + index + 1;
+                break;
+            }
+            position = start;
+        }
+        if (dataEnd > recordsEnd) {
+            MappedByteBuffer tornRecord = map(recordsEnd, dataEnd - recordsEnd);
+            while (tornRecord.hasRemaining()) {
+                tornRecord.put((byte) 0);
+            }
+        }
+        length = recordsEnd;
+        region = map(length, REGION_SIZE);
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        if (region.remaining() < bytes.length) {
+            filledRegions.add(region);
+            region = map(length, Math.max(REGION_SIZE, bytes.length));
+        }
+        region.put(bytes);
+        length += bytes.length;
+    }
+
+    private MappedByteBuffer map(long start, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package main.manager.taskManager;
+
+/**
+ * Modes of persisting changes of FileBackedTaskManager.
+ */
+public enum PersistenceMode {
+    /**
+     * Every change rewrites the whole csv file.
+     */
+    SNAPSHOT,
+    /**
+     * Every change is appended as one record to the journal file next to the csv file,
+     * csv file is rewritten only when the journal is compacted.
+     */
+    JOURNAL
+}
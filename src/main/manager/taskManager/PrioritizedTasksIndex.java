@@ -0,0 +1,260 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * PrioritizedTasksIndex keeps scheduled tasks ordered by their start time.
+ * Scheduled tasks never intersect each other, so an intersection check only has to look
+ * at the closest neighbours of the checked task instead of the whole schedule.
+ * Tasks without start time are kept after the scheduled ones in insertion order.
+ * Two scheduled tasks never start at the same time, a task without duration is a point at its start time.
+ * The index is not thread-safe, an index created by {@link #concurrent()} may be read concurrently
+ * with one writer.
+ */
+public class PrioritizedTasksIndex implements TaskSchedule {
+    private final NavigableMap<LocalDateTime, Task> tasksByStartTime;
+    private final Map<UUID, LocalDateTime> startTimesById;
+    private final Map<UUID, Task> unscheduledTasks;
+
+    public PrioritizedTasksIndex() {
+        this(new TreeMap<>(), new HashMap<>(), new LinkedHashMap<>());
+    }
+
+    private PrioritizedTasksIndex(NavigableMap<LocalDateTime, Task> tasksByStartTime,
+                                  Map<UUID, LocalDateTime> startTimesById, Map<UUID, Task> unscheduledTasks) {
+        this.tasksByStartTime = tasksByStartTime;
+        this.startTimesById = startTimesById;
+        this.unscheduledTasks = unscheduledTasks;
+    }
+
+    /**
+     * Returns index backed by concurrent maps, so it can be read without locks while writes
+     * are serialized by the caller. Tasks without start time are returned in no particular order.
+     *
+     * @return PrioritizedTasksIndex index backed by concurrent maps.
+     */
+    public static PrioritizedTasksIndex concurrent() {
+        return new PrioritizedTasksIndex(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>(),
+                new ConcurrentHashMap<>());
+    }
+
+    /**
+     * This method checks if the task intersects any other task of the index.
+     * The task with the same id is ignored, so the check can be used for updates.
+     *
+     * @param task task to check.
+     * @return true if the task intersects at least one other task.
+     */
+    @Override
+    public boolean isIntersected(Task task) {
+        return isIntersected(task, id -> false);
+    }
+
+    /**
+     * This method checks if the task intersects any other task of the index except the ignored ones.
+     * The task with the same id is always ignored.
+     *
+     * @param task task to check.
+     * @param isIgnored checks if the scheduled task with provided id should be skipped.
+     * @return true if the task intersects at least one other task which is not ignored.
+     */
+    public boolean isIntersected(Task task, Predicate<UUID> isIgnored) {
+        LocalDateTime startTime = task.getStartTime();
+        if (startTime == null) {
+            return false;
+        }
+        Map.Entry<LocalDateTime, Task> previous = tasksByStartTime.floorEntry(startTime);
+        while (previous != null && (isSameTask(task, previous.getValue())
+                || isIgnored.test(previous.getValue().getId()))) {
+            previous = tasksByStartTime.lowerEntry(previous.getKey());
+        }
+        Map.Entry<LocalDateTime, Task> next = tasksByStartTime.higherEntry(startTime);
+        while (next != null && (isSameTask(task, next.getValue()) || isIgnored.test(next.getValue().getId()))) {
+            next = tasksByStartTime.higherEntry(next.getKey());
+        }
+        return (previous != null && task.isIntersected(previous.getValue()))
+                || (next != null && task.isIntersected(next.getValue()));
+    }
+
+    /**
+     * This method adds the task to the index replacing previous version of the task with the same id.
+     * The caller is responsible for checking intersections before adding.
+     *
+     * @param task task to add.
+     * @throws IllegalArgumentException if another task of the index starts at the same time.
+     */
+    @Override
+    public void add(Task task) {
+        LocalDateTime startTime = task.getStartTime();
+        Task scheduledTask = startTime == null ? null : tasksByStartTime.get(startTime);
+        if (scheduledTask != null && !isSameTask(task, scheduledTask)) {
+            throw new IllegalArgumentException("Start time " + startTime + " is taken by task "
+                    + scheduledTask.getId());
+        }
+        remove(task.getId());
+        if (startTime == null) {
+            unscheduledTasks.put(task.getId(), task);
+            return;
+        }
+        tasksByStartTime.put(startTime, task);
+        startTimesById.put(task.getId(), startTime);
+    }
+
+    /**
+     * This method returns the task with provided id from the index.
+     *
+     * @param id id of the task.
+     * @return Task task with provided id or null if there is no such task in the index.
+     */
+    @Override
+    public Task get(UUID id) {
+        LocalDateTime startTime = startTimesById.get(id);
+        return startTime != null ? tasksByStartTime.get(startTime) : unscheduledTasks.get(id);
+    }
+
+    /**
+     * This method removes the task with provided id from the index.
+     *
+     * @param id id of the task to remove.
+     */
+    @Override
+    public void remove(UUID id) {
+        if (id == null) {
+            return;
+        }
+        LocalDateTime startTime = startTimesById.remove(id);
+        if (startTime != null) {
+            Task scheduledTask = tasksByStartTime.get(startTime);
+            if (scheduledTask != null && id.equals(scheduledTask.getId())) {
+                tasksByStartTime.remove(startTime);
+            }
+        } else {
+            unscheduledTasks.remove(id);
+        }
+    }
+
+    /**
+     * This method returns free intervals between scheduled tasks inside the window.
+     * Only tasks around the window are visited, so the search takes O(log n + k) for k visited tasks.
+     *
+     * @param from start of the window.
+     * @param to end of the window.
+     * @param minDuration minimal duration of a returned interval.
+     * @param limit maximum number of returned intervals.
+     * @return List<TimeSlot> free intervals ordered by their start.
+     */
+    public List<TimeSlot> findFreeSlots(LocalDateTime from, LocalDateTime to, Duration minDuration, int limit) {
+        FreeSlotSearch search = new FreeSlotSearch(from, to, minDuration, limit);
+        Map.Entry<LocalDateTime, Task> previous = tasksByStartTime.floorEntry(from);
+        boolean isSearching = previous == null || accept(search, previous.getValue());
+        for (Task task : tasksByStartTime.tailMap(from, false).values()) {
+            if (!isSearching) {
+                break;
+            }
+            isSearching = accept(search, task);
+        }
+        return search.getSlots();
+    }
+
+    /**
+     * This method returns scheduled tasks which start inside the window or start before it and end after its start.
+     *
+     * @param from start of the window.
+     * @param to end of the window.
+     * @return List<Task> tasks overlapping the window ordered by startTime.
+     */
+    public List<Task> getRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Window should start before its end");
+        }
+        List<Task> result = new ArrayList<>();
+        Map.Entry<LocalDateTime, Task> previous = tasksByStartTime.floorEntry(from);
+        if (previous != null && (previous.getKey().equals(from) || isEndAfter(previous.getValue(), from))) {
+            result.add(previous.getValue());
+        }
+        result.addAll(tasksByStartTime.subMap(from, false, to, false).values());
+        return result;
+    }
+
+    /**
+     * This method returns the page of scheduled tasks which start after the cursor.
+     *
+     * @param cursor start time of the last task of the previous page or null for the first page.
+     * @param limit maximum number of tasks of the page.
+     * @return TaskPage tasks of the page ordered by startTime.
+     */
+    public TaskPage getPage(LocalDateTime cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit of a page should be positive");
+        }
+        NavigableMap<LocalDateTime, Task> tail = cursor == null
+                ? tasksByStartTime : tasksByStartTime.tailMap(cursor, false);
+        List<Task> tasks = new ArrayList<>(Math.min(limit, 1024));
+        Iterator<Task> iterator = tail.values().iterator();
+        while (tasks.size() < limit && iterator.hasNext()) {
+            tasks.add(iterator.next());
+        }
+        LocalDateTime nextCursor = iterator.hasNext() ? tasks.get(tasks.size() - 1).getStartTime() : null;
+        return new TaskPage(tasks, nextCursor);
+    }
+
+    /**
+     * Clears the index.
+     */
+    public void clear() {
+        tasksByStartTime.clear();
+        startTimesById.clear();
+        unscheduledTasks.clear();
+    }
+
+    /**
+     * Returns number of tasks in the index.
+     *
+     * @return int number of tasks.
+     */
+    public int size() {
+        return tasksByStartTime.size() + unscheduledTasks.size();
+    }
+
+    /**
+     * Returns list of tasks ordered by startTime, tasks without startTime are at the end.
+     *
+     * @return List<Task> list of tasks ordered by startTime.
+     */
+    public List<Task> toList() {
+        List<Task> result = new ArrayList<>();
+        result.addAll(tasksByStartTime.values());
+        result.addAll(unscheduledTasks.values());
+        return result;
+    }
+
+    private static boolean accept(FreeSlotSearch search, Task task) {
+        LocalDateTime endTime = task.getEndTime();
+        return search.accept(task.getStartTime(), endTime == null ? task.getStartTime() : endTime);
+    }
+
+    private static boolean isEndAfter(Task task, LocalDateTime time) {
+        LocalDateTime endTime = task.getEndTime();
+        return endTime != null && endTime.isAfter(time);
+    }
+
+    private static boolean isSameTask(Task task, Task scheduledTask) {
+        return task.getId() != null && Objects.equals(task.getId(), scheduledTask.getId());
+    }
+}
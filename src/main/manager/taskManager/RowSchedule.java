@@ -0,0 +1,311 @@
+package main.manager.taskManager;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+import static main.manager.taskManager.ColumnarTaskStore.NO_ROW;
+
+/**
+ * Schedule of rows of ColumnarTaskStore ordered by their start time.
+ * Scheduled rows are nodes of a treap kept in primitive arrays of child rows and priorities,
+ * so the schedule does not allocate per task. Start times of scheduled rows are unique,
+ * because scheduled tasks never intersect each other.
+ * Rows without start time are linked through the same child arrays into a list in insertion order
+ * and follow the scheduled rows. The schedule is not thread-safe.
+ */
+class RowSchedule {
+    private final ColumnarTaskStore store;
+    private int[] leftRows = new int[16];
+    private int[] rightRows = new int[16];
+    private int[] priorities = new int[16];
+    private int root = NO_ROW;
+    private int firstUnscheduledRow = NO_ROW;
+    private int lastUnscheduledRow = NO_ROW;
+    private int randomSeed = 0x2545F491;
+    private int[] pathRows = new int[64];
+
+    RowSchedule(ColumnarTaskStore store) {
+        this.store = store;
+    }
+
+    /**
+     * This method adds the row to the schedule using its current start time.
+     *
+     * @param row row to add.
+     */
+    void add(int row) {
+        ensureCapacity(row);
+        leftRows[row] = NO_ROW;
+        rightRows[row] = NO_ROW;
+        if (!store.isScheduled(row)) {
+            leftRows[row] = lastUnscheduledRow;
+            if (lastUnscheduledRow != NO_ROW) {
+                rightRows[lastUnscheduledRow] = row;
+            } else {
+                firstUnscheduledRow = row;
+            }
+            lastUnscheduledRow = row;
+            return;
+        }
+        priorities[row] = nextPriority();
+        root = insert(root, row);
+    }
+
+    /**
+     * This method removes the row from the schedule, it should be called before the start time of the row is changed.
+     *
+     * @param row row to remove.
+     */
+    void remove(int row) {
+        if (store.isScheduled(row)) {
+            root = delete(root, row);
+            return;
+        }
+        int prevRow = leftRows[row];
+        int nextRow = rightRows[row];
+        if (prevRow != NO_ROW) {
+            rightRows[prevRow] = nextRow;
+        } else {
+            firstUnscheduledRow = nextRow;
+        }
+        if (nextRow != NO_ROW) {
+            leftRows[nextRow] = prevRow;
+        } else {
+            lastUnscheduledRow = prevRow;
+        }
+    }
+
+    /**
+     * Clears the schedule.
+     */
+    void clear() {
+        root = NO_ROW;
+        firstUnscheduledRow = NO_ROW;
+        lastUnscheduledRow = NO_ROW;
+    }
+
+    /**
+     * This method checks if the interval intersects a scheduled row, the way
+     * {@link main.tasks.Task#isIntersected} does for the closest neighbours of the interval.
+     *
+     * @param startSeconds epoch seconds of the start time.
+     * @param startNanos nanos of the start time.
+     * @param endSeconds epoch seconds of the end time.
+     * @param endNanos nanos of the end time.
+     * @param isIgnored rows which are not taken into account, like the previous version of the checked task.
+     * @return true if the interval intersects at least one row.
+     */
+    boolean isIntersected(long startSeconds, int startNanos, long endSeconds, int endNanos, IntPredicate isIgnored) {
+        int previous = floor(startSeconds, startNanos, true);
+        while (previous != NO_ROW && isIgnored.test(previous)) {
+            previous = floor(store.getStartSeconds(previous), store.getStartNanos(previous), false);
+        }
+        int next = ceiling(startSeconds, startNanos, false);
+        while (next != NO_ROW && isIgnored.test(next)) {
+            next = ceiling(store.getStartSeconds(next), store.getStartNanos(next), false);
+        }
+        return (previous != NO_ROW && isIntersected(startSeconds, startNanos, endSeconds, endNanos, previous))
+                || (next != NO_ROW && isIntersected(startSeconds, startNanos, endSeconds, endNanos, next));
+    }
+
+    /**
+     * This method passes scheduled rows ordered by start time and then unscheduled rows to the action.
+     *
+     * @param action action called for every row.
+     */
+    void forEach(IntConsumer action) {
+        int depth = 0;
+        int row = root;
+        while (row != NO_ROW || depth > 0) {
+            while (row != NO_ROW) {
+                pathRows = depth == pathRows.length ? Arrays.copyOf(pathRows, 2 * depth) : pathRows;
+                pathRows[depth++] = row;
+                row = leftRows[row];
+            }
+            row = pathRows[--depth];
+            action.accept(row);
+            row = rightRows[row];
+        }
+        for (row = firstUnscheduledRow; row != NO_ROW; row = rightRows[row]) {
+            action.accept(row);
+        }
+    }
+
+    /**
+     * This method passes scheduled rows which start after the given time to the action in the order
+     * of their start time until the action returns false. It takes O(log n + k) for k passed rows.
+     *
+     * @param seconds epoch seconds of the time.
+     * @param nanos nanos of the time.
+     * @param action action called for every row, returns false to stop.
+     */
+    void forEachAfter(long seconds, int nanos, IntPredicate action) {
+        int depth = 0;
+        int row = root;
+        while (row != NO_ROW) {
+            if (compareStart(row, seconds, nanos) > 0) {
+                pathRows = depth == pathRows.length ? Arrays.copyOf(pathRows, 2 * depth) : pathRows;
+                pathRows[depth++] = row;
+                row = leftRows[row];
+            } else {
+                row = rightRows[row];
+            }
+        }
+        while (depth > 0) {
+            row = pathRows[--depth];
+            if (!action.test(row)) {
+                return;
+            }
+            for (row = rightRows[row]; row != NO_ROW; row = leftRows[row]) {
+                pathRows = depth == pathRows.length ? Arrays.copyOf(pathRows, 2 * depth) : pathRows;
+                pathRows[depth++] = row;
+            }
+        }
+    }
+
+    /**
+     * Returns the scheduled row with the greatest start time before the given one.
+     *
+     * @param seconds epoch seconds of the start time.
+     * @param nanos nanos of the start time.
+     * @param isInclusive true if the row with the given start time is returned too.
+     * @return int row or NO_ROW if there is no such row.
+     */
+    int floor(long seconds, int nanos, boolean isInclusive) {
+        int result = NO_ROW;
+        int row = root;
+        while (row != NO_ROW) {
+            int comparison = compareStart(row, seconds, nanos);
+            if (comparison < 0 || (isInclusive && comparison == 0)) {
+                result = row;
+                row = rightRows[row];
+            } else {
+                row = leftRows[row];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the scheduled row with the least start time after the given one.
+     *
+     * @param seconds epoch seconds of the start time.
+     * @param nanos nanos of the start time.
+     * @param isInclusive true if the row with the given start time is returned too.
+     * @return int row or NO_ROW if there is no such row.
+     */
+    int ceiling(long seconds, int nanos, boolean isInclusive) {
+        int result = NO_ROW;
+        int row = root;
+        while (row != NO_ROW) {
+            int comparison = compareStart(row, seconds, nanos);
+            if (comparison > 0 || (isInclusive && comparison == 0)) {
+                result = row;
+                row = leftRows[row];
+            } else {
+                row = rightRows[row];
+            }
+        }
+        return result;
+    }
+
+    private boolean isIntersected(long startSeconds, int startNanos, long endSeconds, int endNanos, int row) {
+        int startComparison = compareStart(row, startSeconds, startNanos);
+        long rowEndSeconds = store.getEndSeconds(row);
+        int rowEndNanos = store.getEndNanos(row);
+        if (startComparison == 0
+                || ColumnarTaskStore.compare(rowEndSeconds, rowEndNanos, endSeconds, endNanos) == 0) {
+            return true;
+        }
+        // durations are not negative, so the other conditions of Task.isIntersected reduce to an overlap
+        if (startComparison > 0) {
+            return ColumnarTaskStore.compare(endSeconds, endNanos, store.getStartSeconds(row),
+                    store.getStartNanos(row)) > 0;
+        }
+        return ColumnarTaskStore.compare(startSeconds, startNanos, rowEndSeconds, rowEndNanos) < 0;
+    }
+
+    private int insert(int subtreeRoot, int row) {
+        if (subtreeRoot == NO_ROW) {
+            return row;
+        }
+        if (compareStart(row, store.getStartSeconds(subtreeRoot), store.getStartNanos(subtreeRoot)) < 0) {
+            leftRows[subtreeRoot] = insert(leftRows[subtreeRoot], row);
+            if (priorities[leftRows[subtreeRoot]] > priorities[subtreeRoot]) {
+                return rotateRight(subtreeRoot);
+            }
+        } else {
+            rightRows[subtreeRoot] = insert(rightRows[subtreeRoot], row);
+            if (priorities[rightRows[subtreeRoot]] > priorities[subtreeRoot]) {
+                return rotateLeft(subtreeRoot);
+            }
+        }
+        return subtreeRoot;
+    }
+
+    private int delete(int subtreeRoot, int row) {
+        if (subtreeRoot == NO_ROW) {
+            return NO_ROW;
+        }
+        if (subtreeRoot == row) {
+            return merge(leftRows[row], rightRows[row]);
+        }
+        if (compareStart(row, store.getStartSeconds(subtreeRoot), store.getStartNanos(subtreeRoot)) < 0) {
+            leftRows[subtreeRoot] = delete(leftRows[subtreeRoot], row);
+        } else {
+            rightRows[subtreeRoot] = delete(rightRows[subtreeRoot], row);
+        }
+        return subtreeRoot;
+    }
+
+    private int merge(int left, int right) {
+        if (left == NO_ROW) {
+            return right;
+        }
+        if (right == NO_ROW) {
+            return left;
+        }
+        if (priorities[left] > priorities[right]) {
+            rightRows[left] = merge(rightRows[left], right);
+            return left;
+        }
+        leftRows[right] = merge(left, leftRows[right]);
+        return right;
+    }
+
+    private int rotateRight(int row) {
+        int left = leftRows[row];
+        leftRows[row] = rightRows[left];
+        rightRows[left] = row;
+        return left;
+    }
+
+    private int rotateLeft(int row) {
+        int right = rightRows[row];
+        rightRows[row] = leftRows[right];
+        leftRows[right] = row;
+        return right;
+    }
+
+    private int compareStart(int row, long seconds, int nanos) {
+        return ColumnarTaskStore.compare(store.getStartSeconds(row), store.getStartNanos(row), seconds, nanos);
+    }
+
+    private int nextPriority() {
+        randomSeed ^= randomSeed << 13;
+        randomSeed ^= randomSeed >>> 17;
+        randomSeed ^= randomSeed << 5;
+        return randomSeed;
+    }
+
+    private void ensureCapacity(int row) {
+        if (row < leftRows.length) {
+            return;
+        }
+        int capacity = Math.max(row + 1, 2 * leftRows.length);
+        leftRows = Arrays.copyOf(leftRows, capacity);
+        rightRows = Arrays.copyOf(rightRows, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+    }
+}
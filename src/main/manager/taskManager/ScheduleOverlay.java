@@ -0,0 +1,51 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * ScheduleOverlay is a scratch schedule on top of a shared index which is only read.
+ * Added and removed tasks are kept by the overlay itself and hide their stored versions,
+ * so changes checked by {@link BatchValidator} are never visible to readers of the shared index.
+ */
+class ScheduleOverlay implements TaskSchedule {
+    private final PrioritizedTasksIndex storedTasks;
+    private final PrioritizedTasksIndex changedTasks = new PrioritizedTasksIndex();
+    private final Set<UUID> hiddenIds = new HashSet<>();
+
+    /**
+     * @param storedTasks shared index of stored tasks, it is not changed by the overlay.
+     */
+    ScheduleOverlay(PrioritizedTasksIndex storedTasks) {
+        this.storedTasks = storedTasks;
+    }
+
+    @Override
+    public boolean isIntersected(Task task) {
+        return changedTasks.isIntersected(task) || storedTasks.isIntersected(task, hiddenIds::contains);
+    }
+
+    @Override
+    public Task get(UUID id) {
+        Task task = changedTasks.get(id);
+        if (task != null || hiddenIds.contains(id)) {
+            return task;
+        }
+        return storedTasks.get(id);
+    }
+
+    @Override
+    public void add(Task task) {
+        hiddenIds.add(task.getId());
+        changedTasks.add(task);
+    }
+
+    @Override
+    public void remove(UUID id) {
+        hiddenIds.add(id);
+        changedTasks.remove(id);
+    }
+}
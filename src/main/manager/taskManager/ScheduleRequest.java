@@ -0,0 +1,55 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+import main.tasks.TaskTypes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Task or subtask which should be placed into the schedule by {@link AutoScheduler}.
+ * The task is placed so that it starts not before the earliest start and ends not after the deadline,
+ * absent bounds do not restrict the placement.
+ */
+public class ScheduleRequest {
+    private final Task task;
+    private final LocalDateTime earliestStart;
+    private final LocalDateTime deadline;
+
+    public ScheduleRequest(Task task) {
+        this(task, null, null);
+    }
+
+    /**
+     * @param task task or subtask with positive duration, its start time is set when it is placed.
+     * @param earliestStart earliest start time or null.
+     * @param deadline latest end time or null.
+     */
+    public ScheduleRequest(Task task, LocalDateTime earliestStart, LocalDateTime deadline) {
+        if (task.getType() == TaskTypes.EPIC) {
+            throw new IllegalArgumentException("Epic is scheduled by its subtasks");
+        }
+        Duration duration = task.getDuration();
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration of a scheduled task should be positive");
+        }
+        if (earliestStart != null && deadline != null && earliestStart.plus(duration).isAfter(deadline)) {
+            throw new IllegalArgumentException("Task does not fit between its earliest start and deadline");
+        }
+        this.task = task;
+        this.earliestStart = earliestStart;
+        this.deadline = deadline;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public LocalDateTime getEarliestStart() {
+        return earliestStart;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+}
@@ -0,0 +1,47 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+
+import java.util.List;
+
+/**
+ * Result of {@link AutoScheduler#schedule}.
+ */
+public class ScheduleResult {
+    private final List<Task> scheduledTasks;
+    private final List<ScheduleRequest> unscheduledRequests;
+    private final boolean isApplied;
+
+    ScheduleResult(List<Task> scheduledTasks, List<ScheduleRequest> unscheduledRequests, boolean isApplied) {
+        this.scheduledTasks = scheduledTasks;
+        this.unscheduledRequests = unscheduledRequests;
+        this.isApplied = isApplied;
+    }
+
+    /**
+     * Returns tasks with assigned start times, they are added to the manager if the result is applied.
+     *
+     * @return List<Task> placed tasks.
+     */
+    public List<Task> getScheduledTasks() {
+        return scheduledTasks;
+    }
+
+    /**
+     * Returns requests which do not fit into free slots of the schedule.
+     *
+     * @return List<ScheduleRequest> requests which are not placed.
+     */
+    public List<ScheduleRequest> getUnscheduledRequests() {
+        return unscheduledRequests;
+    }
+
+    /**
+     * Returns false if the schedule kept changing concurrently and placed tasks were not added.
+     *
+     * @return true if placed tasks are added to the manager.
+     */
+    public boolean isApplied() {
+        return isApplied;
+    }
+}
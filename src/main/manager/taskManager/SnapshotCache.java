@@ -0,0 +1,60 @@
+package main.manager.taskManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * SnapshotCache keeps an unmodifiable copy of a collection which is rebuilt only after the collection changes.
+ * Every snapshot remembers the version of the last change it was built after, so a snapshot built by
+ * a reader concurrently with a change is replaced on the next call instead of being served forever.
+ *
+ * @param <T> type of elements of the snapshot.
+ */
+class SnapshotCache<T> {
+    private final Supplier<List<T>> source;
+    private volatile long version;
+    private volatile Snapshot<T> snapshot;
+
+    /**
+     * @param source supplier of a fresh copy of the collection.
+     */
+    SnapshotCache(Supplier<List<T>> source) {
+        this.source = source;
+    }
+
+    /**
+     * This method marks the snapshot as stale.
+     *
+     * @param version version of the change of the collection.
+     */
+    void invalidate(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns snapshot of the collection, it is rebuilt if the collection changed after the previous call.
+     *
+     * @return List<T> unmodifiable snapshot of the collection.
+     */
+    List<T> get() {
+        long currentVersion = version;
+        Snapshot<T> currentSnapshot = snapshot;
+        if (currentSnapshot != null && currentSnapshot.version == currentVersion) {
+            return currentSnapshot.elements;
+        }
+        List<T> elements = Collections.unmodifiableList(source.get());
+        snapshot = new Snapshot<>(currentVersion, elements);
+        return elements;
+    }
+
+    private static class Snapshot<T> {
+        private final long version;
+        private final List<T> elements;
+
+        Snapshot(long version, List<T> elements) {
+            this.version = version;
+            this.elements = elements;
+        }
+    }
+}
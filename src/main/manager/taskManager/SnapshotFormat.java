@@ -0,0 +1,15 @@
+package main.manager.taskManager;
+
+/**
+ * Formats of the file with tasks of FileBackedTaskManager.
+ */
+public enum SnapshotFormat {
+    /**
+     * Human readable csv file.
+     */
+    CSV,
+    /**
+     * Compact binary file, see BinarySnapshotCodec.
+     */
+    BINARY
+}
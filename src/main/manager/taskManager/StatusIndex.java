@@ -0,0 +1,99 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * StatusIndex keeps tasks grouped by their type and status in insertion order,
+ * so a kanban column is read without filtering the whole board and counted in constant time.
+ * The index remembers the group of every task, so the status of a task may be changed in place
+ * before it is added again. The index is not thread-safe.
+ */
+class StatusIndex {
+    private final Map<TaskTypes, Map<TaskStatus, Map<UUID, Task>>> groups = new EnumMap<>(TaskTypes.class);
+    private final Map<UUID, Map<UUID, Task>> groupsById = new HashMap<>();
+
+    StatusIndex() {
+        for (TaskTypes type : TaskTypes.values()) {
+            Map<TaskStatus, Map<UUID, Task>> statusGroups = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                statusGroups.put(status, new LinkedHashMap<>());
+            }
+            groups.put(type, statusGroups);
+        }
+    }
+
+    /**
+     * This method adds the task to the group of its current type and status,
+     * the task is removed from its previous group if the status changed. Tasks without status are not indexed.
+     *
+     * @param task task to add.
+     */
+    void add(Task task) {
+        if (task.getTaskStatus() == null) {
+            remove(task.getId());
+            return;
+        }
+        Map<UUID, Task> group = groups.get(task.getType()).get(task.getTaskStatus());
+        Map<UUID, Task> previousGroup = groupsById.put(task.getId(), group);
+        if (previousGroup != null && previousGroup != group) {
+            previousGroup.remove(task.getId());
+        }
+        group.put(task.getId(), task);
+    }
+
+    /**
+     * This method removes the task with provided id from the index.
+     *
+     * @param id id of the task to remove.
+     */
+    void remove(UUID id) {
+        Map<UUID, Task> group = groupsById.remove(id);
+        if (group != null) {
+            group.remove(id);
+        }
+    }
+
+    /**
+     * This method removes all tasks of the type from the index.
+     *
+     * @param type type of removed tasks.
+     */
+    void clear(TaskTypes type) {
+        for (Map<UUID, Task> group : groups.get(type).values()) {
+            group.keySet().forEach(groupsById::remove);
+            group.clear();
+        }
+    }
+
+    /**
+     * Returns tasks of the type with provided status in the order they were added.
+     *
+     * @param type type of tasks.
+     * @param status status of tasks.
+     * @return List<Task> tasks of the group.
+     */
+    List<Task> get(TaskTypes type, TaskStatus status) {
+        return new ArrayList<>(groups.get(type).get(status).values());
+    }
+
+    /**
+     * Returns number of tasks of the type with provided status.
+     *
+     * @param type type of tasks.
+     * @param status status of tasks.
+     * @return int number of tasks.
+     */
+    int count(TaskTypes type, TaskStatus status) {
+        return groups.get(type).get(status).size();
+    }
+}
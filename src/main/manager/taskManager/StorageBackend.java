@@ -0,0 +1,17 @@
+package main.manager.taskManager;
+
+/**
+ * Ways FileBackedTaskManager reads and writes its journal and snapshot files.
+ */
+public enum StorageBackend {
+    /**
+     * Files are read line by line with buffered readers and written with file writers.
+     */
+    STREAMS,
+    /**
+     * Journal and snapshot are read and written through memory mapped regions of the files,
+     * so records are decoded straight from the page cache shared with other processes reading
+     * the same board. Appended journal records are in the page cache as soon as they are written.
+     */
+    MEMORY_MAPPED
+}
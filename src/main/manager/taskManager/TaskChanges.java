@@ -0,0 +1,88 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Changes of the board returned by {@link InMemoryTaskManager#getChangesSince(long)}.
+ * A task changed several times is returned once with its current state. If the changes
+ * are not retained anymore, the changes only tell that the board should be read again.
+ */
+public class TaskChanges {
+    private final long version;
+    private final boolean resyncRequired;
+    private final List<Task> addedTasks;
+    private final List<Task> updatedTasks;
+    private final List<UUID> removedIds;
+
+    TaskChanges(long version, List<Task> addedTasks, List<Task> updatedTasks, List<UUID> removedIds) {
+        this(version, false, addedTasks, updatedTasks, removedIds);
+    }
+
+    private TaskChanges(long version, boolean resyncRequired, List<Task> addedTasks, List<Task> updatedTasks,
+                        List<UUID> removedIds) {
+        this.version = version;
+        this.resyncRequired = resyncRequired;
+        this.addedTasks = addedTasks;
+        this.updatedTasks = updatedTasks;
+        this.removedIds = removedIds;
+    }
+
+    /**
+     * Creates changes which tell that the board should be read again.
+     *
+     * @param version current version of the board.
+     * @return TaskChanges changes without tasks.
+     */
+    static TaskChanges resync(long version) {
+        return new TaskChanges(version, true, List.of(), List.of(), List.of());
+    }
+
+    /**
+     * Returns version of the board these changes lead to, it is passed to the next request of changes.
+     *
+     * @return long version of the board.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns true if the requested changes are not retained, so the board should be read again
+     * and changes should be requested since the version of these changes.
+     *
+     * @return true if the board should be read again.
+     */
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+
+    /**
+     * Returns tasks, epics and subtasks added after the requested version.
+     *
+     * @return List<Task> added tasks in their current state.
+     */
+    public List<Task> getAddedTasks() {
+        return addedTasks;
+    }
+
+    /**
+     * Returns tasks, epics and subtasks which existed at the requested version and were changed after it.
+     *
+     * @return List<Task> updated tasks in their current state.
+     */
+    public List<Task> getUpdatedTasks() {
+        return updatedTasks;
+    }
+
+    /**
+     * Returns ids of tasks, epics and subtasks which existed at the requested version and were removed after it.
+     *
+     * @return List<UUID> ids of removed tasks.
+     */
+    public List<UUID> getRemovedIds() {
+        return removedIds;
+    }
+}
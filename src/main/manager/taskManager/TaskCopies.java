@@ -0,0 +1,53 @@
+package main.manager.taskManager;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+
+/**
+ * TaskCopies creates copies of tasks, so a manager can hand out or replace tasks
+ * without sharing objects it changes later.
+ */
+class TaskCopies {
+
+    private TaskCopies() {
+    }
+
+    /**
+     * This method copies the task, subtask or epic with all its fields.
+     *
+     * @param task task to copy.
+     * @return Task copy of the same type.
+     */
+    static Task copyOf(Task task) {
+        switch (task.getType()) {
+            case EPIC: {
+                return copyOf((EpicTask) task);
+            }
+            case SUBTASK: {
+                SubTask subTask = (SubTask) task;
+                return new SubTask(subTask.getId(), subTask.getName(), subTask.getDescription(),
+                        subTask.getTaskStatus(), subTask.getEpicId(), subTask.getStartTime(), subTask.getDuration());
+            }
+            default: {
+                return new Task(task.getId(), task.getName(), task.getDescription(), task.getTaskStatus(),
+                        task.getStartTime(), task.getDuration());
+            }
+        }
+    }
+
+    /**
+     * This method copies the epic with its subtask ids and calculated status and time data.
+     *
+     * @param epic epic to copy.
+     * @return EpicTask copy of the epic.
+     */
+    static EpicTask copyOf(EpicTask epic) {
+        EpicTask copy = new EpicTask(epic.getId(), epic.getName(), epic.getDescription(), epic.getTaskStatus(),
+                epic.getSubTaskIds());
+        copy.setStartTime(epic.getStartTime());
+        copy.setDuration(epic.getDuration());
+        copy.setEndTime(epic.getEndTime());
+        return copy;
+    }
+}
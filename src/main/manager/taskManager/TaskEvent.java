@@ -0,0 +1,57 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+import main.tasks.TaskTypes;
+
+import java.util.UUID;
+
+/**
+ * Change of the board published by {@link TaskManager#getEvents()}.
+ * Events of a manager are numbered in the order they are published, so a subscriber which sees
+ * a gap in sequence numbers knows that events were dropped because its buffer was full.
+ */
+public class TaskEvent {
+    private final long sequence;
+    private final TaskEventType type;
+    private final TaskTypes taskType;
+    private final UUID id;
+    private final Task task;
+
+    TaskEvent(long sequence, TaskEventType type, TaskTypes taskType, UUID id, Task task) {
+        this.sequence = sequence;
+        this.type = type;
+        this.taskType = taskType;
+        this.id = id;
+        this.task = task;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public TaskEventType getType() {
+        return type;
+    }
+
+    public TaskTypes getTaskType() {
+        return taskType;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Returns the copy of the task made when the event was published.
+     *
+     * @return Task changed task or null for removed one.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    @Override
+    public String toString() {
+        return sequence + "," + type + "," + taskType + "," + id;
+    }
+}
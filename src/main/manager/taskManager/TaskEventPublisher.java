@@ -0,0 +1,105 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+import main.tasks.TaskTypes;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * TaskEventPublisher numbers changes of a manager and passes them to subscribers through
+ * a SubmissionPublisher. Every subscriber has its own bounded buffer and receives events
+ * only as it requests them. Writers never wait for slow subscribers: an event which does not fit
+ * into the full buffer of a subscriber is dropped for that subscriber only, and the gap
+ * in sequence numbers tells the subscriber to read the board again.
+ * Without subscribers a change only increments the sequence number, no task is copied and no lock is taken.
+ * With subscribers events are numbered and offered under one lock, so every subscriber receives them in order.
+ * Subscribers receive copies of tasks, so later changes of the manager never show up in delivered events.
+ */
+class TaskEventPublisher {
+    private final SubmissionPublisher<TaskEvent> publisher;
+    private final AtomicLong sequence = new AtomicLong();
+
+    TaskEventPublisher() {
+        this(ForkJoinPool.getCommonPoolParallelism() > 1
+                ? ForkJoinPool.commonPool() : runnable -> new Thread(runnable).start(), Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param executor executor delivering events to subscribers.
+     * @param bufferCapacity maximum number of events buffered for one subscriber.
+     */
+    TaskEventPublisher(Executor executor, int bufferCapacity) {
+        publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+    }
+
+    /**
+     * Returns publisher of events which can only be subscribed to.
+     *
+     * @return Flow.Publisher<TaskEvent> publisher of events.
+     */
+    Flow.Publisher<TaskEvent> getPublisher() {
+        return publisher::subscribe;
+    }
+
+    /**
+     * This method publishes the change of the task.
+     *
+     * @param type type of the change.
+     * @param task changed task, it is copied only if there are subscribers.
+     */
+    void publish(TaskEventType type, Task task) {
+        publish(type, task.getType(), task.getId(), () -> TaskCopies.copyOf(task));
+    }
+
+    /**
+     * This method publishes the change of the task which is created only if there are subscribers,
+     * so a manager storing tasks in another form does not build them for nobody.
+     *
+     * @param type type of the change.
+     * @param taskType type of the changed task.
+     * @param id id of the changed task.
+     * @param task supplier of the changed task, it should return a task which is not changed later.
+     */
+    void publish(TaskEventType type, TaskTypes taskType, UUID id, Supplier<Task> task) {
+        if (!publisher.hasSubscribers()) {
+            sequence.incrementAndGet();
+            return;
+        }
+        synchronized (publisher) {
+            publisher.offer(new TaskEvent(sequence.incrementAndGet(), type, taskType, id, task.get()),
+                    (subscriber, event) -> false);
+        }
+    }
+
+    /**
+     * This method publishes removal of the task.
+     *
+     * @param taskType type of the removed task.
+     * @param id id of the removed task.
+     */
+    void publishRemoved(TaskTypes taskType, UUID id) {
+        publish(TaskEventType.REMOVED, taskType, id, () -> null);
+    }
+
+    /**
+     * Returns sequence number of the last published event.
+     *
+     * @return long sequence number.
+     */
+    long getSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Completes subscriptions after buffered events are delivered.
+     */
+    void close() {
+        publisher.close();
+    }
+}
@@ -0,0 +1,27 @@
+package main.manager.taskManager;
+
+/**
+ * Type of a change of the board published by {@link TaskManager#getEvents()}.
+ */
+public enum TaskEventType {
+    /**
+     * Task, epic or subtask is added.
+     */
+    ADDED,
+    /**
+     * Task, epic or subtask is replaced by its new version.
+     */
+    UPDATED,
+    /**
+     * Task, epic or subtask is removed, the event has no task.
+     */
+    REMOVED,
+    /**
+     * Status, start time or duration of the epic is recalculated after a change of its subtasks.
+     */
+    EPIC_CHANGED,
+    /**
+     * Task, epic or subtask is viewed and moved to the end of the history.
+     */
+    VIEWED
+}
@@ -3,9 +3,16 @@ package main.manager.taskManager;
 import main.tasks.EpicTask;
 import main.tasks.SubTask;
 import main.tasks.Task;
+import main.tasks.TaskTypes;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Flow;
 
 /**
  * Interface for Task Manager
@@ -153,6 +160,15 @@ public interface TaskManager {
      */
     List<EpicTask> getAllEpics();
 
+    /**
+     * This method returns the stored task of provided type without adding a view to the history.
+     *
+     * @param type type of the task.
+     * @param id id of the task.
+     * @return Task stored task or null if there is no task of this type with provided id.
+     */
+    Task findTask(TaskTypes type, UUID id);
+
     /**
      * Returns history of 10 last task retrieval operations.
      *
@@ -166,4 +182,98 @@ public interface TaskManager {
      * @return List<Task> list of tasks ordered by startTime.
      */
     List<Task> getPrioritizedTasks();
+
+    /**
+     * This method returns scheduled tasks and subtasks which overlap the window ordered by startTime.
+     * A task overlaps the window if it starts inside the window or starts before it and ends after its start.
+     * Only tasks around the window are visited, so the query takes O(log n + k) for k returned tasks.
+     *
+     * @param from start of the window.
+     * @param to end of the window, tasks starting at it are not returned.
+     * @return List<Task> tasks overlapping the window ordered by startTime.
+     */
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * This method returns the page of scheduled tasks and subtasks which start after the cursor
+     * ordered by startTime. Tasks without startTime are not paged.
+     *
+     * @param cursor cursor returned with the previous page or null for the first page.
+     * @param limit maximum number of tasks of the page.
+     * @return TaskPage tasks of the page and cursor of the next one.
+     */
+    TaskPage getPrioritizedTasksPage(LocalDateTime cursor, int limit);
+
+    /**
+     * This method applies all operations of the batch in their order or none of them.
+     * Every scheduled task of the batch is checked against the current schedule and all previous
+     * operations of the batch, so a batch is rejected as a whole if any task would intersect another one.
+     *
+     * @param operations add, update and remove operations.
+     * @return true if the batch is applied, false if it is rejected because of an intersection.
+     */
+    boolean applyBatch(List<TaskOperation> operations);
+
+    /**
+     * Returns publisher of changes of tasks, epics and subtasks, recalculations of epics and views of tasks.
+     * Every subscriber has a bounded buffer and receives events as it requests them. An event which
+     * does not fit into a full buffer is dropped for that subscriber, so a gap in sequence numbers
+     * of received events means that the subscriber should read the board again.
+     *
+     * @return Flow.Publisher<TaskEvent> publisher of events of the manager.
+     */
+    Flow.Publisher<TaskEvent> getEvents();
+
+    /**
+     * This method searches tasks, epics and subtasks by words of their names and descriptions.
+     * Words are compared in lower case, every word of the query has to be found and the last one
+     * may be a prefix of a word. Tasks with more occurrences of rare words rank higher,
+     * words of the name weigh more than words of the description.
+     * The default implementation indexes the whole board on every call.
+     *
+     * @param query words to search.
+     * @param limit maximum number of returned tasks.
+     * @return List<Task> found tasks, the best match first.
+     */
+    default List<Task> searchTasks(String query, int limit) {
+        TextIndex index = new TextIndex();
+        Map<UUID, Task> tasksById = new HashMap<>();
+        for (List<? extends Task> tasks : List.of(getAllTasks(), getAllEpics(), getAllSubTasks())) {
+            for (Task task : tasks) {
+                index.add(task);
+                tasksById.put(task.getId(), task);
+            }
+        }
+        List<Task> result = new ArrayList<>();
+        for (UUID id : index.search(query, limit)) {
+            result.add(tasksById.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * This method returns free intervals between scheduled tasks and subtasks inside the window
+     * ordered by their start. A task may start right at the end of another one, so an interval
+     * starts at the end of the previous task and ends at the start of the next one.
+     *
+     * @param from start of the window.
+     * @param to end of the window.
+     * @param minDuration minimal duration of a returned interval.
+     * @param limit maximum number of returned intervals.
+     * @return List<TimeSlot> free intervals, the first one may start at from and the last one may end at to.
+     */
+    List<TimeSlot> findFreeSlots(LocalDateTime from, LocalDateTime to, Duration minDuration, int limit);
+
+    /**
+     * This method returns the earliest start time not before the given one at which a task
+     * of provided duration does not intersect scheduled tasks and subtasks.
+     *
+     * @param from earliest start time.
+     * @param duration duration of the task.
+     * @return LocalDateTime start time of the free slot or null if there is no such slot.
+     */
+    default LocalDateTime findFreeSlot(LocalDateTime from, Duration duration) {
+        List<TimeSlot> slots = findFreeSlots(from, LocalDateTime.MAX, duration, 1);
+        return slots.isEmpty() ? null : slots.get(0).getStart();
+    }
 }
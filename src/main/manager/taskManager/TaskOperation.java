@@ -0,0 +1,114 @@
+package main.manager.taskManager;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskTypes;
+
+import java.util.UUID;
+
+/**
+ * One add, update or remove operation of a batch applied by {@link TaskManager#applyBatch}.
+ */
+public class TaskOperation {
+    private final Type type;
+    private final TaskTypes taskType;
+    private final UUID id;
+    private final Task task;
+
+    private TaskOperation(Type type, TaskTypes taskType, UUID id, Task task) {
+        this.type = type;
+        this.taskType = taskType;
+        this.id = id;
+        this.task = task;
+    }
+
+    /**
+     * Returns operation adding Task, SubTask or EpicTask depending on the type of the task.
+     *
+     * @param task task to add.
+     * @return TaskOperation add operation.
+     */
+    public static TaskOperation add(Task task) {
+        return new TaskOperation(Type.ADD, task.getType(), null, task);
+    }
+
+    /**
+     * Returns operation updating Task, SubTask or EpicTask depending on the type of the task.
+     *
+     * @param task task to update.
+     * @return TaskOperation update operation.
+     */
+    public static TaskOperation update(Task task) {
+        return new TaskOperation(Type.UPDATE, task.getType(), task.getId(), task);
+    }
+
+    /**
+     * Returns operation removing task of provided type by its id.
+     *
+     * @param taskType type of the task.
+     * @param id id of the task.
+     * @return TaskOperation remove operation.
+     */
+    public static TaskOperation remove(TaskTypes taskType, UUID id) {
+        return new TaskOperation(Type.REMOVE, taskType, id, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public TaskTypes getTaskType() {
+        return taskType;
+    }
+
+    public UUID getId() {
+        return task == null ? id : task.getId();
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    void applyTo(TaskManager manager) {
+        switch (type) {
+            case ADD: {
+                if (taskType == TaskTypes.SUBTASK) {
+                    manager.addSubTask((SubTask) task);
+                } else if (taskType == TaskTypes.EPIC) {
+                    manager.addEpicTask((EpicTask) task);
+                } else {
+                    manager.addTask(task);
+                }
+                break;
+            }
+            case UPDATE: {
+                if (taskType == TaskTypes.SUBTASK) {
+                    manager.updateSubTask((SubTask) task);
+                } else if (taskType == TaskTypes.EPIC) {
+                    manager.updateEpicTask((EpicTask) task);
+                } else {
+                    manager.updateTask(task);
+                }
+                break;
+            }
+            case REMOVE: {
+                if (taskType == TaskTypes.SUBTASK) {
+                    manager.removeSubTaskById(id);
+                } else if (taskType == TaskTypes.EPIC) {
+                    manager.removeEpicTaskById(id);
+                } else {
+                    manager.removeTaskById(id);
+                }
+                break;
+            }
+            default: {
+                throw new RuntimeException("Incorrect operation type: " + type);
+            }
+        }
+    }
+
+    public enum Type {
+        ADD, UPDATE, REMOVE
+    }
+}
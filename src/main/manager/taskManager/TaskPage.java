@@ -0,0 +1,48 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Page of scheduled tasks returned by {@link TaskManager#getPrioritizedTasksPage}.
+ * Scheduled tasks never share their start time, so the start time of the last task of the page
+ * is the cursor of the next page.
+ */
+public class TaskPage {
+    private final List<Task> tasks;
+    private final LocalDateTime nextCursor;
+
+    TaskPage(List<Task> tasks, LocalDateTime nextCursor) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Returns tasks of the page ordered by startTime.
+     *
+     * @return List<Task> tasks of the page.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns cursor of the next page.
+     *
+     * @return LocalDateTime cursor of the next page or null if this page is the last one.
+     */
+    public LocalDateTime getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Returns true if there are scheduled tasks after this page.
+     *
+     * @return true if there is next page.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,42 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+
+import java.util.UUID;
+
+/**
+ * Schedule of tasks and subtasks which is checked for intersections.
+ */
+interface TaskSchedule {
+
+    /**
+     * This method checks if the task intersects any other task of the schedule.
+     * The task with the same id is ignored, so the check can be used for updates.
+     *
+     * @param task task to check.
+     * @return true if the task intersects at least one other task.
+     */
+    boolean isIntersected(Task task);
+
+    /**
+     * This method returns the task with provided id from the schedule.
+     *
+     * @param id id of the task.
+     * @return Task task with provided id or null if there is no such task in the schedule.
+     */
+    Task get(UUID id);
+
+    /**
+     * This method adds the task to the schedule replacing previous version of the task with the same id.
+     *
+     * @param task task to add.
+     */
+    void add(Task task);
+
+    /**
+     * This method removes the task with provided id from the schedule.
+     *
+     * @param id id of the task to remove.
+     */
+    void remove(UUID id);
+}
@@ -0,0 +1,323 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * TextIndex is an inverted index of words of task names and descriptions.
+ * Words are sequences of letters and digits compared in lower case. Every word of a query
+ * has to be found in a task, the last word of a query may be a prefix of a word, so the index
+ * can be used for typeahead. Words are kept in a sorted map, so a prefix is expanded by a range
+ * of the map instead of scanning all words. Matches are ranked by the number of occurrences of
+ * the words, rare words and words of the name weigh more.
+ * Tasks are numbered and postings are primitive arrays of task numbers, a removed task only
+ * changes the generation of its number and its postings are compacted when most of them are stale.
+ * Words of every task are kept as a sorted array with a parallel array of weights instead of a map,
+ * so a task costs two small arrays and its words are found by binary search.
+ * The index is not thread-safe.
+ */
+class TextIndex {
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final long PREFIX_SCAN_ADVANTAGE = 4;
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<UUID, Integer> docsById = new HashMap<>();
+    private String[][] docWords = new String[16][];
+    private int[][] docWeights = new int[16][];
+    private int docsCount;
+    private UUID[] ids = new UUID[16];
+    private int[] generations = new int[16];
+    private int[] freeDocs = new int[16];
+    private int freeDocsCount;
+    private double[] scores = new double[16];
+    private int[] touchedDocs = new int[16];
+
+    /**
+     * This method indexes name and description of the task replacing previously indexed ones.
+     *
+     * @param task task to index.
+     */
+    void add(Task task) {
+        remove(task.getId());
+        Map<String, Integer> words = new TreeMap<>();
+        for (String word : tokenize(task.getName())) {
+            words.merge(word, NAME_WEIGHT, Integer::sum);
+        }
+        for (String word : tokenize(task.getDescription())) {
+            words.merge(word, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        if (words.isEmpty()) {
+            return;
+        }
+        int doc = allocateDoc();
+        ids[doc] = task.getId();
+        docWords[doc] = new String[words.size()];
+        docWeights[doc] = new int[words.size()];
+        docsById.put(task.getId(), doc);
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : words.entrySet()) {
+            docWords[doc][i] = entry.getKey();
+            docWeights[doc][i] = entry.getValue();
+            postings.computeIfAbsent(entry.getKey(), key -> new Postings())
+                    .add(doc, generations[doc], entry.getValue());
+            i++;
+        }
+    }
+
+    /**
+     * This method removes the task with provided id from the index.
+     *
+     * @param id id of the task to remove.
+     */
+    void remove(UUID id) {
+        Integer doc = id == null ? null : docsById.remove(id);
+        if (doc == null) {
+            return;
+        }
+        generations[doc]++;
+        for (String word : docWords[doc]) {
+            Postings wordPostings = postings.get(word);
+            wordPostings.liveCount--;
+            if (wordPostings.liveCount == 0) {
+                postings.remove(word);
+            } else if (wordPostings.liveCount < wordPostings.size / 2) {
+                wordPostings.compact(generations);
+            }
+        }
+        docWords[doc] = null;
+        docWeights[doc] = null;
+        ids[doc] = null;
+        freeDocs[freeDocsCount++] = doc;
+    }
+
+    /**
+     * This method returns ids of tasks containing all words of the query ordered by their rank.
+     * Candidates are taken from the postings of the rarest complete word of the query
+     * or from the postings of the words starting with the last word, whichever are cheaper to visit.
+     *
+     * @param query words to search.
+     * @param limit maximum number of returned ids.
+     * @return List<UUID> ids of found tasks, the best match first.
+     */
+    List<UUID> search(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit of search results should be positive");
+        }
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        String prefix = words.remove(words.size() - 1);
+        Postings rarestWordPostings = null;
+        for (String word : words) {
+            Postings wordPostings = postings.get(word);
+            if (wordPostings == null) {
+                return List.of();
+            }
+            if (rarestWordPostings == null || wordPostings.liveCount < rarestWordPostings.liveCount) {
+                rarestWordPostings = wordPostings;
+            }
+        }
+        NavigableMap<String, Postings> prefixPostings = postings.subMap(prefix, true,
+                prefix + Character.MAX_VALUE, false);
+        long prefixPostingsCount = 0;
+        for (Postings wordPostings : prefixPostings.values()) {
+            prefixPostingsCount += wordPostings.liveCount;
+        }
+        // checking a candidate of the rarest word costs a scan of all words of the task
+        boolean isPrefixRarer = rarestWordPostings == null
+                || prefixPostingsCount < PREFIX_SCAN_ADVANTAGE * rarestWordPostings.liveCount;
+        int touchedCount = isPrefixRarer
+                ? scorePrefix(prefixPostings, words)
+                : scoreCandidates(rarestWordPostings, words, prefix);
+        List<UUID> result = selectBest(touchedCount, limit);
+        for (int i = 0; i < touchedCount; i++) {
+            scores[touchedDocs[i]] = 0;
+        }
+        return result;
+    }
+
+    /**
+     * This method splits the text into lower case words of letters and digits.
+     *
+     * @param text text to split.
+     * @return List<String> words of the text in their order.
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char symbol = text.charAt(i);
+            if (Character.isLetterOrDigit(symbol)) {
+                word.append(Character.toLowerCase(symbol));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    private int scorePrefix(NavigableMap<String, Postings> prefixPostings, List<String> words) {
+        int touchedCount = 0;
+        for (Postings wordPostings : prefixPostings.values()) {
+            double idf = getIdf(wordPostings.liveCount);
+            for (int i = 0; i < wordPostings.size; i++) {
+                int doc = wordPostings.docs[i];
+                if (wordPostings.docGenerations[i] != generations[doc]) {
+                    continue;
+                }
+                if (scores[doc] == 0) {
+                    touchedDocs[touchedCount++] = doc;
+                }
+                scores[doc] += wordPostings.weights[i] * idf;
+            }
+        }
+        if (!words.isEmpty()) {
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touchedDocs[i];
+                double wordsScore = getWordsScore(doc, words);
+                scores[doc] = wordsScore > 0 ? scores[doc] + wordsScore : -1;
+            }
+        }
+        return touchedCount;
+    }
+
+    private int scoreCandidates(Postings candidates, List<String> words, String prefix) {
+        int touchedCount = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            int doc = candidates.docs[i];
+            if (candidates.docGenerations[i] != generations[doc]) {
+                continue;
+            }
+            double wordsScore = getWordsScore(doc, words);
+            String[] taskWords = docWords[doc];
+            double prefixScore = 0;
+            int word = Arrays.binarySearch(taskWords, prefix);
+            // words starting with the prefix follow the position of the prefix in the sorted array
+            for (word = word >= 0 ? word : -word - 1; word < taskWords.length && taskWords[word].startsWith(prefix);
+                 word++) {
+                prefixScore += docWeights[doc][word] * getIdf(postings.get(taskWords[word]).liveCount);
+            }
+            if (wordsScore > 0 && prefixScore > 0) {
+                scores[doc] = wordsScore + prefixScore;
+                touchedDocs[touchedCount++] = doc;
+            }
+        }
+        return touchedCount;
+    }
+
+    private double getWordsScore(int doc, List<String> words) {
+        double score = 0;
+        for (String word : words) {
+            int position = Arrays.binarySearch(docWords[doc], word);
+            if (position < 0) {
+                return 0;
+            }
+            score += docWeights[doc][position] * getIdf(postings.get(word).liveCount);
+        }
+        return score;
+    }
+
+    private List<UUID> selectBest(int touchedCount, int limit) {
+        PriorityQueue<Integer> best = new PriorityQueue<>(this::compareDocs);
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touchedDocs[i];
+            if (scores[doc] <= 0) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(doc);
+            } else if (compareDocs(doc, best.peek()) > 0) {
+                best.poll();
+                best.add(doc);
+            }
+        }
+        UUID[] result = new UUID[best.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = ids[best.poll()];
+        }
+        return Arrays.asList(result);
+    }
+
+    private int compareDocs(int firstDoc, int secondDoc) {
+        int comparison = Double.compare(scores[firstDoc], scores[secondDoc]);
+        return comparison != 0 ? comparison : ids[firstDoc].compareTo(ids[secondDoc]);
+    }
+
+    private double getIdf(int tasksWithWordCount) {
+        return Math.log(1 + (double) docsById.size() / tasksWithWordCount);
+    }
+
+    private int allocateDoc() {
+        if (freeDocsCount > 0) {
+            return freeDocs[--freeDocsCount];
+        }
+        int doc = docsCount++;
+        if (doc == ids.length) {
+            int capacity = 2 * doc;
+            ids = Arrays.copyOf(ids, capacity);
+            docWords = Arrays.copyOf(docWords, capacity);
+            docWeights = Arrays.copyOf(docWeights, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            freeDocs = Arrays.copyOf(freeDocs, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            touchedDocs = Arrays.copyOf(touchedDocs, capacity);
+        }
+        return doc;
+    }
+
+    /**
+     * Task numbers containing a word with the generations of the numbers at the moment they were added.
+     */
+    private static class Postings {
+        private int[] docs = new int[2];
+        private int[] docGenerations = new int[2];
+        private int[] weights = new int[2];
+        private int size;
+        private int liveCount;
+
+        void add(int doc, int generation, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, 2 * size);
+                docGenerations = Arrays.copyOf(docGenerations, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+            }
+            docs[size] = doc;
+            docGenerations[size] = generation;
+            weights[size] = weight;
+            size++;
+            liveCount++;
+        }
+
+        void compact(int[] generations) {
+            int liveSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (docGenerations[i] == generations[docs[i]]) {
+                    docs[liveSize] = docs[i];
+                    docGenerations[liveSize] = docGenerations[i];
+                    weights[liveSize] = weights[i];
+                    liveSize++;
+                }
+            }
+            size = liveSize;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package main.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import main.manager.Managers;
+import main.manager.taskManager.TaskManager;
+import main.manager.taskManager.TaskOperation;
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskTypes;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP server exposing TaskManager operations as JSON endpoints:
+ * <pre>
+ * GET    /tasks, /subtasks, /epics          all tasks of the type
+ * GET    /tasks/{id}, /subtasks/{id}, ...   task by id, the view is added to the history
+ * POST   /tasks, /subtasks, /epics          adds the task without id or updates the stored task with id
+ * DELETE /tasks, /subtasks, /epics          removes all tasks of the type
+ * DELETE /tasks/{id}, /subtasks/{id}, ...   removes the task by id
+ * GET    /epics/{id}/subtasks               subtasks of the epic
+ * GET    /history                           history of views
+ * GET    /prioritized[?from=..&amp;to=..]       scheduled tasks, optionally overlapping the window
+ * GET    /search?query=..[&amp;limit=..]        tasks found by words of names and descriptions
+ * </pre>
+ * POST answers 404 if the task to update or the epic of a subtask is not stored and 406 if the task
+ * intersects with scheduled tasks. An update is applied as a batch of one operation, so the manager checks
+ * and applies it atomically and its result tells if the update is rejected.
+ * Malformed requests are answered with 400, other failures of the manager with 500.
+ * Requests are handled by a virtual thread each when the runtime has them, otherwise by a fixed pool,
+ * so the manager should be thread-safe. Lists are streamed into chunked responses without building
+ * their JSON in memory, single objects are sent with their length. Request bodies are read completely
+ * and every exchange is closed, so connections are kept alive between requests.
+ * Headers and body of a response are written separately, so without TCP_NODELAY Nagle's algorithm holds
+ * every response of a kept alive connection until the client acknowledges the headers. The JDK server
+ * enables it only by the JVM-wide property sun.net.httpserver.nodelay which is read once, so {@link #main(String[])}
+ * sets it before the first server is created and an application embedding the server should do the same.
+ */
+public class HttpTaskServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int RESPONSE_BUFFER_SIZE = 8192;
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final TaskManager manager;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * @param manager thread-safe manager serving requests.
+     * @param port port to listen to, 0 for any free port.
+     * @throws IOException if the port can not be bound.
+     */
+    public HttpTaskServer(TaskManager manager, int port) throws IOException {
+        this.manager = manager;
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        executor = createExecutor();
+        server.setExecutor(executor);
+        server.createContext("/tasks", exchange -> handle(exchange, TaskTypes.TASK));
+        server.createContext("/subtasks", exchange -> handle(exchange, TaskTypes.SUBTASK));
+        server.createContext("/epics", exchange -> handle(exchange, TaskTypes.EPIC));
+        server.createContext("/history", exchange -> handle(exchange, null));
+        server.createContext("/prioritized", exchange -> handle(exchange, null));
+        server.createContext("/search", exchange -> handle(exchange, null));
+    }
+
+    /**
+     * Starts the server for a concurrent manager, TCP_NODELAY is enabled unless the property is set explicitly.
+     */
+    public static void main(String[] args) throws IOException {
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        HttpTaskServer server = new HttpTaskServer(Managers.getConcurrent(), port);
+        server.start();
+        System.out.println("Task server is listening on port " + server.getPort());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * This method stops the server waiting for current exchanges at most the given time.
+     *
+     * @param delaySeconds maximum time to wait for current exchanges.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * Returns port the server listens to.
+     *
+     * @return int port of the server.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Creates executor with a virtual thread per task if the runtime supports virtual threads.
+     * The method is looked up reflectively, so the server is built for older runtimes too.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(8, 4 * Runtime.getRuntime().availableProcessors()));
+        }
+    }
+
+    private void handle(HttpExchange exchange, TaskTypes type) throws IOException {
+        try {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            try {
+                route(exchange, type, new String(body, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                sendFailure(exchange, 400, e.getMessage());
+            } catch (RuntimeException e) {
+                sendFailure(exchange, 500, "Internal server error");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, TaskTypes type, String body) throws IOException {
+        String requestPath = exchange.getRequestURI().getPath();
+        String contextPath = exchange.getHttpContext().getPath();
+        // contexts match by prefix, so /tasksfoo would be routed to /tasks
+        if (!requestPath.equals(contextPath) && !requestPath.startsWith(contextPath + "/")) {
+            sendError(exchange, 404, "Not found");
+            return;
+        }
+        String[] path = requestPath.substring(1).split("/");
+        String method = exchange.getRequestMethod();
+        if (type == null) {
+            if (path.length != 1 || !method.equals("GET")) {
+                sendError(exchange, 405, "Method is not allowed");
+                return;
+            }
+            handleQuery(exchange, path[0], parseQuery(exchange.getRequestURI().getRawQuery()));
+            return;
+        }
+        if (path.length == 1) {
+            handleTasks(exchange, type, method, body);
+        } else if (path.length == 2) {
+            handleTask(exchange, type, method, UUID.fromString(path[1]));
+        } else if (path.length == 3 && type == TaskTypes.EPIC && path[2].equals("subtasks")
+                && method.equals("GET")) {
+            sendTasks(exchange, manager.getSubtasksOfEpic(UUID.fromString(path[1])));
+        } else {
+            sendError(exchange, 404, "Not found");
+        }
+    }
+
+    private void handleTasks(HttpExchange exchange, TaskTypes type, String method, String body) throws IOException {
+        switch (method) {
+            case "GET": {
+                sendTasks(exchange, getAll(type));
+                break;
+            }
+            case "POST": {
+                handlePost(exchange, new TaskJsonReader(body).readTask(type));
+                break;
+            }
+            case "DELETE": {
+                clear(type);
+                sendEmpty(exchange);
+                break;
+            }
+            default: {
+                sendError(exchange, 405, "Method is not allowed");
+            }
+        }
+    }
+
+    private void handlePost(HttpExchange exchange, Task task) throws IOException {
+        if (task.getType() == TaskTypes.SUBTASK) {
+            UUID epicId = ((SubTask) task).getEpicId();
+            if (manager.findTask(TaskTypes.EPIC, epicId) == null) {
+                sendError(exchange, 404, "Epic " + epicId + " is not found");
+                return;
+            }
+        }
+        UUID id = task.getId();
+        if (id == null) {
+            add(task);
+            if (task.getId() == null) {
+                sendError(exchange, 406, "Task intersects with scheduled tasks");
+            } else {
+                sendTask(exchange, 201, task);
+            }
+            return;
+        }
+        if (manager.findTask(task.getType(), id) == null) {
+            sendError(exchange, 404, "Task " + id + " is not found");
+            return;
+        }
+        if (!manager.applyBatch(List.of(TaskOperation.update(task)))) {
+            sendError(exchange, 406, "Task intersects with scheduled tasks");
+            return;
+        }
+        Task storedTask = manager.findTask(task.getType(), id);
+        if (storedTask == null) {
+            sendError(exchange, 404, "Task " + id + " is not found");
+        } else {
+            sendTask(exchange, 200, storedTask);
+        }
+    }
+
+    private void handleTask(HttpExchange exchange, TaskTypes type, String method, UUID id) throws IOException {
+        switch (method) {
+            case "GET": {
+                Task task = getById(type, id);
+                if (task == null) {
+                    sendError(exchange, 404, "Task " + id + " is not found");
+                } else {
+                    sendTask(exchange, 200, task);
+                }
+                break;
+            }
+            case "DELETE": {
+                removeById(type, id);
+                sendEmpty(exchange);
+                break;
+            }
+            default: {
+                sendError(exchange, 405, "Method is not allowed");
+            }
+        }
+    }
+
+    private void handleQuery(HttpExchange exchange, String name, Map<String, String> query) throws IOException {
+        switch (name) {
+            case "history": {
+                sendTasks(exchange, manager.getHistory());
+                break;
+            }
+            case "prioritized": {
+                if (query.containsKey("from") || query.containsKey("to")) {
+                    sendTasks(exchange, manager.getPrioritizedTasks(parseTime(query.get("from")),
+                            parseTime(query.get("to"))));
+                } else {
+                    sendTasks(exchange, manager.getPrioritizedTasks());
+                }
+                break;
+            }
+            default: {
+                String limit = query.get("limit");
+                sendTasks(exchange, manager.searchTasks(query.getOrDefault("query", ""),
+                        limit == null ? DEFAULT_SEARCH_LIMIT : Integer.parseInt(limit)));
+            }
+        }
+    }
+
+    private List<? extends Task> getAll(TaskTypes type) {
+        switch (type) {
+            case TASK: {
+                return manager.getAllTasks();
+            }
+            case SUBTASK: {
+                return manager.getAllSubTasks();
+            }
+            default: {
+                return manager.getAllEpics();
+            }
+        }
+    }
+
+    private Task getById(TaskTypes type, UUID id) {
+        switch (type) {
+            case TASK: {
+                return manager.getTaskById(id);
+            }
+            case SUBTASK: {
+                return manager.getSubTaskById(id);
+            }
+            default: {
+                return manager.getEpicTaskById(id);
+            }
+        }
+    }
+
+    /**
+     * Adds the task, it keeps null id if it intersects with scheduled tasks.
+     */
+    private void add(Task task) {
+        switch (task.getType()) {
+            case TASK: {
+                manager.addTask(task);
+                break;
+            }
+            case SUBTASK: {
+                manager.addSubTask((SubTask) task);
+                break;
+            }
+            default: {
+                manager.addEpicTask((EpicTask) task);
+            }
+        }
+    }
+
+    private void removeById(TaskTypes type, UUID id) {
+        switch (type) {
+            case TASK: {
+                manager.removeTaskById(id);
+                break;
+            }
+            case SUBTASK: {
+                manager.removeSubTaskById(id);
+                break;
+            }
+            default: {
+                manager.removeEpicTaskById(id);
+            }
+        }
+    }
+
+    private void clear(TaskTypes type) {
+        switch (type) {
+            case TASK: {
+                manager.clearTaskList();
+                break;
+            }
+            case SUBTASK: {
+                manager.clearSubTaskLists();
+                break;
+            }
+            default: {
+                manager.clearEpicTaskLists();
+            }
+        }
+    }
+
+    /**
+     * Streams the list into a chunked response, so its JSON is never kept in memory as a whole.
+     */
+    private static void sendTasks(HttpExchange exchange, Collection<? extends Task> tasks) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, 0);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+                RESPONSE_BUFFER_SIZE);
+        new TaskJsonWriter(writer).writeTasks(tasks);
+        writer.flush();
+    }
+
+    private static void sendTask(HttpExchange exchange, int status, Task task) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8);
+        new TaskJsonWriter(writer).writeTask(task);
+        writer.flush();
+        send(exchange, status, body.toByteArray());
+    }
+
+    /**
+     * Sends the error unless headers of the response are already sent, a streamed list which fails
+     * can not change its status any more, so its response is only closed.
+     */
+    private static void sendFailure(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() == -1) {
+            sendError(exchange, status, message);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(64);
+        Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8);
+        new TaskJsonWriter(writer).writeError(message);
+        writer.flush();
+        send(exchange, status, body.toByteArray());
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static void sendEmpty(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            String name = separator < 0 ? parameter : parameter.substring(0, separator);
+            String value = separator < 0 ? "" : parameter.substring(separator + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Window should have from and to");
+        }
+        return LocalDateTime.parse(value);
+    }
+}
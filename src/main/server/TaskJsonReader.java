@@ -0,0 +1,221 @@
+package main.server;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reader of tasks from JSON objects written by {@link TaskJsonWriter}.
+ * Only fields which can be set by a client are read: id, name, description, status, startTime,
+ * duration in minutes and epicId of a subtask. Other fields, nested objects and arrays are skipped.
+ * Malformed JSON and values are reported by IllegalArgumentException.
+ */
+class TaskJsonReader {
+    private final String json;
+    private int position;
+
+    /**
+     * @param json JSON object of the task.
+     */
+    TaskJsonReader(String json) {
+        this.json = json;
+    }
+
+    /**
+     * This method reads the task of the given type. Status of a task or a subtask is NEW if it is absent.
+     *
+     * @param type type of the task.
+     * @return Task task, subtask or epic with id from JSON or null id.
+     */
+    Task readTask(TaskTypes type) {
+        Map<String, String> fields = readObject();
+        UUID id = parseUuid(fields.get("id"));
+        String name = fields.get("name");
+        String description = fields.get("description");
+        switch (type) {
+            case EPIC: {
+                return new EpicTask(id, name, description);
+            }
+            case SUBTASK: {
+                UUID epicId = parseUuid(fields.get("epicId"));
+                if (epicId == null) {
+                    throw new IllegalArgumentException("Subtask should have epicId");
+                }
+                return new SubTask(id, name, description, parseStatus(fields.get("status")), epicId,
+                        parseTime(fields.get("startTime")), parseDuration(fields.get("duration")));
+            }
+            default: {
+                return new Task(id, name, description, parseStatus(fields.get("status")),
+                        parseTime(fields.get("startTime")), parseDuration(fields.get("duration")));
+            }
+        }
+    }
+
+    private Map<String, String> readObject() {
+        Map<String, String> fields = new HashMap<>();
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return fields;
+        }
+        while (true) {
+            skipWhitespace();
+            String name = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            fields.put(name, readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                position++;
+                continue;
+            }
+            expect('}');
+            return fields;
+        }
+    }
+
+    /**
+     * Reads a scalar value as string or null, nested objects and arrays are skipped and read as null.
+     */
+    private String readValue() {
+        char symbol = peek();
+        if (symbol == '"') {
+            return readString();
+        }
+        if (symbol == '{' || symbol == '[') {
+            skipNested();
+            return null;
+        }
+        int start = position;
+        while (position < json.length() && ",}] \t\r\n".indexOf(json.charAt(position)) < 0) {
+            position++;
+        }
+        String literal = json.substring(start, position);
+        if (literal.isEmpty()) {
+            throw new IllegalArgumentException("Value is expected at " + start);
+        }
+        return literal.equals("null") ? null : literal;
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            char symbol = next();
+            if (symbol == '"') {
+                return value.toString();
+            }
+            if (symbol != '\\') {
+                value.append(symbol);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case 'n': {
+                    value.append('\n');
+                    break;
+                }
+                case 'r': {
+                    value.append('\r');
+                    break;
+                }
+                case 't': {
+                    value.append('\t');
+                    break;
+                }
+                case 'b': {
+                    value.append('\b');
+                    break;
+                }
+                case 'f': {
+                    value.append('\f');
+                    break;
+                }
+                case 'u': {
+                    if (position + 4 > json.length()) {
+                        throw new IllegalArgumentException("Unexpected end of JSON");
+                    }
+                    value.append((char) Integer.parseInt(json, position, position + 4, 16));
+                    position += 4;
+                    break;
+                }
+                default: {
+                    value.append(escaped);
+                }
+            }
+        }
+    }
+
+    private void skipNested() {
+        int depth = 0;
+        do {
+            char symbol = peek();
+            if (symbol == '"') {
+                readString();
+                continue;
+            }
+            if (symbol == '{' || symbol == '[') {
+                depth++;
+            } else if (symbol == '}' || symbol == ']') {
+                depth--;
+            }
+            position++;
+        } while (depth > 0);
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw new IllegalArgumentException("'" + expected + "' is expected at " + (position - 1));
+        }
+    }
+
+    private char peek() {
+        if (position >= json.length()) {
+            throw new IllegalArgumentException("Unexpected end of JSON");
+        }
+        return json.charAt(position);
+    }
+
+    private char next() {
+        char symbol = peek();
+        position++;
+        return symbol;
+    }
+
+    private static UUID parseUuid(String value) {
+        return value == null ? null : UUID.fromString(value);
+    }
+
+    private static TaskStatus parseStatus(String value) {
+        return value == null ? TaskStatus.NEW : TaskStatus.valueOf(value);
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        try {
+            return value == null ? null : LocalDateTime.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Wrong time " + value, e);
+        }
+    }
+
+    private static Duration parseDuration(String value) {
+        return value == null ? null : Duration.ofMinutes(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,161 @@
+package main.server;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskTypes;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Writer of tasks as JSON objects:
+ * {"id", "type", "name", "description", "status", "startTime", "duration", "endTime"[, "epicId" | "subTaskIds"]}.
+ * Duration is written in minutes like in csv files, absent values are written as null.
+ * Tasks are written straight into the underlying writer one by one, so a list of any size
+ * is sent without building its JSON in memory.
+ */
+class TaskJsonWriter {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Writer writer;
+
+    /**
+     * @param writer writer receiving JSON, it is not flushed or closed by this writer.
+     */
+    TaskJsonWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * This method writes the task as JSON object.
+     *
+     * @param task task to write.
+     * @throws IOException if the underlying writer fails.
+     */
+    void writeTask(Task task) throws IOException {
+        writer.write("{\"id\":");
+        writeValue(task.getId());
+        writer.write(",\"type\":");
+        writeValue(task.getType());
+        writer.write(",\"name\":");
+        writeString(task.getName());
+        writer.write(",\"description\":");
+        writeString(task.getDescription());
+        writer.write(",\"status\":");
+        writeValue(task.getTaskStatus());
+        writer.write(",\"startTime\":");
+        writeValue(task.getStartTime());
+        writer.write(",\"duration\":");
+        writer.write(task.getDuration() == null ? "null" : Long.toString(task.getDuration().toMinutes()));
+        writer.write(",\"endTime\":");
+        LocalDateTime endTime = task.getStartTime() == null ? null : task.getEndTime();
+        writeValue(endTime);
+        if (task.getType() == TaskTypes.SUBTASK) {
+            writer.write(",\"epicId\":");
+            writeValue(((SubTask) task).getEpicId());
+        } else if (task.getType() == TaskTypes.EPIC) {
+            writer.write(",\"subTaskIds\":[");
+            boolean isFirst = true;
+            for (UUID subTaskId : ((EpicTask) task).getSubTaskIds()) {
+                if (!isFirst) {
+                    writer.write(',');
+                }
+                writeValue(subTaskId);
+                isFirst = false;
+            }
+            writer.write(']');
+        }
+        writer.write('}');
+    }
+
+    /**
+     * This method writes tasks as JSON array.
+     *
+     * @param tasks tasks to write.
+     * @throws IOException if the underlying writer fails.
+     */
+    void writeTasks(Collection<? extends Task> tasks) throws IOException {
+        writer.write('[');
+        boolean isFirst = true;
+        for (Task task : tasks) {
+            if (!isFirst) {
+                writer.write(',');
+            }
+            writeTask(task);
+            isFirst = false;
+        }
+        writer.write(']');
+    }
+
+    /**
+     * This method writes the error as JSON object {"error": message}.
+     *
+     * @param message message of the error.
+     * @throws IOException if the underlying writer fails.
+     */
+    void writeError(String message) throws IOException {
+        writer.write("{\"error\":");
+        writeString(message);
+        writer.write('}');
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        writer.write(value.toString());
+        writer.write('"');
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        int plainStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char symbol = value.charAt(i);
+            if (symbol >= ' ' && symbol != '"' && symbol != '\\') {
+                continue;
+            }
+            writer.write(value, plainStart, i - plainStart);
+            plainStart = i + 1;
+            switch (symbol) {
+                case '"': {
+                    writer.write("\\\"");
+                    break;
+                }
+                case '\\': {
+                    writer.write("\\\\");
+                    break;
+                }
+                case '\n': {
+                    writer.write("\\n");
+                    break;
+                }
+                case '\r': {
+                    writer.write("\\r");
+                    break;
+                }
+                case '\t': {
+                    writer.write("\\t");
+                    break;
+                }
+                default: {
+                    writer.write("\\u00");
+                    writer.write(HEX_DIGITS[symbol >> 4]);
+                    writer.write(HEX_DIGITS[symbol & 0xF]);
+                }
+            }
+        }
+        writer.write(value, plainStart, value.length() - plainStart);
+        writer.write('"');
+    }
+}
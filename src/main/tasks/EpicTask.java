@@ -3,11 +3,13 @@ package main.tasks;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public class EpicTask extends Task {
-    private List<UUID> subTaskIds = new ArrayList<>();
+    private final Set<UUID> subTaskIds = new LinkedHashSet<>();
     private LocalDateTime endTime = null;
 
     public EpicTask(UUID id, String name, String description) {
@@ -22,18 +24,16 @@ public class EpicTask extends Task {
 
     public EpicTask(UUID id, String name, String description, TaskStatus taskStatus, List<UUID> subTaskIds) {
         super(id, name, description, taskStatus, null, null);
-        this.subTaskIds = subTaskIds;
+        this.subTaskIds.addAll(subTaskIds);
         this.type = TaskTypes.EPIC;
     }
 
     public List<UUID> getSubTaskIds() {
-        return subTaskIds;
+        return new ArrayList<>(subTaskIds);
     }
 
     public void addSubTaskId(UUID id) {
-        if (!subTaskIds.contains(id)) {
-            subTaskIds.add(id);
-        }
+        subTaskIds.add(id);
     }
 
     public void setEndTime(LocalDateTime endTime) {
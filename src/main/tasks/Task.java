@@ -2,16 +2,29 @@ package main.tasks;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
 import java.util.UUID;
 
+/**
+ * Task of the board.
+ * Start time and duration are kept as primitive seconds and nanos instead of LocalDateTime and Duration
+ * objects, the objects are created only when they are requested, and intersections are checked
+ * on the primitive values.
+ */
 public class Task {
+    private static final int NO_TIME = -1;
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+
     protected TaskTypes type = TaskTypes.TASK;
     private UUID id;
     private String name;
     private String description;
     private TaskStatus taskStatus;
-    private Duration duration;
-    private LocalDateTime startTime;
+    private long startEpochSecond;
+    private int startNano = NO_TIME;
+    private long durationSeconds;
+    private int durationNano = NO_TIME;
 
     public Task(
         UUID id,
@@ -25,16 +38,16 @@ public class Task {
         this.name = name;
         this.description = description;
         this.taskStatus = taskStatus;
-        this.startTime = startTime;
-        this.duration = duration;
+        setStartTime(startTime);
+        setDuration(duration);
     }
 
     public Task(String name, String description, TaskStatus taskStatus, LocalDateTime startTime, Duration duration) {
         this.name = name;
         this.description = description;
         this.taskStatus = taskStatus;
-        this.startTime = startTime;
-        this.duration = duration;
+        setStartTime(startTime);
+        setDuration(duration);
     }
 
     public String getName() {
@@ -74,23 +87,79 @@ public class Task {
     }
 
     public void setDuration(Duration duration) {
-        this.duration = duration;
+        if (duration == null) {
+            durationNano = NO_TIME;
+            return;
+        }
+        durationSeconds = duration.getSeconds();
+        durationNano = duration.getNano();
     }
 
     public Duration getDuration() {
-        return duration;
+        return durationNano == NO_TIME ? null : Duration.ofSeconds(durationSeconds, durationNano);
     }
 
     public void setStartTime(LocalDateTime startTime) {
-        this.startTime = startTime;
+        if (startTime == null) {
+            startNano = NO_TIME;
+            return;
+        }
+        startEpochSecond = startTime.toEpochSecond(ZoneOffset.UTC);
+        startNano = startTime.getNano();
     }
-    
+
     public LocalDateTime getStartTime() {
-        return startTime;
+        return startNano == NO_TIME ? null : LocalDateTime.ofEpochSecond(startEpochSecond, startNano, ZoneOffset.UTC);
     }
 
     public LocalDateTime getEndTime() {
-        return startTime.plus(duration);
+        if (startNano == NO_TIME || durationNano == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(getEndEpochSecond(), getEndNano(), ZoneOffset.UTC);
+    }
+
+    /**
+     * This method checks if the task intersects other task comparing primitive start and end times.
+     * A task without start time intersects no other task, a task without duration is a point at its start time.
+     *
+     * @param other other task.
+     * @return true if the tasks intersect.
+     */
+    public boolean isIntersected(Task other) {
+        Objects.requireNonNull(other, "Other task is null");
+        if (startNano == NO_TIME || other.startNano == NO_TIME) {
+            return false;
+        }
+        int startComparison = compare(startEpochSecond, startNano, other.startEpochSecond, other.startNano);
+        int endComparison = compare(getEndEpochSecond(), getEndNano(), other.getEndEpochSecond(), other.getEndNano());
+        return startComparison == 0
+                || endComparison == 0
+                || (startComparison > 0 && endComparison < 0)
+                || (startComparison < 0 && endComparison > 0)
+                || (startComparison < 0
+                && compare(getEndEpochSecond(), getEndNano(), other.startEpochSecond, other.startNano) > 0)
+                || (startComparison > 0
+                && compare(startEpochSecond, startNano, other.getEndEpochSecond(), other.getEndNano()) < 0);
+    }
+
+    private long getEndEpochSecond() {
+        if (durationNano == NO_TIME) {
+            return startEpochSecond;
+        }
+        return startEpochSecond + durationSeconds + (startNano + durationNano) / NANOS_PER_SECOND;
+    }
+
+    private int getEndNano() {
+        if (durationNano == NO_TIME) {
+            return startNano;
+        }
+        return (startNano + durationNano) % NANOS_PER_SECOND;
+    }
+
+    private static int compare(long firstSeconds, int firstNanos, long secondSeconds, int secondNanos) {
+        int secondsComparison = Long.compare(firstSeconds, secondSeconds);
+        return secondsComparison != 0 ? secondsComparison : Integer.compare(firstNanos, secondNanos);
     }
 
     @Override
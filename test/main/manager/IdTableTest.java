@@ -0,0 +1,53 @@
+package main.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdTableTest {
+
+    @Test
+    void shouldFindSameEntriesAsMapAfterGrowthAndRemovals() {
+        IdTable table = new IdTable(2);
+        Map<UUID, Integer> expected = new HashMap<>();
+        List<Integer> freeEntries = new ArrayList<>();
+        List<UUID> ids = new ArrayList<>();
+        int nextEntry = 0;
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            if (!ids.isEmpty() && random.nextInt(3) == 0) {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                int entry = expected.remove(id);
+                table.remove(entry);
+                freeEntries.add(entry);
+                assertEquals(IdTable.NO_ENTRY, table.find(id));
+            } else {
+                UUID id = UUID.randomUUID();
+                int entry = freeEntries.isEmpty() ? nextEntry++ : freeEntries.remove(freeEntries.size() - 1);
+                table.put(entry, id);
+                expected.put(id, entry);
+                ids.add(id);
+            }
+        }
+
+        assertEquals(expected.size(), table.size());
+        for (Map.Entry<UUID, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), table.find(entry.getKey()));
+            assertEquals(entry.getKey(), table.getId(entry.getValue()));
+        }
+        assertEquals(IdTable.NO_ENTRY, table.find(UUID.randomUUID()));
+    }
+
+    @Test
+    void shouldRejectNotPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new IdTable(0));
+    }
+}
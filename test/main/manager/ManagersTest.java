@@ -2,6 +2,8 @@ package main.manager;
 
 import main.manager.historyManager.HistoryManager;
 import main.manager.historyManager.InMemoryHistoryManager;
+import main.manager.taskManager.ColumnarTaskManager;
+import main.manager.taskManager.ConcurrentTaskManager;
 import main.manager.taskManager.InMemoryTaskManager;
 import main.manager.taskManager.TaskManager;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,18 @@ class ManagersTest {
         assertInstanceOf(InMemoryTaskManager.class, defaultManager);
     }
 
+    @Test
+    void getConcurrent() {
+        TaskManager concurrentManager = Managers.getConcurrent();
+        assertInstanceOf(ConcurrentTaskManager.class, concurrentManager);
+    }
+
+    @Test
+    void getColumnar() {
+        TaskManager columnarManager = Managers.getColumnar();
+        assertInstanceOf(ColumnarTaskManager.class, columnarManager);
+    }
+
     @Test
     void getDefaultHistory() {
         HistoryManager defaultHistoryManager = Managers.getDefaultHistory();
@@ -0,0 +1,119 @@
+package main.manager.historyManager;
+
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedHistoryManagerTest {
+
+    private static final int CAPACITY = 3;
+
+    private Map<UUID, Task> tasks;
+    private HistoryManager manager;
+
+    @BeforeEach
+    void setUp() {
+        tasks = new HashMap<>();
+        manager = new BoundedHistoryManager(CAPACITY, tasks::get);
+    }
+
+    @Test
+    void shouldMoveViewedTaskToTheEnd() {
+        Task first = createTask();
+        Task second = createTask();
+        manager.add(first);
+        manager.add(second);
+        manager.add(first);
+        assertEquals(List.of(second, first), manager.getHistory());
+    }
+
+    @Test
+    void shouldEvictOldestViewWhenFull() {
+        Task first = createTask();
+        Task second = createTask();
+        Task third = createTask();
+        Task fourth = createTask();
+        manager.add(first);
+        manager.add(second);
+        manager.add(third);
+        manager.add(fourth);
+        assertEquals(List.of(second, third, fourth), manager.getHistory());
+    }
+
+    @Test
+    void shouldRemoveTaskFromHistory() {
+        Task first = createTask();
+        Task second = createTask();
+        Task third = createTask();
+        manager.add(first);
+        manager.add(second);
+        manager.add(third);
+        manager.remove(second.getId());
+        manager.remove(UUID.randomUUID());
+        assertEquals(List.of(first, third), manager.getHistory());
+    }
+
+    @Test
+    void shouldReturnCurrentVersionOfTask() {
+        Task task = createTask();
+        manager.add(task);
+        Task updatedTask = new Task(task.getId(), "Updated", "Description", TaskStatus.DONE,
+                LocalDateTime.MIN, Duration.ofMinutes(1));
+        tasks.put(task.getId(), updatedTask);
+        assertEquals(List.of(updatedTask), manager.getHistory());
+        tasks.remove(task.getId());
+        assertEquals(List.of(), manager.getHistory());
+    }
+
+    @Test
+    void shouldKeepLastViewsOfUnboundedHistory() {
+        int capacity = 50;
+        HistoryManager boundedManager = new BoundedHistoryManager(capacity, tasks::get);
+        HistoryManager unboundedManager = new InMemoryHistoryManager();
+        List<Task> viewedTasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            viewedTasks.add(createTask());
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            Task task = viewedTasks.get(random.nextInt(viewedTasks.size()));
+            if (random.nextInt(4) == 0) {
+                boundedManager.remove(task.getId());
+                unboundedManager.remove(task.getId());
+            } else {
+                boundedManager.add(task);
+                unboundedManager.add(task);
+            }
+            List<Task> expected = unboundedManager.getHistory();
+            List<Task> actual = boundedManager.getHistory();
+            assertTrue(actual.size() <= capacity);
+            assertEquals(expected.subList(expected.size() - actual.size(), expected.size()), actual);
+        }
+    }
+
+    @Test
+    void shouldThrowWhenCapacityIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedHistoryManager(0, tasks::get));
+    }
+
+    private Task createTask() {
+        Task task = new Task(UUID.randomUUID(), "Task", "Description", TaskStatus.NEW, LocalDateTime.MIN,
+                Duration.ofMinutes(1));
+        tasks.put(task.getId(), task);
+        return task;
+    }
+}
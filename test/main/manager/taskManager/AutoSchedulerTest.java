@@ -0,0 +1,102 @@
+package main.manager.taskManager;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutoSchedulerTest {
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private TaskManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new InMemoryTaskManager();
+        manager.addTask(new Task("Morning", "Description", TaskStatus.NEW, DAY_START, Duration.ofMinutes(60)));
+        manager.addTask(new Task("Noon", "Description", TaskStatus.NEW, DAY_START.plusMinutes(90),
+                Duration.ofMinutes(60)));
+    }
+
+    @Test
+    void shouldPlaceTasksIntoFreeSlots() {
+        Task shortTask = new Task("Short", "Description", TaskStatus.NEW, null, Duration.ofMinutes(30));
+        Task longTask = new Task("Long", "Description", TaskStatus.NEW, null, Duration.ofMinutes(45));
+        EpicTask epic = manager.addEpicTask(new EpicTask("Epic", "Description"));
+        SubTask subTask = new SubTask("Subtask", "Description", TaskStatus.NEW, epic.getId(), null,
+                Duration.ofMinutes(15));
+
+        ScheduleResult result = new AutoScheduler(manager).schedule(List.of(
+                new ScheduleRequest(longTask),
+                new ScheduleRequest(shortTask),
+                new ScheduleRequest(subTask, DAY_START.plusMinutes(150), null)), DAY_START);
+
+        assertTrue(result.isApplied());
+        assertTrue(result.getUnscheduledRequests().isEmpty());
+        assertEquals(DAY_START.plusMinutes(60), shortTask.getStartTime());
+        assertEquals(DAY_START.plusMinutes(150), longTask.getStartTime());
+        assertEquals(DAY_START.plusMinutes(195), subTask.getStartTime());
+        assertEquals(5, manager.getPrioritizedTasks().size());
+        assertEquals(List.of(subTask), manager.getSubtasksOfEpic(epic.getId()));
+    }
+
+    @Test
+    void shouldNotPlaceTaskAfterItsDeadline() {
+        Task task = new Task("Task", "Description", TaskStatus.NEW, null, Duration.ofMinutes(40));
+        ScheduleRequest request = new ScheduleRequest(task, null, DAY_START.plusMinutes(150));
+
+        ScheduleResult result = new AutoScheduler(manager).schedule(List.of(request), DAY_START);
+
+        assertTrue(result.isApplied());
+        assertEquals(List.of(request), result.getUnscheduledRequests());
+        assertNull(task.getStartTime());
+        assertEquals(2, manager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    void shouldPlaceMoreTasksTryingSeveralOrderings() {
+        Task first = new Task("First", "Description", TaskStatus.NEW, null, Duration.ofMinutes(20));
+        Task second = new Task("Second", "Description", TaskStatus.NEW, null, Duration.ofMinutes(30));
+        List<ScheduleRequest> requests = List.of(
+                new ScheduleRequest(first, DAY_START.plusMinutes(60), DAY_START.plusMinutes(90)),
+                new ScheduleRequest(second, DAY_START.plusMinutes(60), DAY_START.plusMinutes(90)));
+
+        ScheduleResult result = new AutoScheduler(manager, 4).schedule(requests, DAY_START);
+
+        assertEquals(1, result.getScheduledTasks().size());
+        assertEquals(1, result.getUnscheduledRequests().size());
+    }
+
+    @Test
+    void shouldPlaceThousandsOfTasksIntoLargeCalendar() {
+        TaskManager calendar = new InMemoryTaskManager();
+        for (int i = 0; i < 20_000; i++) {
+            calendar.addTask(new Task("Busy " + i, "Description", TaskStatus.NEW,
+                    DAY_START.plusMinutes(i * 60L), Duration.ofMinutes(45)));
+        }
+        List<ScheduleRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            requests.add(new ScheduleRequest(new Task("Free " + i, "Description", TaskStatus.NEW, null,
+                    Duration.ofMinutes(5 + i % 10))));
+        }
+
+        ScheduleResult result = new AutoScheduler(calendar, 2).schedule(requests, DAY_START);
+
+        assertTrue(result.isApplied());
+        assertEquals(2_000, result.getScheduledTasks().size());
+        List<Task> prioritizedTasks = calendar.getPrioritizedTasks();
+        assertEquals(22_000, prioritizedTasks.size());
+        for (int i = 1; i < prioritizedTasks.size(); i++) {
+            assertFalse(prioritizedTasks.get(i - 1).getEndTime().isAfter(prioritizedTasks.get(i).getStartTime()));
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package main.manager.taskManager;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTaskManagerTest {
+    private ColumnarTaskManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new ColumnarTaskManager(4, 10);
+    }
+
+    @Test
+    void shouldReturnStoredValuesOfTasks() {
+        Task task = manager.addTask(new Task("Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        EpicTask epic = manager.addEpicTask(new EpicTask("Epic", "Description"));
+        SubTask subTask = manager.addSubTask(new SubTask("Subtask", "Description", TaskStatus.DONE, epic.getId(),
+                LocalDateTime.MAX.minusMinutes(1), Duration.ofMinutes(1)));
+        Task unscheduledTask = manager.addTask(new Task("Unscheduled", "Description", TaskStatus.NEW, null, null));
+
+        assertEquals(task.toString(), manager.getTaskById(task.getId()).toString());
+        assertEquals(subTask.toString(), manager.getSubTaskById(subTask.getId()).toString());
+        assertEquals(unscheduledTask.getName(), manager.getTaskById(unscheduledTask.getId()).getName());
+        assertNull(manager.getTaskById(unscheduledTask.getId()).getStartTime());
+        assertEquals(List.of(subTask.getId()), manager.getEpicTaskById(epic.getId()).getSubTaskIds());
+        assertNull(manager.getTaskById(subTask.getId()));
+        assertEquals(subTask.toString(), manager.findTask(TaskTypes.SUBTASK, subTask.getId()).toString());
+        assertNull(manager.findTask(TaskTypes.TASK, subTask.getId()));
+    }
+
+    @Test
+    void shouldCalculateEpicDataFromSubTasks() {
+        EpicTask epic = manager.addEpicTask(new EpicTask("Epic", "Description"));
+        assertEquals(TaskStatus.NEW, manager.getEpicTaskById(epic.getId()).getTaskStatus());
+        assertNull(manager.getEpicTaskById(epic.getId()).getDuration());
+        manager.addSubTask(new SubTask("First", "Description", TaskStatus.NEW, epic.getId(),
+                LocalDateTime.MIN, Duration.ofMinutes(2)));
+        SubTask second = manager.addSubTask(new SubTask("Second", "Description", TaskStatus.DONE, epic.getId(),
+                LocalDateTime.MAX.minusMinutes(1), Duration.ofMinutes(1)));
+
+        EpicTask storedEpic = manager.getEpicTaskById(epic.getId());
+        assertEquals(TaskStatus.IN_PROGRESS, storedEpic.getTaskStatus());
+        assertEquals(Duration.ofMinutes(3), storedEpic.getDuration());
+        assertEquals(LocalDateTime.MIN, storedEpic.getStartTime());
+        assertEquals(LocalDateTime.MAX, storedEpic.getEndTime());
+
+        manager.removeSubTaskById(second.getId());
+        assertEquals(TaskStatus.NEW, manager.getEpicTaskById(epic.getId()).getTaskStatus());
+        assertEquals(Duration.ofMinutes(2), manager.getEpicTaskById(epic.getId()).getDuration());
+    }
+
+    @Test
+    void shouldNotAddTaskIfItIntersectsNeighbour() {
+        manager.addTask(new Task("First Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        manager.addTask(new Task("Second Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(10)));
+        manager.addTask(new Task("Third Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(5), Duration.ofMinutes(10)));
+        manager.addTask(new Task("Fourth Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(95), Duration.ofMinutes(10)));
+        manager.addTask(new Task("Fifth Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(50), Duration.ofMinutes(100)));
+        manager.addTask(new Task("Adjacent Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(10), Duration.ofMinutes(10)));
+
+        assertEquals(List.of("First Task", "Adjacent Task", "Second Task"), getPrioritizedNames());
+    }
+
+    @Test
+    void shouldTreatTaskWithoutDurationAsPointAtItsStart() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        manager.addTask(new Task("Long Task", "Description", TaskStatus.NEW, start, Duration.ofHours(2)));
+        manager.addTask(new Task("Same Start", "Description", TaskStatus.NEW, start, null));
+        manager.addTask(new Task("Inside", "Description", TaskStatus.NEW, start.plusHours(1), null));
+        manager.addTask(new Task("After", "Description", TaskStatus.NEW, start.plusHours(3), null));
+        manager.addTask(new Task("Over Point", "Description", TaskStatus.NEW,
+                start.plusMinutes(170), Duration.ofMinutes(20)));
+
+        assertEquals(List.of("Long Task", "After"), getPrioritizedNames());
+    }
+
+    @Test
+    void shouldMoveUpdatedTaskInSchedule() {
+        Task task = manager.addTask(new Task("Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        manager.addTask(new Task("Other", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(20), Duration.ofMinutes(10)));
+        manager.updateTask(new Task(task.getId(), "Moved", "Description", TaskStatus.DONE,
+                LocalDateTime.MIN.plusMinutes(40), Duration.ofMinutes(10)));
+
+        assertEquals(List.of("Other", "Moved"), getPrioritizedNames());
+        assertEquals(TaskStatus.DONE, manager.getTaskById(task.getId()).getTaskStatus());
+    }
+
+    @Test
+    void shouldRemoveSubTasksWithEpic() {
+        EpicTask epic = manager.addEpicTask(new EpicTask("Epic", "Description"));
+        SubTask subTask = manager.addSubTask(new SubTask("Subtask", "Description", TaskStatus.NEW, epic.getId(),
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        manager.getSubTaskById(subTask.getId());
+        manager.getEpicTaskById(epic.getId());
+
+        manager.removeEpicTaskById(epic.getId());
+
+        assertTrue(manager.getAllSubTasks().isEmpty());
+        assertTrue(manager.getPrioritizedTasks().isEmpty());
+        assertTrue(manager.getHistory().isEmpty());
+        assertThrows(RuntimeException.class, () -> manager.addSubTask(new SubTask("Subtask", "Description",
+                TaskStatus.NEW, epic.getId(), null, null)));
+    }
+
+    @Test
+    void shouldReturnCurrentVersionsInHistory() {
+        Task task = manager.addTask(new Task("Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        manager.getTaskById(task.getId());
+        manager.updateTask(new Task(task.getId(), "Updated", "Description", TaskStatus.DONE,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+
+        assertEquals("Updated", manager.getHistory().get(0).getName());
+    }
+
+    @Test
+    void shouldKeepTasksFindableAfterManyRemovals() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            tasks.add(manager.addTask(new Task("Task " + i, "Description", TaskStatus.NEW,
+                    LocalDateTime.MIN.plusMinutes(i * 10L), Duration.ofMinutes(5))));
+        }
+        for (int i = 0; i < tasks.size(); i += 2) {
+            manager.removeTaskById(tasks.get(i).getId());
+        }
+        for (int i = 0; i < 500; i++) {
+            manager.addTask(new Task("Reused " + i, "Description", TaskStatus.NEW,
+                    LocalDateTime.MIN.plusMinutes(i * 20L), Duration.ofMinutes(5)));
+        }
+
+        for (int i = 1; i < tasks.size(); i += 2) {
+            assertEquals(tasks.get(i).getName(), manager.getTaskById(tasks.get(i).getId()).getName());
+        }
+        assertNull(manager.getTaskById(tasks.get(0).getId()));
+        assertEquals(1_000, manager.getAllTasks().size());
+        List<Task> prioritizedTasks = manager.getPrioritizedTasks();
+        for (int i = 1; i < prioritizedTasks.size(); i++) {
+            assertTrue(prioritizedTasks.get(i - 1).getStartTime().isBefore(prioritizedTasks.get(i).getStartTime()));
+        }
+    }
+
+    @Test
+    void shouldRejectIdUsedByAnotherTypeOfTask() {
+        EpicTask epic = manager.addEpicTask(new EpicTask("Epic", "Description"));
+        Task task = manager.addTask(new Task("Task", "Description", TaskStatus.NEW, null, null));
+
+        assertThrows(IllegalArgumentException.class, () -> manager.addSubTask(new SubTask(task.getId(), "Subtask",
+                "Description", TaskStatus.NEW, epic.getId(), null, null)));
+        assertThrows(IllegalArgumentException.class, () -> manager.addEpicTask(
+                new EpicTask(task.getId(), "Epic", "Description")));
+        assertThrows(IllegalArgumentException.class, () -> manager.addTask(new Task(epic.getId(), "Task",
+                "Description", TaskStatus.NEW, null, null)));
+        Task batchTask = new Task("Batch task", "Description", TaskStatus.NEW, null, null);
+        assertThrows(IllegalArgumentException.class, () -> manager.applyBatch(List.of(TaskOperation.add(batchTask),
+                TaskOperation.add(new SubTask(task.getId(), "Subtask", "Description", TaskStatus.NEW,
+                        epic.getId(), null, null)))));
+
+        assertEquals(List.of("Task"), manager.getAllTasks().stream().map(Task::getName).collect(Collectors.toList()));
+        assertTrue(manager.getAllSubTasks().isEmpty());
+        assertEquals(1, manager.getAllEpics().size());
+        assertEquals("Task", manager.getTaskById(task.getId()).getName());
+    }
+
+    @Test
+    void shouldRejectWholeBatchIfTasksOfBatchIntersect() {
+        Task existingTask = manager.addTask(new Task("Existing", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        Task firstTask = new Task("First", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(20), Duration.ofMinutes(10));
+        Task secondTask = new Task("Second", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(25), Duration.ofMinutes(10));
+
+        assertFalse(manager.applyBatch(List.of(TaskOperation.add(firstTask), TaskOperation.add(secondTask))));
+        assertEquals(List.of("Existing"), getPrioritizedNames());
+        assertNull(firstTask.getId());
+
+        Task movedTask = new Task(existingTask.getId(), "Moved", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(40), Duration.ofMinutes(10));
+        assertTrue(manager.applyBatch(List.of(TaskOperation.update(movedTask), TaskOperation.add(firstTask))));
+        assertEquals(List.of("First", "Moved"), getPrioritizedNames());
+    }
+
+    @Test
+    void shouldApplyBatchUsingSlotFreedInSameBatch() {
+        Task oldTask = manager.addTask(new Task("Old", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        Task newTask = new Task("New", "Description", TaskStatus.NEW, LocalDateTime.MIN, Duration.ofMinutes(10));
+
+        assertTrue(manager.applyBatch(List.of(
+                TaskOperation.remove(TaskTypes.TASK, oldTask.getId()),
+                TaskOperation.add(newTask))));
+        assertEquals(List.of("New"), getPrioritizedNames());
+        assertNull(manager.getTaskById(oldTask.getId()));
+    }
+
+    @Test
+    void shouldFindFreeSlotsAroundRemovedTasks() {
+        LocalDateTime dayStart = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(manager.addTask(new Task("Task " + i, "Description", TaskStatus.NEW,
+                    dayStart.plusMinutes(i * 10L), Duration.ofMinutes(10))));
+        }
+        manager.removeTaskById(tasks.get(50).getId());
+        manager.removeTaskById(tasks.get(70).getId());
+        manager.removeTaskById(tasks.get(71).getId());
+
+        assertEquals(dayStart.plusMinutes(500), manager.findFreeSlot(dayStart.minusMinutes(5), Duration.ofMinutes(10)));
+        assertEquals(dayStart.plusMinutes(700), manager.findFreeSlot(dayStart, Duration.ofMinutes(15)));
+        assertEquals(dayStart.plusMinutes(1000), manager.findFreeSlot(dayStart, Duration.ofMinutes(30)));
+        assertEquals(List.of(new TimeSlot(dayStart.plusMinutes(500), dayStart.plusMinutes(510)),
+                new TimeSlot(dayStart.plusMinutes(700), dayStart.plusMinutes(720))),
+                manager.findFreeSlots(dayStart.plusMinutes(5), dayStart.plusMinutes(1000), Duration.ofMinutes(5), 10));
+    }
+
+    @Test
+    void shouldPagePrioritizedTasksAroundRemovedTasks() {
+        LocalDateTime dayStart = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(manager.addTask(new Task("Task " + i, "Description", TaskStatus.NEW,
+                    dayStart.plusMinutes(i * 10L), Duration.ofMinutes(10))));
+        }
+        manager.removeTaskById(tasks.get(3).getId());
+        manager.removeTaskById(tasks.get(4).getId());
+
+        TaskPage page = manager.getPrioritizedTasksPage(dayStart.plusMinutes(10), 2);
+        assertEquals(List.of("Task 2", "Task 5"), getNames(page.getTasks()));
+        assertEquals(dayStart.plusMinutes(50), page.getNextCursor());
+        assertEquals(List.of("Task 5", "Task 6"),
+                getNames(manager.getPrioritizedTasks(dayStart.plusMinutes(30), dayStart.plusMinutes(70))));
+    }
+
+    @Test
+    void shouldSearchTasksOfBoard() {
+        EpicTask epic = manager.addEpicTask(new EpicTask("Release", "Description"));
+        manager.addSubTask(new SubTask("Release notes", "Write notes", TaskStatus.NEW, epic.getId(), null, null));
+        manager.addTask(new Task("Notes review", "Description", TaskStatus.NEW, null, null));
+
+        assertEquals(List.of("Release notes", "Notes review"), getNames(manager.searchTasks("note", 10)));
+        assertEquals(List.of("Release notes"), getNames(manager.searchTasks("release note", 10)));
+
+        manager.updateEpicTask(new EpicTask(epic.getId(), "Launch", "Description", TaskStatus.NEW, List.of()));
+        assertEquals(List.of("Launch"), getNames(manager.searchTasks("laun", 10)));
+        manager.removeEpicTaskById(epic.getId());
+        assertEquals(List.of("Notes review"), getNames(manager.searchTasks("note", 10)));
+        assertTrue(manager.searchTasks("launch", 10).isEmpty());
+    }
+
+    private List<String> getPrioritizedNames() {
+        return getNames(manager.getPrioritizedTasks());
+    }
+
+    private static List<String> getNames(List<Task> tasks) {
+        return tasks.stream().map(Task::getName).collect(Collectors.toList());
+    }
+}
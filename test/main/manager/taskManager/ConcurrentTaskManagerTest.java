@@ -0,0 +1,275 @@
+package main.manager.taskManager;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+
+    private static final int THREADS_COUNT = 8;
+    private static final int TASKS_PER_THREAD = 500;
+
+    @BeforeEach
+    void setUp() {
+        manager = new ConcurrentTaskManager();
+    }
+
+    // epics are handed out as copies made under the lock of the epic, so they are compared by id
+
+    @Override
+    @Test
+    void addEpicTask() {
+        EpicTask epicTask = manager.addEpicTask(new EpicTask("First Epic", "First Epic description"));
+        assertEquals(List.of(epicTask.getId()), getIds(manager.getAllEpics()));
+    }
+
+    @Override
+    @Test
+    void removeEpicTaskById() {
+        EpicTask epicTask = manager.addEpicTask(new EpicTask("First Epic", "First Epic description"));
+        assertEquals(List.of(epicTask.getId()), getIds(manager.getAllEpics()));
+        manager.removeEpicTaskById(epicTask.getId());
+        assertEquals(List.of(), manager.getAllEpics());
+    }
+
+    @Override
+    @Test
+    void clearEpicTaskLists() {
+        EpicTask epicTask = manager.addEpicTask(new EpicTask("First Epic", "First Epic description"));
+        EpicTask secondEpic = manager.addEpicTask(new EpicTask("Second Epic", "Second Epic"));
+        assertEquals(Set.of(epicTask.getId(), secondEpic.getId()), Set.copyOf(getIds(manager.getAllEpics())));
+        manager.clearEpicTaskLists();
+        assertEquals(List.of(), manager.getAllEpics());
+    }
+
+    @Override
+    @Test
+    void getEpicTaskById() {
+        EpicTask epicTask = manager.addEpicTask(new EpicTask("First Epic", "First Epic description"));
+        EpicTask storedEpic = manager.getEpicTaskById(epicTask.getId());
+        assertNotSame(epicTask, storedEpic);
+        assertEquals(epicTask.toString(), storedEpic.toString());
+        storedEpic.addSubTaskId(UUID.randomUUID());
+        assertEquals(List.of(), manager.getEpicTaskById(epicTask.getId()).getSubTaskIds());
+    }
+
+    @Override
+    @Test
+    void getAllEpics() {
+        EpicTask epicTask = manager.addEpicTask(new EpicTask("First Epic", "First Epic description"));
+        EpicTask secondEpic = manager.addEpicTask(new EpicTask("Second Epic", "Second Epic"));
+        assertEquals(Set.of(epicTask.getId(), secondEpic.getId()), Set.copyOf(getIds(manager.getAllEpics())));
+    }
+
+    @Override
+    @Test
+    void getHistory() {
+        EpicTask epicTask = manager.addEpicTask(new EpicTask("First Epic", "First Epic description"));
+        Task task = manager.addTask(new Task("Second Epic", "Second Epic", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        SubTask subTask =  manager.addSubTask(new SubTask("First sub task", "First subtask",
+                TaskStatus.NEW, epicTask.getId(), LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1)));
+        manager.getTaskById(task.getId());
+        manager.getSubTaskById(subTask.getId());
+        manager.getEpicTaskById(epicTask.getId());
+        assertEquals(getIds(List.of(task, subTask, epicTask)), getIds(manager.getHistory()));
+        manager.clearTaskList();
+        assertEquals(getIds(List.of(subTask, epicTask)), getIds(manager.getHistory()));
+        manager.clearSubTaskLists();
+        List<Task> history = manager.getHistory();
+        assertEquals(List.of(epicTask.getId()), getIds(history));
+        assertEquals(List.of(), ((EpicTask) history.get(0)).getSubTaskIds());
+        manager.clearEpicTaskLists();
+        assertEquals(List.of(), manager.getHistory());
+    }
+
+    @Test
+    void shouldNotScheduleIntersectingTasksFromDifferentThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS_COUNT; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                    manager.addTask(new Task("Task", "Description", TaskStatus.NEW,
+                            LocalDateTime.MIN.plusMinutes(i * 10L), Duration.ofMinutes(5)));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(TASKS_PER_THREAD, manager.getAllTasks().size());
+        assertEquals(TASKS_PER_THREAD, manager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    void shouldKeepEpicDataConsistentWhenSubtasksAreAddedInParallel() throws Exception {
+        List<EpicTask> epics = new ArrayList<>();
+        for (int thread = 0; thread < THREADS_COUNT; thread++) {
+            epics.add(manager.addEpicTask(new EpicTask("Epic " + thread, "Description")));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS_COUNT; thread++) {
+            EpicTask epic = epics.get(thread);
+            long offset = thread * TASKS_PER_THREAD * 10L;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                    manager.addSubTask(new SubTask("Subtask", "Description", TaskStatus.DONE, epic.getId(),
+                            LocalDateTime.MIN.plusMinutes(offset + i * 10L), Duration.ofMinutes(1)));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (EpicTask epic : epics) {
+            EpicTask storedEpic = manager.getEpicTaskById(epic.getId());
+            assertEquals(TASKS_PER_THREAD, manager.getSubtasksOfEpic(epic.getId()).size());
+            assertEquals(TaskStatus.DONE, storedEpic.getTaskStatus());
+            assertEquals(Duration.ofMinutes(TASKS_PER_THREAD), storedEpic.getDuration());
+        }
+        assertEquals(THREADS_COUNT * TASKS_PER_THREAD, manager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    void shouldKeepSubtaskScheduledWhenRemovedAsTask() {
+        EpicTask epic = manager.addEpicTask(new EpicTask("Epic", "Description"));
+        SubTask subTask = manager.addSubTask(new SubTask("Subtask", "Description", TaskStatus.NEW, epic.getId(),
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        manager.getSubTaskById(subTask.getId());
+
+        manager.removeTaskById(subTask.getId());
+        assertEquals(List.of(subTask), manager.getAllSubTasks());
+        assertEquals(List.of(subTask), manager.getPrioritizedTasks());
+        assertEquals(List.of(subTask), manager.getHistory());
+
+        Task overlappingTask = manager.addTask(new Task("Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(5), Duration.ofMinutes(10)));
+        assertNull(overlappingTask.getId());
+        assertTrue(manager.getAllTasks().isEmpty());
+    }
+
+    @Test
+    void shouldReturnConsistentEpicsWhileSubtasksChange() throws Exception {
+        List<EpicTask> epics = new ArrayList<>();
+        for (int thread = 0; thread < THREADS_COUNT / 2; thread++) {
+            epics.add(manager.addEpicTask(new EpicTask("Epic " + thread, "Description")));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int thread = 0; thread < epics.size(); thread++) {
+            EpicTask epic = epics.get(thread);
+            long offset = thread * TASKS_PER_THREAD * 10L;
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                    SubTask subTask = manager.addSubTask(new SubTask("Subtask", "Description", TaskStatus.DONE,
+                            epic.getId(), LocalDateTime.MIN.plusMinutes(offset + i * 10L), Duration.ofMinutes(1)));
+                    if (i % 2 == 0) {
+                        manager.removeSubTaskById(subTask.getId());
+                    }
+                }
+            }));
+        }
+        List<Future<?>> readers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS_COUNT - epics.size(); thread++) {
+            readers.add(executor.submit(() -> {
+                while (isWriting.get()) {
+                    for (EpicTask epic : manager.getAllEpics()) {
+                        assertEpicMatchesSubtasks(epic);
+                        assertEpicMatchesSubtasks(manager.getEpicTaskById(epic.getId()));
+                        manager.getSubtasksOfEpic(epic.getId()).forEach(Assertions::assertNotNull);
+                    }
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        isWriting.set(false);
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        executor.shutdown();
+
+        for (EpicTask epic : epics) {
+            assertEquals(TASKS_PER_THREAD / 2, manager.getEpicTaskById(epic.getId()).getSubTaskIds().size());
+        }
+    }
+
+    @Test
+    void shouldNotShowTasksOfRejectedBatchToReaders() throws Exception {
+        Task existingTask = manager.addTask(new Task("Existing task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS_COUNT - 1; thread++) {
+            readers.add(executor.submit(() -> {
+                while (isWriting.get()) {
+                    assertEquals(List.of(existingTask.getId()), getIds(manager.getPrioritizedTasks()));
+                }
+            }));
+        }
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                assertFalse(manager.applyBatch(List.of(
+                        TaskOperation.remove(TaskTypes.TASK, existingTask.getId()),
+                        TaskOperation.add(new Task("First task", "Description", TaskStatus.NEW,
+                                LocalDateTime.MIN.plusMinutes(20), Duration.ofMinutes(10))),
+                        TaskOperation.add(new Task("Second task", "Description", TaskStatus.NEW,
+                                LocalDateTime.MIN.plusMinutes(25), Duration.ofMinutes(10))))));
+            }
+        });
+        writer.get();
+        isWriting.set(false);
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        executor.shutdown();
+
+        assertEquals(List.of(existingTask), manager.getPrioritizedTasks());
+    }
+
+    private static List<UUID> getIds(List<? extends Task> tasks) {
+        List<UUID> ids = new ArrayList<>();
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
+    private static void assertEpicMatchesSubtasks(EpicTask epic) {
+        int subTasksCount = epic.getSubTaskIds().size();
+        if (subTasksCount == 0) {
+            assertEquals(TaskStatus.NEW, epic.getTaskStatus());
+            assertNull(epic.getDuration());
+        } else {
+            assertEquals(TaskStatus.DONE, epic.getTaskStatus());
+            assertEquals(Duration.ofMinutes(subTasksCount), epic.getDuration());
+        }
+    }
+}
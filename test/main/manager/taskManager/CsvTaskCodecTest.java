@@ -0,0 +1,76 @@
+package main.manager.taskManager;
+
+import main.tasks.EpicTask;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvTaskCodecTest {
+
+    private final CsvTaskCodec codec = new CsvTaskCodec();
+
+    @Test
+    void shouldWritePlainRowsAsToString() {
+        Task task = new Task(UUID.randomUUID(), "Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(5));
+        SubTask subTask = new SubTask(UUID.randomUUID(), "Subtask", "Description", TaskStatus.DONE,
+                UUID.randomUUID(), LocalDateTime.MAX.minusMinutes(1), Duration.ofMinutes(1));
+        EpicTask epic = new EpicTask(UUID.randomUUID(), "Epic", "Description");
+        assertEquals(task.toString(), codec.encode(task).toString());
+        assertEquals(subTask.toString(), codec.encode(subTask).toString());
+        assertEquals(epic.toString(), codec.encode(epic).toString());
+    }
+
+    @Test
+    void shouldDecodeQuotedFields() {
+        SubTask subTask = new SubTask(UUID.randomUUID(), "Name, with \"quotes\"", "Line one\nline two, \"end\"",
+                TaskStatus.IN_PROGRESS, UUID.randomUUID(), LocalDateTime.of(2024, 1, 1, 10, 30),
+                Duration.ofMinutes(90));
+        String row = codec.encode(subTask).toString();
+        SubTask decoded = (SubTask) codec.decode("ADD," + row, 4);
+        assertEquals(subTask.getId(), decoded.getId());
+        assertEquals(subTask.getName(), decoded.getName());
+        assertEquals(subTask.getDescription(), decoded.getDescription());
+        assertEquals(subTask.getTaskStatus(), decoded.getTaskStatus());
+        assertEquals(subTask.getEpicId(), decoded.getEpicId());
+        assertEquals(subTask.getStartTime(), decoded.getStartTime());
+        assertEquals(subTask.getDuration(), decoded.getDuration());
+    }
+
+    @Test
+    void shouldDecodeEmptyTimeAsAbsent() {
+        Task task = new Task(UUID.randomUUID(), "Task", "", TaskStatus.NEW, null, null);
+        Task decoded = codec.decode(codec.encode(task), 0);
+        assertEquals("", decoded.getDescription());
+        assertNull(decoded.getStartTime());
+        assertNull(decoded.getDuration());
+    }
+
+    @Test
+    void shouldSkipRowsWithoutTaskType() {
+        assertNull(codec.decode(UUID.randomUUID() + "," + UUID.randomUUID(), 0));
+        assertNull(codec.decode("", 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode(UUID.randomUUID() + ",TASK,\"Not closed,NEW,Description", 0));
+    }
+
+    @Test
+    void shouldJoinLinesOfQuotedLineBreaks() {
+        List<String> lines = List.of("header", "id,TASK,\"First", "", "second\",NEW,Description", "last");
+        assertEquals(List.of("header", "id,TASK,\"First\n\nsecond\",NEW,Description", "last"),
+                CsvTaskCodec.joinQuotedLines(lines));
+        List<String> plainLines = List.of("header", "row");
+        assertSame(plainLines, CsvTaskCodec.joinQuotedLines(plainLines));
+    }
+}
@@ -1,6 +1,7 @@
 package main.manager.taskManager;
 
 import main.customExceptions.ManagerReadException;
+import main.customExceptions.ManagerSaveException;
 import main.tasks.EpicTask;
 import main.tasks.SubTask;
 import main.tasks.Task;
@@ -12,12 +13,19 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
 
@@ -49,6 +57,49 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
         assertEquals(1, secondFileBackedTaskManager.getHistory().size());
     }
 
+    @Test
+    public void shouldReadHistoryLineOfLegacyCsvFile() throws IOException {
+        UUID taskId = UUID.fromString("123e4567-e89b-12d3-a456-556642440000");
+        UUID epicId = UUID.fromString("123e4567-e89b-12d3-a456-556642440312");
+        UUID subTaskId = UUID.fromString("123e4567-e89b-12d3-a456-556642440884");
+        Files.write(tmpFile.toPath(), List.of(CSV_FILE_HEADER.trim(),
+                taskId + ",TASK,Task1,NEW,Description task1,2024-04-03T17:04:40,1",
+                epicId + ",EPIC,Epic2,DONE,Description epic2",
+                subTaskId + ",SUBTASK,Sub Task2,DONE,Description sub task3,2024-04-03T18:04:40,1," + epicId,
+                "",
+                epicId + "," + subTaskId), StandardCharsets.UTF_8);
+
+        FileBackedTaskManager legacyManager = FileBackedTaskManager.loadFromFile(tmpFile);
+        assertEquals(List.of(epicId, subTaskId), legacyManager.getHistory().stream()
+                .map(Task::getId)
+                .collect(Collectors.toList()));
+
+        legacyManager.getTaskById(taskId);
+        legacyManager.flushHistory();
+        assertEquals(List.of(epicId, subTaskId, taskId), FileBackedTaskManager.loadFromFile(tmpFile).getHistory()
+                .stream()
+                .map(Task::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldKeepHistoryOfLegacyCsvFileAfterFirstSave() throws IOException {
+        UUID taskId = UUID.fromString("123e4567-e89b-12d3-a456-556642440000");
+        Files.write(tmpFile.toPath(), List.of(CSV_FILE_HEADER.trim(),
+                taskId + ",TASK,Task1,NEW,Description task1,2024-04-03T17:04:40,1",
+                "",
+                taskId.toString()), StandardCharsets.UTF_8);
+
+        FileBackedTaskManager legacyManager = FileBackedTaskManager.loadFromFile(tmpFile);
+        legacyManager.addTask(new Task("Task2", "Description task2", TaskStatus.NEW, null, null));
+
+        FileBackedTaskManager reloadedManager = FileBackedTaskManager.loadFromFile(tmpFile);
+        assertEquals(2, reloadedManager.getAllTasks().size());
+        assertEquals(List.of(taskId), reloadedManager.getHistory().stream()
+                .map(Task::getId)
+                .collect(Collectors.toList()));
+    }
+
     @Test
     public void shouldInitiateProperManagerStateAfterEmptyFileLoad() {
         assertEquals(0, manager.getAllTasks().size());
@@ -81,4 +132,338 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
             manager = FileBackedTaskManager.loadFromFile(newTempFile);;
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldRestoreStateFromJournalWithoutRewritingCsvFile() throws IOException {
+        List<String> csvFileContent = Files.readAllLines(tmpFile.toPath());
+        FileBackedTaskManager journalManager = FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL);
+        Task task = journalManager.addTask(new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        EpicTask epic = journalManager.addEpicTask(new EpicTask("First Epic", "Description"));
+        SubTask subTask = journalManager.addSubTask(new SubTask("First subtask", "Description", TaskStatus.DONE,
+                epic.getId(), LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1)));
+        journalManager.updateEpicTask(new EpicTask(epic.getId(), "Updated Epic", "Description"));
+        journalManager.removeTaskById(task.getId());
+        journalManager.getSubTaskById(subTask.getId());
+
+        assertEquals(csvFileContent, Files.readAllLines(tmpFile.toPath()));
+
+        TaskManager restoredManager = FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL);
+        assertEquals(0, restoredManager.getAllTasks().size());
+        assertEquals(List.of(subTask.getId()), restoredManager.getSubtasksOfEpic(epic.getId()).stream()
+                .map(Task::getId).collect(Collectors.toList()));
+        assertEquals("Updated Epic", restoredManager.getAllEpics().get(0).getName());
+        assertEquals(1, restoredManager.getHistory().size());
+    }
+
+    @Test
+    public void shouldCompactJournalIntoCsvFile() throws IOException {
+        FileBackedTaskManager journalManager = FileBackedTaskManager.loadFromFile(tmpFile,
+                FileStorageSettings.defaults().withPersistenceMode(PersistenceMode.JOURNAL)
+                        .withJournalCompactionThreshold(2));
+        journalManager.addTask(new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        journalManager.addTask(new Task("Second task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1)));
+
+        assertEquals(0, Files.size(new File(tmpFile.getPath() + ".journal").toPath()));
+        assertEquals(2, FileBackedTaskManager.loadFromFile(tmpFile).getAllTasks().size());
+    }
+
+    @Test
+    public void shouldIgnorePartiallyWrittenLastJournalRecord() throws IOException {
+        FileBackedTaskManager journalManager = FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL);
+        journalManager.addTask(new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        Files.write(new File(tmpFile.getPath() + ".journal").toPath(), "ADD,123e4567-e89b".getBytes(),
+                StandardOpenOption.APPEND);
+
+        assertEquals(1, FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL).getAllTasks().size());
+    }
+
+    @Test
+    public void shouldThrowWhenLastJournalRecordCannotBeReplayed() throws IOException {
+        FileBackedTaskManager journalManager = FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL);
+        EpicTask epic = journalManager.addEpicTask(new EpicTask("First Epic", "Description"));
+        journalManager.addSubTask(new SubTask("First subtask", "Description", TaskStatus.NEW,
+                epic.getId(), LocalDateTime.MIN, Duration.ofMinutes(1)));
+        journalManager.removeEpicTaskById(epic.getId());
+        File journalFile = new File(tmpFile.getPath() + ".journal");
+        String addSubTaskRecord = Files.readAllLines(journalFile.toPath()).get(1);
+        Files.write(journalFile.toPath(), List.of(addSubTaskRecord.replaceFirst("^ADD,", "UPDATE,")),
+                StandardOpenOption.APPEND);
+
+        assertThrows(ManagerReadException.class,
+                () -> FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL));
+    }
+
+    @Test
+    public void shouldNotRewriteCsvFileOnRead() throws IOException {
+        Task task = manager.addTask(new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        long lastModified = tmpFile.lastModified();
+        List<String> csvFileContent = Files.readAllLines(tmpFile.toPath());
+        tmpFile.setLastModified(0);
+
+        manager.getTaskById(task.getId());
+
+        assertEquals(0, tmpFile.lastModified());
+        assertEquals(csvFileContent, Files.readAllLines(tmpFile.toPath()));
+        tmpFile.setLastModified(lastModified);
+        assertEquals(List.of(task.getId()), FileBackedTaskManager.loadFromFile(tmpFile).getHistory().stream()
+                .map(Task::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldFlushHistoryWithTaskChanges() {
+        FileBackedTaskManager lazyManager = FileBackedTaskManager.loadFromFile(tmpFile,
+                FileStorageSettings.defaults().withHistoryFlushPolicy(HistoryFlushPolicy.WITH_TASK_CHANGES));
+        Task task = lazyManager.addTask(new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        lazyManager.getTaskById(task.getId());
+        assertEquals(0, FileBackedTaskManager.loadFromFile(tmpFile).getHistory().size());
+
+        lazyManager.addEpicTask(new EpicTask("First Epic", "Description"));
+        assertEquals(1, FileBackedTaskManager.loadFromFile(tmpFile).getHistory().size());
+    }
+
+    @Test
+    public void shouldFlushHistoryOnlyManuallyWithManualPolicy() {
+        FileBackedTaskManager manualManager = FileBackedTaskManager.loadFromFile(tmpFile,
+                FileStorageSettings.defaults().withHistoryFlushPolicy(HistoryFlushPolicy.MANUAL));
+        Task task = manualManager.addTask(new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        manualManager.getTaskById(task.getId());
+        manualManager.addEpicTask(new EpicTask("First Epic", "Description"));
+        assertEquals(0, FileBackedTaskManager.loadFromFile(tmpFile).getHistory().size());
+
+        manualManager.flushHistory();
+        assertEquals(1, FileBackedTaskManager.loadFromFile(tmpFile).getHistory().size());
+    }
+
+    @Test
+    public void shouldReportLoadStatisticsWithoutRewritingFile() throws IOException {
+        EpicTask epic = manager.addEpicTask(new EpicTask("First Epic", "Description"));
+        manager.addSubTask(new SubTask("First subtask", "Description", TaskStatus.DONE, epic.getId(),
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        manager.addTask(new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1)));
+        manager.getEpicTaskById(epic.getId());
+        tmpFile.setLastModified(0);
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(tmpFile);
+
+        assertEquals(0, tmpFile.lastModified());
+        LoadStatistics statistics = loadedManager.getLoadStatistics();
+        assertEquals(3, statistics.getLoadedTasksCount());
+        assertEquals(0, statistics.getSkippedTasksCount());
+        assertEquals(1, statistics.getHistorySize());
+        assertEquals(TaskStatus.DONE, loadedManager.getEpicTaskById(epic.getId()).getTaskStatus());
+    }
+
+    @Test
+    public void shouldSaveAndLoadBinarySnapshot() throws IOException {
+        File binaryFile = File.createTempFile("test", ".bin");
+        FileStorageSettings settings = FileStorageSettings.defaults().withSnapshotFormat(SnapshotFormat.BINARY);
+        FileBackedTaskManager binaryManager = FileBackedTaskManager.loadFromFile(binaryFile, settings);
+        Task task = binaryManager.addTask(new Task("First task", "Description, with comma \u00e9", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        EpicTask epic = binaryManager.addEpicTask(new EpicTask("First Epic", null));
+        SubTask subTask = binaryManager.addSubTask(new SubTask("First subtask", "Description", TaskStatus.DONE,
+                epic.getId(), LocalDateTime.MAX.minusMinutes(1), Duration.ofMinutes(1)));
+
+        FileBackedTaskManager loadedManager = FileBackedTaskManager.loadFromFile(binaryFile, settings);
+
+        assertEquals(task.toString(), loadedManager.getTaskById(task.getId()).toString());
+        assertEquals(subTask.getStartTime(), loadedManager.getSubTaskById(subTask.getId()).getStartTime());
+        assertEquals(subTask.getDuration(), loadedManager.getSubTaskById(subTask.getId()).getDuration());
+        EpicTask loadedEpic = loadedManager.getEpicTaskById(epic.getId());
+        assertNull(loadedEpic.getDescription());
+        assertEquals(TaskStatus.DONE, loadedEpic.getTaskStatus());
+        assertEquals(LocalDateTime.MAX, loadedEpic.getEndTime());
+    }
+
+    @Test
+    public void shouldThrowWhenBinarySnapshotIsInvalid() {
+        assertThrows(ManagerReadException.class, () -> FileBackedTaskManager.loadFromFile(tmpFile,
+                FileStorageSettings.defaults().withSnapshotFormat(SnapshotFormat.BINARY)));
+    }
+
+    @Test
+    public void shouldPersistAppliedBatch() throws IOException {
+        FileBackedTaskManager journalManager = FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL);
+        EpicTask epic = new EpicTask(UUID.randomUUID(), "First Epic", "Description");
+        journalManager.applyBatch(List.of(
+                TaskOperation.add(new Task("First task", "Description", TaskStatus.NEW,
+                        LocalDateTime.MIN, Duration.ofMinutes(1))),
+                TaskOperation.add(epic),
+                TaskOperation.add(new SubTask("First subtask", "Description", TaskStatus.NEW, epic.getId(),
+                        LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1)))));
+
+        assertEquals(3, Files.readAllLines(new File(tmpFile.getPath() + ".journal").toPath()).size());
+        TaskManager restoredManager = FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL);
+        assertEquals(1, restoredManager.getAllTasks().size());
+        assertEquals(1, restoredManager.getSubtasksOfEpic(epic.getId()).size());
+
+        assertFalse(journalManager.applyBatch(List.of(
+                TaskOperation.add(new Task("Second task", "Description", TaskStatus.NEW,
+                        LocalDateTime.MIN, Duration.ofMinutes(1))))));
+        assertEquals(3, Files.readAllLines(new File(tmpFile.getPath() + ".journal").toPath()).size());
+    }
+
+    @Test
+    public void shouldWriteJournalAsynchronouslyOnFlush() {
+        FileStorageSettings settings = FileStorageSettings.defaults().withPersistenceMode(PersistenceMode.JOURNAL)
+                .withAsyncWrites(Duration.ofHours(1), 1_000).withDurabilityMode(DurabilityMode.FSYNC);
+        FileBackedTaskManager asyncManager = FileBackedTaskManager.loadFromFile(tmpFile, settings);
+        Task task = asyncManager.addTask(new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        EpicTask epic = asyncManager.addEpicTask(new EpicTask("First Epic", "Description"));
+        asyncManager.addSubTask(new SubTask("First subtask", "Description", TaskStatus.DONE, epic.getId(),
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1)));
+        asyncManager.getTaskById(task.getId());
+        asyncManager.flush();
+
+        TaskManager restoredManager = FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL);
+        assertEquals(1, restoredManager.getAllTasks().size());
+        assertEquals(1, restoredManager.getSubtasksOfEpic(epic.getId()).size());
+        assertEquals(List.of(task.getId()), restoredManager.getHistory().stream()
+                .map(Task::getId).collect(Collectors.toList()));
+        asyncManager.close();
+    }
+
+    @Test
+    public void shouldWriteSnapshotAsynchronouslyOnClose() {
+        FileStorageSettings settings = FileStorageSettings.defaults()
+                .withAsyncWrites(Duration.ofHours(1), 1_000).withDurabilityMode(DurabilityMode.NONE);
+        FileBackedTaskManager asyncManager = FileBackedTaskManager.loadFromFile(tmpFile, settings);
+        for (int i = 0; i < 10; i++) {
+            asyncManager.addTask(new Task("Task " + i, "Description", TaskStatus.NEW,
+                    LocalDateTime.MIN.plusMinutes(10 * i), Duration.ofMinutes(1)));
+        }
+        asyncManager.close();
+
+        assertEquals(10, FileBackedTaskManager.loadFromFile(tmpFile).getAllTasks().size());
+        assertThrows(ManagerSaveException.class, () -> asyncManager.addTask(new Task("Late task", "Description",
+                TaskStatus.NEW, LocalDateTime.MAX.minusMinutes(1), Duration.ofMinutes(1))));
+    }
+
+    @Test
+    public void shouldCompactJournalAsynchronously() throws IOException {
+        FileStorageSettings settings = FileStorageSettings.defaults().withPersistenceMode(PersistenceMode.JOURNAL)
+                .withJournalCompactionThreshold(2).withAsyncWrites(Duration.ofMillis(10), 1);
+        FileBackedTaskManager asyncManager = FileBackedTaskManager.loadFromFile(tmpFile, settings);
+        for (int i = 0; i < 5; i++) {
+            asyncManager.addTask(new Task("Task " + i, "Description", TaskStatus.NEW,
+                    LocalDateTime.MIN.plusMinutes(10 * i), Duration.ofMinutes(1)));
+        }
+        asyncManager.close();
+
+        assertTrue(Files.readAllLines(new File(tmpFile.getPath() + ".journal").toPath()).size() < 2);
+        assertEquals(5, FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL).getAllTasks().size());
+    }
+
+    @Test
+    public void shouldRestoreStateFromMemoryMappedFiles() {
+        FileStorageSettings settings = FileStorageSettings.defaults().withStorageBackend(StorageBackend.MEMORY_MAPPED);
+        FileBackedTaskManager mappedManager = FileBackedTaskManager.loadFromFile(tmpFile, settings);
+        Task task = mappedManager.addTask(new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        EpicTask epic = mappedManager.addEpicTask(new EpicTask("First Epic", "Description"));
+        mappedManager.addSubTask(new SubTask("First subtask", "Description", TaskStatus.DONE, epic.getId(),
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1)));
+        mappedManager.getTaskById(task.getId());
+
+        TaskManager restoredManager = FileBackedTaskManager.loadFromFile(tmpFile);
+        assertEquals(mappedManager.getAllTasks().toString(), restoredManager.getAllTasks().toString());
+        assertEquals(1, restoredManager.getSubtasksOfEpic(epic.getId()).size());
+        assertEquals(1, restoredManager.getHistory().size());
+        assertEquals(mappedManager.getAllTasks().toString(),
+                FileBackedTaskManager.loadFromFile(tmpFile, settings).getAllTasks().toString());
+    }
+
+    @Test
+    public void shouldAppendToMemoryMappedJournalAfterRestart() throws IOException {
+        FileStorageSettings settings = FileStorageSettings.defaults().withPersistenceMode(PersistenceMode.JOURNAL)
+                .withStorageBackend(StorageBackend.MEMORY_MAPPED);
+        FileBackedTaskManager mappedManager = FileBackedTaskManager.loadFromFile(tmpFile, settings);
+        mappedManager.addTask(new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        Files.write(new File(tmpFile.getPath() + ".journal").toPath(), "ADD,123e4567-e89b".getBytes(),
+                StandardOpenOption.APPEND);
+
+        FileBackedTaskManager restartedManager = FileBackedTaskManager.loadFromFile(tmpFile, settings);
+        assertEquals(1, restartedManager.getAllTasks().size());
+        restartedManager.addTask(new Task("Second task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1)));
+        restartedManager.close();
+
+        assertEquals(2, Files.readAllLines(new File(tmpFile.getPath() + ".journal").toPath()).size());
+        assertEquals(2, FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL).getAllTasks().size());
+        restartedManager = FileBackedTaskManager.loadFromFile(tmpFile, settings);
+        restartedManager.compact();
+        assertEquals(2, FileBackedTaskManager.loadFromFile(tmpFile, settings).getAllTasks().size());
+        assertEquals(0, FileBackedTaskManager.loadFromFile(tmpFile, settings).getLoadStatistics()
+                .getJournalRecordsCount());
+    }
+
+    @Test
+    public void shouldReadMemoryMappedBinarySnapshot() throws IOException {
+        File binaryFile = File.createTempFile("test", ".bin");
+        FileStorageSettings settings = FileStorageSettings.defaults().withSnapshotFormat(SnapshotFormat.BINARY)
+                .withStorageBackend(StorageBackend.MEMORY_MAPPED);
+        FileBackedTaskManager binaryManager = FileBackedTaskManager.loadFromFile(binaryFile,
+                FileStorageSettings.defaults().withSnapshotFormat(SnapshotFormat.BINARY));
+        for (int i = 0; i < 100; i++) {
+            binaryManager.addTask(new Task("Task " + i, "Description", TaskStatus.NEW,
+                    LocalDateTime.MIN.plusMinutes(10 * i), Duration.ofMinutes(1)));
+        }
+
+        assertEquals(binaryManager.getAllTasks().toString(),
+                FileBackedTaskManager.loadFromFile(binaryFile, settings).getAllTasks().toString());
+    }
+
+    @Test
+    public void shouldLoadLargeBoardParsedInParallel() {
+        EpicTask epic = new EpicTask(UUID.randomUUID(), "Epic", "Description");
+        List<TaskOperation> operations = new ArrayList<>();
+        operations.add(TaskOperation.add(epic));
+        for (int i = 0; i < 20_000; i++) {
+            LocalDateTime startTime = LocalDateTime.MIN.plusMinutes(10L * i);
+            operations.add(TaskOperation.add(i % 2 == 0
+                    ? new Task("Task " + i, "Description", TaskStatus.NEW, startTime, Duration.ofMinutes(1))
+                    : new SubTask("Subtask " + i, "Description", TaskStatus.DONE, epic.getId(), startTime,
+                    Duration.ofMinutes(1))));
+        }
+        manager.applyBatch(operations);
+
+        TaskManager restoredManager = FileBackedTaskManager.loadFromFile(tmpFile);
+        assertEquals(manager.getAllTasks().toString(), restoredManager.getAllTasks().toString());
+        assertEquals(manager.getSubtasksOfEpic(epic.getId()).stream().map(Task::toString).sorted()
+                        .collect(Collectors.toList()),
+                restoredManager.getSubtasksOfEpic(epic.getId()).stream().map(Task::toString).sorted()
+                        .collect(Collectors.toList()));
+        assertEquals(TaskStatus.DONE, restoredManager.getEpicTaskById(epic.getId()).getTaskStatus());
+        assertEquals(20_000, restoredManager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    public void shouldKeepCommasQuotesAndLineBreaksInTextFields() {
+        String name = "Name, with \"quotes\"";
+        String description = "First line,\n\nsecond line";
+        EpicTask epic = manager.addEpicTask(new EpicTask(name, description));
+        SubTask subTask = manager.addSubTask(new SubTask(name, description, TaskStatus.NEW, epic.getId(),
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        manager.getEpicTaskById(epic.getId());
+        FileBackedTaskManager journalManager = FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL);
+        Task task = journalManager.addTask(new Task(name, description, TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1)));
+
+        TaskManager restoredManager = FileBackedTaskManager.loadFromFile(tmpFile, PersistenceMode.JOURNAL);
+        assertEquals(description, restoredManager.getTaskById(task.getId()).getDescription());
+        assertEquals(name, restoredManager.getEpicTaskById(epic.getId()).getName());
+        assertEquals(description, restoredManager.getSubTaskById(subTask.getId()).getDescription());
+        assertEquals(List.of(subTask.getId()), restoredManager.getSubtasksOfEpic(epic.getId()).stream()
+                .map(Task::getId).collect(Collectors.toList()));
+    }
+}
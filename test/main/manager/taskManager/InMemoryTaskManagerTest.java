@@ -4,6 +4,7 @@ import main.tasks.EpicTask;
 import main.tasks.SubTask;
 import main.tasks.Task;
 import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -75,4 +76,176 @@ class InMemoryTaskManagerTest extends TaskManagerTest<InMemoryTaskManager> {
                 LocalDateTime.MIN.plusMinutes(1000), Duration.ofMinutes(1)));
         assertEquals(TaskStatus.IN_PROGRESS, manager.getEpicTaskById(epic.getId()).getTaskStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRecalculateEpicDataOnSubtaskChanges() {
+        EpicTask epic = manager.addEpicTask(new EpicTask("First Epic", "Epic Description"));
+        SubTask firstSubTask = manager.addSubTask(new SubTask("First Subtask", "Description", TaskStatus.NEW,
+                epic.getId(), LocalDateTime.MIN, Duration.ofMinutes(1)));
+        SubTask secondSubTask = manager.addSubTask(new SubTask("Second Subtask", "Description", TaskStatus.NEW,
+                epic.getId(), LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(2)));
+        assertEquals(LocalDateTime.MIN.plusMinutes(102), epic.getEndTime());
+
+        firstSubTask.setTaskStatus(TaskStatus.DONE);
+        manager.updateSubTask(firstSubTask);
+        assertEquals(TaskStatus.IN_PROGRESS, epic.getTaskStatus());
+
+        manager.updateSubTask(new SubTask(secondSubTask.getId(), "Second Subtask", "Description", TaskStatus.DONE,
+                epic.getId(), LocalDateTime.MIN.plusMinutes(10), Duration.ofMinutes(5)));
+        assertEquals(TaskStatus.DONE, epic.getTaskStatus());
+        assertEquals(LocalDateTime.MIN.plusMinutes(15), epic.getEndTime());
+        assertEquals(Duration.ofMinutes(6), epic.getDuration());
+
+        manager.removeSubTaskById(firstSubTask.getId());
+        assertEquals(LocalDateTime.MIN.plusMinutes(10), epic.getStartTime());
+        assertEquals(Duration.ofMinutes(5), epic.getDuration());
+
+        manager.removeSubTaskById(secondSubTask.getId());
+        assertEquals(TaskStatus.NEW, epic.getTaskStatus());
+        assertNull(epic.getStartTime());
+        assertNull(epic.getDuration());
+    }
+
+    @Test
+    void shouldKeepOnlyLastViewsWithBoundedHistory() {
+        InMemoryTaskManager boundedManager = new InMemoryTaskManager(2);
+        Task firstTask = boundedManager.addTask(new Task("First Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        Task secondTask = boundedManager.addTask(new Task("Second Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1)));
+        EpicTask epic = boundedManager.addEpicTask(new EpicTask("First Epic", "Epic Description"));
+        boundedManager.getTaskById(firstTask.getId());
+        boundedManager.getTaskById(secondTask.getId());
+        boundedManager.getEpicTaskById(epic.getId());
+        Task updatedTask = new Task(secondTask.getId(), "Updated Task", "Description", TaskStatus.DONE,
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(1));
+        boundedManager.updateTask(updatedTask);
+        assertEquals(List.of(updatedTask, epic), boundedManager.getHistory());
+    }
+
+    @Test
+    void shouldShareSnapshotsUntilCollectionChanges() {
+        InMemoryTaskManager snapshotManager = new InMemoryTaskManager();
+        Task task = snapshotManager.addTask(new Task("Task", "Description", TaskStatus.NEW, LocalDateTime.MIN,
+                Duration.ofMinutes(1)));
+        EpicTask epic = snapshotManager.addEpicTask(new EpicTask("Epic", "Description"));
+        List<Task> tasks = snapshotManager.getAllTasks();
+        List<EpicTask> epics = snapshotManager.getAllEpics();
+        List<Task> prioritizedTasks = snapshotManager.getPrioritizedTasks();
+        long version = snapshotManager.getVersion();
+
+        assertSame(tasks, snapshotManager.getAllTasks());
+        assertSame(prioritizedTasks, snapshotManager.getPrioritizedTasks());
+        assertThrows(UnsupportedOperationException.class, () -> tasks.add(task));
+
+        snapshotManager.addSubTask(new SubTask("Subtask", "Description", TaskStatus.NEW, epic.getId(),
+                LocalDateTime.MIN.plusMinutes(10), Duration.ofMinutes(1)));
+        assertTrue(snapshotManager.getVersion() > version);
+        assertSame(tasks, snapshotManager.getAllTasks());
+        assertSame(epics, snapshotManager.getAllEpics());
+        assertNotSame(prioritizedTasks, snapshotManager.getPrioritizedTasks());
+        assertEquals(2, snapshotManager.getPrioritizedTasks().size());
+
+        snapshotManager.removeTaskById(task.getId());
+        assertTrue(snapshotManager.getAllTasks().isEmpty());
+        assertEquals(List.of(task), tasks);
+    }
+
+    @Test
+    void shouldKeepTasksGroupedByStatus() {
+        InMemoryTaskManager boardManager = new InMemoryTaskManager();
+        Task task = boardManager.addTask(new Task("Task", "Description", TaskStatus.NEW, LocalDateTime.MIN,
+                Duration.ofMinutes(1)));
+        EpicTask epic = boardManager.addEpicTask(new EpicTask("Epic", "Description"));
+        SubTask subTask = boardManager.addSubTask(new SubTask("Subtask", "Description", TaskStatus.DONE,
+                epic.getId(), LocalDateTime.MIN.plusMinutes(10), Duration.ofMinutes(1)));
+
+        assertEquals(List.of(task), boardManager.getTasksByStatus(TaskStatus.NEW));
+        assertEquals(List.of(subTask), boardManager.getTasksByStatus(TaskStatus.DONE));
+        assertEquals(List.of(epic), boardManager.getTasksByStatus(TaskTypes.EPIC, TaskStatus.DONE));
+        assertEquals(0, boardManager.getTasksCount(TaskTypes.EPIC, TaskStatus.NEW));
+
+        task.setTaskStatus(TaskStatus.IN_PROGRESS);
+        boardManager.updateTask(task);
+        assertEquals(0, boardManager.getTasksCount(TaskTypes.TASK, TaskStatus.NEW));
+        assertEquals(List.of(task), boardManager.getTasksByStatus(TaskStatus.IN_PROGRESS));
+
+        boardManager.removeSubTaskById(subTask.getId());
+        assertEquals(1, boardManager.getTasksCount(TaskTypes.EPIC, TaskStatus.NEW));
+        assertTrue(boardManager.getTasksByStatus(TaskStatus.DONE).isEmpty());
+
+        boardManager.clearTaskList();
+        assertEquals(0, boardManager.getTasksCount(TaskTypes.TASK));
+        assertEquals(1, boardManager.getTasksCount(TaskTypes.EPIC));
+        assertTrue(boardManager.getTasksByStatus(TaskTypes.TASK, TaskStatus.IN_PROGRESS).isEmpty());
+    }
+
+    @Test
+    void shouldReturnChangesSinceVersion() {
+        InMemoryTaskManager syncManager = new InMemoryTaskManager();
+        Task task = syncManager.addTask(new Task("Task", "Description", TaskStatus.NEW, LocalDateTime.MIN,
+                Duration.ofMinutes(1)));
+        Task removedTask = syncManager.addTask(new Task("Removed Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(10), Duration.ofMinutes(1)));
+        EpicTask epic = syncManager.addEpicTask(new EpicTask("Epic", "Description"));
+        long version = syncManager.getVersion();
+
+        task.setTaskStatus(TaskStatus.DONE);
+        syncManager.updateTask(task);
+        syncManager.updateTask(task);
+        syncManager.removeTaskById(removedTask.getId());
+        SubTask subTask = syncManager.addSubTask(new SubTask("Subtask", "Description", TaskStatus.NEW,
+                epic.getId(), LocalDateTime.MIN.plusMinutes(20), Duration.ofMinutes(1)));
+        Task temporaryTask = syncManager.addTask(new Task("Temporary Task", "Description", TaskStatus.NEW,
+                null, null));
+        syncManager.removeTaskById(temporaryTask.getId());
+
+        TaskChanges changes = syncManager.getChangesSince(version);
+        assertFalse(changes.isResyncRequired());
+        assertEquals(syncManager.getVersion(), changes.getVersion());
+        assertEquals(List.of(subTask), changes.getAddedTasks());
+        assertEquals(List.of(task, epic), changes.getUpdatedTasks());
+        assertEquals(List.of(removedTask.getId()), changes.getRemovedIds());
+
+        TaskChanges noChanges = syncManager.getChangesSince(changes.getVersion());
+        assertTrue(noChanges.getAddedTasks().isEmpty());
+        assertTrue(noChanges.getUpdatedTasks().isEmpty());
+        assertTrue(noChanges.getRemovedIds().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> syncManager.getChangesSince(-1));
+    }
+
+    @Test
+    void shouldRequireResyncWhenChangesAreNotRetained() {
+        InMemoryTaskManager syncManager = new InMemoryTaskManager();
+        Task task = syncManager.addTask(new Task("Task", "Description", TaskStatus.NEW, null, null));
+        long version = syncManager.getVersion();
+        for (int i = 0; i < 5000; i++) {
+            syncManager.updateTask(task);
+        }
+
+        TaskChanges changes = syncManager.getChangesSince(version);
+        assertTrue(changes.isResyncRequired());
+        assertEquals(syncManager.getVersion(), changes.getVersion());
+        assertTrue(changes.getUpdatedTasks().isEmpty());
+        assertEquals(List.of(task), syncManager.getChangesSince(syncManager.getVersion() - 10).getUpdatedTasks());
+        assertTrue(syncManager.getChangesSince(syncManager.getVersion() + 1).isResyncRequired());
+    }
+
+    @Test
+    void shouldKeepSubtaskScheduledWhenRemovedAsTask() {
+        EpicTask epic = manager.addEpicTask(new EpicTask("Epic", "Description"));
+        SubTask subTask = manager.addSubTask(new SubTask("Subtask", "Description", TaskStatus.NEW, epic.getId(),
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        manager.getSubTaskById(subTask.getId());
+
+        manager.removeTaskById(subTask.getId());
+        assertEquals(List.of(subTask), manager.getAllSubTasks());
+        assertEquals(List.of(subTask), manager.getPrioritizedTasks());
+        assertEquals(List.of(subTask), manager.getHistory());
+
+        Task overlappingTask = manager.addTask(new Task("Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(5), Duration.ofMinutes(10)));
+        assertNull(overlappingTask.getId());
+        assertTrue(manager.getAllTasks().isEmpty());
+    }
+}
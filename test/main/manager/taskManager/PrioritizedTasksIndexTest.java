@@ -0,0 +1,61 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrioritizedTasksIndexTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private PrioritizedTasksIndex index;
+    private Task longTask;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrioritizedTasksIndex();
+        longTask = createTask(START, Duration.ofHours(2));
+        index.add(longTask);
+    }
+
+    @Test
+    void shouldFindIntersectionsOfTasksWithoutDuration() {
+        assertTrue(index.isIntersected(createTask(START, null)));
+        assertTrue(index.isIntersected(createTask(START.plusHours(1), null)));
+        assertFalse(index.isIntersected(createTask(START.plusHours(3), null)));
+        assertTrue(index.isIntersected(createTask(START.minusMinutes(30), Duration.ofHours(1))));
+    }
+
+    @Test
+    void shouldNotReplaceOtherTaskWithSameStartTime() {
+        Task sameStart = createTask(START, null);
+
+        assertThrows(IllegalArgumentException.class, () -> index.add(sameStart));
+        index.remove(sameStart.getId());
+
+        assertEquals(List.of(longTask), index.toList());
+        assertTrue(index.isIntersected(createTask(START.plusMinutes(30), Duration.ofMinutes(10))));
+    }
+
+    @Test
+    void shouldMoveTaskWithSameId() {
+        Task movedTask = new Task(longTask.getId(), "Moved", "Description", TaskStatus.NEW,
+                START.plusHours(5), Duration.ofHours(1));
+        index.add(movedTask);
+
+        assertEquals(List.of(movedTask), index.toList());
+        assertEquals(movedTask, index.get(longTask.getId()));
+        assertFalse(index.isIntersected(createTask(START, Duration.ofHours(1))));
+    }
+
+    private static Task createTask(LocalDateTime startTime, Duration duration) {
+        return new Task(UUID.randomUUID(), "Task", "Description", TaskStatus.NEW, startTime, duration);
+    }
+}
@@ -0,0 +1,97 @@
+package main.manager.taskManager;
+
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class TaskEventPublisherTest {
+
+    private final Queue<Runnable> deliveries = new ArrayDeque<>();
+    private final TaskEventPublisher publisher = new TaskEventPublisher(deliveries::add, 1);
+
+    @Test
+    void shouldDropEventsForFullSubscriberWithoutBlocking() {
+        List<Long> sequences = new ArrayList<>();
+        publisher.getPublisher().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(TaskEvent event) {
+                sequences.add(event.getSequence());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        Task task = new Task("Task", "Description", TaskStatus.NEW, null, null);
+        for (int i = 0; i < 3; i++) {
+            publisher.publish(TaskEventType.UPDATED, task);
+        }
+        deliver();
+        publisher.publish(TaskEventType.UPDATED, task);
+        deliver();
+
+        assertEquals(List.of(1L, 4L), sequences);
+        assertEquals(4, publisher.getSequence());
+    }
+
+    @Test
+    void shouldPublishCopiesOnlyToSubscribers() {
+        Task task = new Task("Task", "Description", TaskStatus.NEW, null, null);
+        publisher.publish(TaskEventType.UPDATED, TaskTypes.TASK, task.getId(), () -> {
+            throw new AssertionError("Task should not be created without subscribers");
+        });
+        List<TaskEvent> events = new ArrayList<>();
+        publisher.getPublisher().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(TaskEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        publisher.publish(TaskEventType.UPDATED, task);
+        task.setName("Changed task");
+        deliver();
+
+        assertEquals(1, events.size());
+        assertEquals(2, events.get(0).getSequence());
+        assertEquals("Task", events.get(0).getTask().getName());
+        assertNotSame(task, events.get(0).getTask());
+    }
+
+    private void deliver() {
+        while (!deliveries.isEmpty()) {
+            deliveries.poll().run();
+        }
+    }
+}
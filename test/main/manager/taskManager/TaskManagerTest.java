@@ -4,13 +4,21 @@ import main.tasks.EpicTask;
 import main.tasks.SubTask;
 import main.tasks.Task;
 import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -249,4 +257,294 @@ abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(1, manager.getPrioritizedTasks().size());
         assertEquals(firstTask, manager.getTaskById(firstTask.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldNotAddTaskIfItIntersectsNeighbour() {
+        manager.addTask(new Task("First Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        manager.addTask(new Task("Second Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(10)));
+        manager.addTask(new Task("Third Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(5), Duration.ofMinutes(10)));
+        manager.addTask(new Task("Fourth Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(95), Duration.ofMinutes(10)));
+        manager.addTask(new Task("Fifth Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(50), Duration.ofMinutes(100)));
+        assertEquals(2, manager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    void shouldTreatTaskWithoutDurationAsPointAtItsStart() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Task longTask = manager.addTask(new Task("Long Task", "Description", TaskStatus.NEW,
+                start, Duration.ofHours(2)));
+        Task sameStart = manager.addTask(new Task("Same Start", "Description", TaskStatus.NEW, start, null));
+        Task inside = manager.addTask(new Task("Inside", "Description", TaskStatus.NEW, start.plusHours(1), null));
+        Task after = manager.addTask(new Task("After", "Description", TaskStatus.NEW, start.plusHours(3), null));
+        manager.addTask(new Task("Over Point", "Description", TaskStatus.NEW,
+                start.plusMinutes(170), Duration.ofMinutes(20)));
+
+        assertNull(sameStart.getId());
+        assertNull(inside.getId());
+        assertEquals(List.of(longTask, after), manager.getPrioritizedTasks());
+        manager.removeTaskById(after.getId());
+        assertEquals(List.of(longTask), manager.getPrioritizedTasks());
+    }
+
+    @Test
+    void shouldReturnPrioritizedTasksOrderedByStartTime() {
+        Task lateTask = manager.addTask(new Task("Late Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(100), Duration.ofMinutes(10)));
+        Task earlyTask = manager.addTask(new Task("Early Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        Task adjacentTask = manager.addTask(new Task("Adjacent Task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(10), Duration.ofMinutes(10)));
+        assertEquals(List.of(earlyTask, adjacentTask, lateTask), manager.getPrioritizedTasks());
+    }
+
+    @Test
+    void shouldUpdateTaskInItsOwnTimeSlot() {
+        Task addedTask = manager.addTask(new Task("First task", "Some first task", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        Task updatedTask = new Task(addedTask.getId(), "Updated task", "Some first task", TaskStatus.DONE,
+                LocalDateTime.MIN.plusMinutes(5), Duration.ofMinutes(10));
+        manager.updateTask(updatedTask);
+        assertEquals(List.of(updatedTask), manager.getPrioritizedTasks());
+        assertEquals(TaskStatus.DONE, manager.getTaskById(addedTask.getId()).getTaskStatus());
+    }
+
+    @Test
+    void shouldApplyBatch() {
+        Task removedTask = manager.addTask(new Task("Removed task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        EpicTask epic = new EpicTask(UUID.randomUUID(), "Epic", "Description");
+        SubTask subTask = new SubTask("Subtask", "Description", TaskStatus.DONE, epic.getId(),
+                LocalDateTime.MIN.plusMinutes(5), Duration.ofMinutes(10));
+        Task addedTask = new Task("Added task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(15), Duration.ofMinutes(10));
+        boolean isApplied = manager.applyBatch(List.of(
+                TaskOperation.remove(TaskTypes.TASK, removedTask.getId()),
+                TaskOperation.add(epic),
+                TaskOperation.add(subTask),
+                TaskOperation.add(addedTask)));
+        assertTrue(isApplied);
+        assertEquals(List.of(addedTask), manager.getAllTasks());
+        assertEquals(List.of(subTask), manager.getSubtasksOfEpic(epic.getId()));
+        assertEquals(TaskStatus.DONE, manager.getEpicTaskById(epic.getId()).getTaskStatus());
+        assertEquals(List.of(subTask, addedTask), manager.getPrioritizedTasks());
+    }
+
+    @Test
+    void shouldRejectWholeBatchIfTasksOfBatchIntersect() {
+        Task existingTask = manager.addTask(new Task("Existing task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        Task firstTask = new Task("First task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(20), Duration.ofMinutes(10));
+        Task secondTask = new Task("Second task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN.plusMinutes(25), Duration.ofMinutes(10));
+        boolean isApplied = manager.applyBatch(List.of(
+                TaskOperation.remove(TaskTypes.TASK, existingTask.getId()),
+                TaskOperation.add(firstTask),
+                TaskOperation.add(secondTask)));
+        assertFalse(isApplied);
+        assertEquals(List.of(existingTask), manager.getAllTasks());
+        assertEquals(List.of(existingTask), manager.getPrioritizedTasks());
+        assertNull(firstTask.getId());
+    }
+
+    @Test
+    void shouldApplyBatchUsingSlotFreedInSameBatch() {
+        Task existingTask = manager.addTask(new Task("Existing task", "Description", TaskStatus.NEW,
+                LocalDateTime.MIN, Duration.ofMinutes(10)));
+        Task newTask = new Task("New task", "Description", TaskStatus.NEW, LocalDateTime.MIN, Duration.ofMinutes(10));
+        assertTrue(manager.applyBatch(List.of(
+                TaskOperation.remove(TaskTypes.TASK, existingTask.getId()),
+                TaskOperation.add(newTask))));
+        assertEquals(List.of(newTask), manager.getPrioritizedTasks());
+    }
+
+    @Test
+    void shouldNotApplyBatchWithSubTaskOfMissingEpic() {
+        Task task = new Task("Task", "Description", TaskStatus.NEW, LocalDateTime.MIN, Duration.ofMinutes(10));
+        SubTask subTask = new SubTask("Subtask", "Description", TaskStatus.NEW, UUID.randomUUID(),
+                LocalDateTime.MIN.plusMinutes(20), Duration.ofMinutes(10));
+        assertThrows(RuntimeException.class,
+                () -> manager.applyBatch(List.of(TaskOperation.add(task), TaskOperation.add(subTask))));
+        assertTrue(manager.getAllTasks().isEmpty());
+        assertTrue(manager.getPrioritizedTasks().isEmpty());
+    }
+
+    @Test
+    void shouldFindEarliestFreeSlotBetweenTasks() {
+        LocalDateTime dayStart = LocalDateTime.of(2024, 1, 1, 9, 0);
+        manager.addTask(new Task("First", "Description", TaskStatus.NEW, dayStart, Duration.ofMinutes(60)));
+        manager.addTask(new Task("Second", "Description", TaskStatus.NEW, dayStart.plusMinutes(90),
+                Duration.ofMinutes(60)));
+        manager.addTask(new Task("Third", "Description", TaskStatus.NEW, dayStart.plusMinutes(180),
+                Duration.ofMinutes(30)));
+
+        assertEquals(dayStart.plusMinutes(60), manager.findFreeSlot(dayStart.plusMinutes(10), Duration.ofMinutes(30)));
+        assertEquals(dayStart.plusMinutes(70), manager.findFreeSlot(dayStart.plusMinutes(70), Duration.ofMinutes(20)));
+        assertEquals(dayStart.plusMinutes(210), manager.findFreeSlot(dayStart, Duration.ofMinutes(45)));
+        assertEquals(dayStart.minusMinutes(60), manager.findFreeSlot(dayStart.minusMinutes(60), Duration.ofMinutes(60)));
+    }
+
+    @Test
+    void shouldFindFreeSlotsInWindow() {
+        LocalDateTime dayStart = LocalDateTime.of(2024, 1, 1, 9, 0);
+        manager.addTask(new Task("First", "Description", TaskStatus.NEW, dayStart, Duration.ofMinutes(60)));
+        manager.addTask(new Task("Second", "Description", TaskStatus.NEW, dayStart.plusMinutes(70),
+                Duration.ofMinutes(20)));
+        manager.addTask(new Task("Third", "Description", TaskStatus.NEW, dayStart.plusMinutes(120),
+                Duration.ofMinutes(60)));
+
+        assertEquals(List.of(
+                new TimeSlot(dayStart.plusMinutes(90), dayStart.plusMinutes(120)),
+                new TimeSlot(dayStart.plusMinutes(180), dayStart.plusMinutes(240))),
+                manager.findFreeSlots(dayStart.plusMinutes(30), dayStart.plusMinutes(240), Duration.ofMinutes(15), 5));
+        assertEquals(List.of(new TimeSlot(dayStart.plusMinutes(60), dayStart.plusMinutes(70))),
+                manager.findFreeSlots(dayStart, dayStart.plusMinutes(240), Duration.ofMinutes(10), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.findFreeSlots(dayStart, dayStart, Duration.ofMinutes(10), 1));
+    }
+
+    @Test
+    void shouldReturnPrioritizedTasksOverlappingWindow() {
+        LocalDateTime dayStart = LocalDateTime.of(2024, 1, 1, 9, 0);
+        manager.addTask(new Task("First", "Description", TaskStatus.NEW, dayStart, Duration.ofMinutes(60)));
+        manager.addTask(new Task("Second", "Description", TaskStatus.NEW, dayStart.plusMinutes(60),
+                Duration.ofMinutes(30)));
+        Task third = manager.addTask(new Task("Third", "Description", TaskStatus.NEW, dayStart.plusMinutes(120),
+                Duration.ofMinutes(30)));
+        manager.addTask(new Task("Unscheduled", "Description", TaskStatus.NEW, null, null));
+
+        assertEquals(List.of("First", "Second"),
+                getNames(manager.getPrioritizedTasks(dayStart.plusMinutes(30), dayStart.plusMinutes(120))));
+        assertEquals(List.of("Second", "Third"),
+                getNames(manager.getPrioritizedTasks(dayStart.plusMinutes(60), dayStart.plusMinutes(121))));
+        assertEquals(List.of("Third"),
+                getNames(manager.getPrioritizedTasks(dayStart.plusMinutes(90), dayStart.plusMinutes(240))));
+        assertTrue(manager.getPrioritizedTasks(dayStart.plusMinutes(150), dayStart.plusMinutes(240)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> manager.getPrioritizedTasks(dayStart, dayStart));
+        assertEquals(third.getId(), manager.getPrioritizedTasks(dayStart.plusMinutes(120),
+                dayStart.plusMinutes(130)).get(0).getId());
+    }
+
+    @Test
+    void shouldPagePrioritizedTasks() {
+        LocalDateTime dayStart = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            manager.addTask(new Task("Task " + i, "Description", TaskStatus.NEW, dayStart.plusMinutes(i * 10L),
+                    Duration.ofMinutes(10)));
+        }
+        manager.addTask(new Task("Unscheduled", "Description", TaskStatus.NEW, null, null));
+
+        TaskPage firstPage = manager.getPrioritizedTasksPage(null, 2);
+        assertEquals(List.of("Task 0", "Task 1"), getNames(firstPage.getTasks()));
+        assertEquals(dayStart.plusMinutes(10), firstPage.getNextCursor());
+        TaskPage secondPage = manager.getPrioritizedTasksPage(firstPage.getNextCursor(), 2);
+        assertEquals(List.of("Task 2", "Task 3"), getNames(secondPage.getTasks()));
+        TaskPage lastPage = manager.getPrioritizedTasksPage(secondPage.getNextCursor(), 2);
+        assertEquals(List.of("Task 4"), getNames(lastPage.getTasks()));
+        assertFalse(lastPage.hasNext());
+        assertFalse(manager.getPrioritizedTasksPage(dayStart.plusMinutes(30), 1).hasNext());
+        assertThrows(IllegalArgumentException.class, () -> manager.getPrioritizedTasksPage(null, 0));
+    }
+
+    @Test
+    void shouldFindTaskOfTypeWithoutView() {
+        Task task = manager.addTask(new Task("Task", "Description", TaskStatus.NEW, null, null));
+        EpicTask epic = manager.addEpicTask(new EpicTask("Epic", "Description"));
+
+        assertEquals(task.getId(), manager.findTask(TaskTypes.TASK, task.getId()).getId());
+        assertEquals(epic.getId(), manager.findTask(TaskTypes.EPIC, epic.getId()).getId());
+        assertNull(manager.findTask(TaskTypes.SUBTASK, task.getId()));
+        assertNull(manager.findTask(TaskTypes.TASK, UUID.randomUUID()));
+        assertTrue(manager.getHistory().isEmpty());
+    }
+
+    @Test
+    void shouldSearchTasksByWordsAndPrefix() {
+        Task invoice = manager.addTask(new Task("Send invoice", "Invoice for the March release", TaskStatus.NEW,
+                null, null));
+        Task release = manager.addTask(new Task("Prepare release", "Write notes, send them to QA", TaskStatus.NEW,
+                null, null));
+        EpicTask epic = manager.addEpicTask(new EpicTask("Release 2.0", "Everything for the next release"));
+        manager.addSubTask(new SubTask("Fix login", "Blocks the release", TaskStatus.NEW, epic.getId(),
+                null, null));
+
+        List<String> foundNames = getNames(manager.searchTasks("RELEASE", 10));
+        assertEquals(List.of("Release 2.0", "Prepare release"), foundNames.subList(0, 2));
+        assertEquals(Set.of("Send invoice", "Fix login"), Set.copyOf(foundNames.subList(2, 4)));
+        assertEquals(List.of("Send invoice", "Prepare release"), getNames(manager.searchTasks("send", 10)));
+        assertEquals(List.of("Send invoice"), getNames(manager.searchTasks("release inv", 10)));
+        assertEquals(List.of("Release 2.0"), getNames(manager.searchTasks("rel", 1)));
+        assertTrue(manager.searchTasks("missing release", 10).isEmpty());
+        assertTrue(manager.searchTasks(" , ", 10).isEmpty());
+
+        manager.updateTask(new Task(invoice.getId(), "Pay bills", "Monthly", TaskStatus.NEW, null, null));
+        manager.removeTaskById(release.getId());
+        assertTrue(manager.searchTasks("send", 10).isEmpty());
+        assertEquals(List.of("Pay bills"), getNames(manager.searchTasks("bil", 10)));
+        assertThrows(IllegalArgumentException.class, () -> manager.searchTasks("send", 0));
+    }
+
+    @Test
+    void shouldPublishChangesToSubscribers() throws InterruptedException {
+        EventCollector collector = new EventCollector();
+        manager.getEvents().subscribe(collector);
+        EpicTask epic = manager.addEpicTask(new EpicTask("Epic", "Description"));
+        SubTask subTask = manager.addSubTask(new SubTask("Subtask", "Description", TaskStatus.DONE, epic.getId(),
+                LocalDateTime.MIN, Duration.ofMinutes(1)));
+        manager.getSubTaskById(subTask.getId());
+        manager.removeEpicTaskById(epic.getId());
+
+        List<TaskEvent> events = collector.take(6);
+        assertEquals(List.of(TaskEventType.ADDED, TaskEventType.ADDED, TaskEventType.EPIC_CHANGED,
+                TaskEventType.VIEWED, TaskEventType.REMOVED, TaskEventType.REMOVED),
+                events.stream().map(TaskEvent::getType).collect(Collectors.toList()));
+        for (int i = 1; i < events.size(); i++) {
+            assertEquals(events.get(i - 1).getSequence() + 1, events.get(i).getSequence());
+        }
+        assertEquals(TaskTypes.SUBTASK, events.get(1).getTaskType());
+        assertEquals(TaskStatus.DONE, events.get(2).getTask().getTaskStatus());
+        assertEquals(subTask.getId(), events.get(4).getId());
+        assertNull(events.get(5).getTask());
+    }
+
+    private static List<String> getNames(List<Task> tasks) {
+        return tasks.stream().map(Task::getName).collect(Collectors.toList());
+    }
+
+    private static class EventCollector implements Flow.Subscriber<TaskEvent> {
+        private final BlockingQueue<TaskEvent> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(TaskEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        List<TaskEvent> take(int count) throws InterruptedException {
+            List<TaskEvent> result = new ArrayList<>();
+            while (result.size() < count) {
+                TaskEvent event = events.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "Expected " + count + " events, received " + result);
+                result.add(event);
+            }
+            return result;
+        }
+    }
+}
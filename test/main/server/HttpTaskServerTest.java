@@ -0,0 +1,219 @@
+package main.server;
+
+import main.manager.Managers;
+import main.manager.taskManager.ConcurrentTaskManager;
+import main.manager.taskManager.TaskManager;
+import main.tasks.SubTask;
+import main.tasks.Task;
+import main.tasks.TaskStatus;
+import main.tasks.TaskTypes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpTaskServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private TaskManager manager;
+    private HttpTaskServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        manager = Managers.getConcurrent();
+        server = new HttpTaskServer(manager, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldAddAndReturnTask() throws Exception {
+        HttpResponse<String> added = send("POST", "/tasks", "{\"name\": \"Write \\\"notes\\\"\", "
+                + "\"description\": \"Line\\nbreak\", \"status\": \"IN_PROGRESS\", "
+                + "\"startTime\": \"2024-01-01T10:00\", \"duration\": 30, \"subTaskIds\": [\"ignored\"]}");
+        assertEquals(201, added.statusCode());
+        Task task = new TaskJsonReader(added.body()).readTask(TaskTypes.TASK);
+        assertNotNull(task.getId());
+        assertEquals(List.of(task.getId()), List.of(manager.getAllTasks().get(0).getId()));
+
+        HttpResponse<String> found = send("GET", "/tasks/" + task.getId(), null);
+        assertEquals(200, found.statusCode());
+        Task foundTask = new TaskJsonReader(found.body()).readTask(TaskTypes.TASK);
+        assertEquals("Write \"notes\"", foundTask.getName());
+        assertEquals("Line\nbreak", foundTask.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, foundTask.getTaskStatus());
+        assertEquals(Duration.ofMinutes(30), foundTask.getDuration());
+        assertTrue(found.body().contains("\"endTime\":\"2024-01-01T10:30\""));
+        assertTrue(send("GET", "/history", null).body().contains(task.getId().toString()));
+
+        HttpResponse<String> intersected = send("POST", "/tasks", "{\"name\": \"Other\", "
+                + "\"startTime\": \"2024-01-01T10:15\", \"duration\": 30}");
+        assertEquals(406, intersected.statusCode());
+
+        assertEquals(204, send("DELETE", "/tasks/" + task.getId(), null).statusCode());
+        assertEquals(404, send("GET", "/tasks/" + task.getId(), null).statusCode());
+        assertEquals("[]", send("GET", "/tasks", null).body());
+    }
+
+    @Test
+    void shouldUpdateOnlyStoredTasksWithoutIntersections() throws Exception {
+        Task first = manager.addTask(new Task("First", "Description", TaskStatus.NEW,
+                LocalDateTime.of(2024, 1, 1, 10, 0), Duration.ofMinutes(30)));
+        Task second = manager.addTask(new Task("Second", "Description", TaskStatus.NEW,
+                LocalDateTime.of(2024, 1, 1, 11, 0), Duration.ofMinutes(30)));
+
+        HttpResponse<String> updated = send("POST", "/tasks", "{\"id\": \"" + first.getId() + "\", "
+                + "\"name\": \"Renamed\", \"status\": \"DONE\", \"startTime\": \"2024-01-01T09:00\", "
+                + "\"duration\": 30}");
+        assertEquals(200, updated.statusCode());
+        assertTrue(updated.body().contains("\"name\":\"Renamed\""));
+        assertEquals("Renamed", manager.findTask(TaskTypes.TASK, first.getId()).getName());
+
+        HttpResponse<String> intersected = send("POST", "/tasks", "{\"id\": \"" + second.getId() + "\", "
+                + "\"name\": \"Second\", \"startTime\": \"2024-01-01T09:15\", \"duration\": 30}");
+        assertEquals(406, intersected.statusCode());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 11, 0),
+                manager.findTask(TaskTypes.TASK, second.getId()).getStartTime());
+
+        assertEquals(404, send("POST", "/tasks", "{\"id\": \"" + UUID.randomUUID() + "\", "
+                + "\"name\": \"Missing\"}").statusCode());
+        assertEquals(404, send("POST", "/subtasks", "{\"id\": \"" + first.getId() + "\", "
+                + "\"name\": \"Not a subtask\", \"epicId\": \"" + UUID.randomUUID() + "\"}").statusCode());
+        assertEquals(List.of(), manager.getHistory());
+    }
+
+    @Test
+    void shouldAnswerUpdateByResultOfManagerWhenTaskChangesConcurrently() throws Exception {
+        server.stop(0);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        TaskManager concurrentlyChangedManager = new ConcurrentTaskManager() {
+            @Override
+            public Task updateTask(Task task) {
+                super.updateTask(task);
+                // another client renames the task right after the update
+                super.updateTask(new Task(task.getId(), "Renamed by other client", "Description", TaskStatus.NEW,
+                        start, Duration.ofMinutes(30)));
+                return task;
+            }
+        };
+        Task task = concurrentlyChangedManager.addTask(new Task("Task", "Description", TaskStatus.NEW, start,
+                Duration.ofMinutes(30)));
+        server = new HttpTaskServer(concurrentlyChangedManager, 0);
+        server.start();
+
+        HttpResponse<String> updated = send("POST", "/tasks", "{\"id\": \"" + task.getId() + "\", "
+                + "\"name\": \"Renamed\", \"startTime\": \"2024-01-01T10:00\", \"duration\": 30}");
+        assertEquals(200, updated.statusCode());
+    }
+
+    @Test
+    void shouldServeEpicsAndQueries() throws Exception {
+        HttpResponse<String> epicResponse = send("POST", "/epics", "{\"name\": \"Release\", \"description\": \"\"}");
+        Task epic = new TaskJsonReader(epicResponse.body()).readTask(TaskTypes.EPIC);
+        HttpResponse<String> subTaskResponse = send("POST", "/subtasks", "{\"name\": \"Deploy release\", "
+                + "\"status\": \"DONE\", \"epicId\": \"" + epic.getId() + "\", \"startTime\": \"2024-01-01T10:00\", "
+                + "\"duration\": 15}");
+        assertEquals(201, subTaskResponse.statusCode());
+        SubTask subTask = (SubTask) new TaskJsonReader(subTaskResponse.body()).readTask(TaskTypes.SUBTASK);
+
+        String subTasks = send("GET", "/epics/" + epic.getId() + "/subtasks", null).body();
+        assertTrue(subTasks.startsWith("[{\"id\":\"" + subTask.getId() + "\""));
+        assertTrue(send("GET", "/epics/" + epic.getId(), null).body().contains("\"status\":\"DONE\""));
+        assertTrue(send("GET", "/prioritized?from=2024-01-01T09:00&to=2024-01-01T10:05", null).body()
+                .contains(subTask.getId().toString()));
+        assertEquals("[]", send("GET", "/prioritized?from=2024-01-01T11:00&to=2024-01-01T12:00", null).body());
+        assertTrue(send("GET", "/search?query=deploy%20rel", null).body().contains(subTask.getId().toString()));
+
+        assertEquals(400, send("POST", "/subtasks", "{\"name\": \"No epic\"}").statusCode());
+        assertEquals(400, send("POST", "/tasks", "{\"name\": ").statusCode());
+        assertEquals(400, send("GET", "/tasks/not-an-id", null).statusCode());
+        assertEquals(405, send("PUT", "/tasks", "{}").statusCode());
+        assertEquals(404, send("GET", "/tasksfoo", null).statusCode());
+        assertEquals(404, send("GET", "/historyX", null).statusCode());
+        assertEquals(404, send("POST", "/epicsfoo", "{\"name\": \"Epic\"}").statusCode());
+
+        assertEquals(204, send("DELETE", "/epics", null).statusCode());
+        assertTrue(manager.getAllSubTasks().isEmpty());
+    }
+
+    @Test
+    void shouldAnswerServerErrorForFailuresOfManager() throws Exception {
+        server.stop(0);
+        server = new HttpTaskServer(new ConcurrentTaskManager() {
+            @Override
+            public List<Task> getAllTasks() {
+                throw new IllegalStateException("Storage is closed");
+            }
+        }, 0);
+        server.start();
+
+        HttpResponse<String> response = send("GET", "/tasks", null);
+        assertEquals(500, response.statusCode());
+        assertFalse(response.body().contains("Storage is closed"));
+        assertEquals(400, send("GET", "/prioritized?from=yesterday&to=2024-01-01T10:00", null).statusCode());
+    }
+
+    @Test
+    void shouldCloseStreamedResponseWhichFails() throws Exception {
+        server.stop(0);
+        server = new HttpTaskServer(new ConcurrentTaskManager() {
+            @Override
+            public List<Task> getAllTasks() {
+                List<Task> tasks = new ArrayList<>();
+                for (int i = 0; i < 5000; i++) {
+                    tasks.add(new Task("Task " + i, "Description", TaskStatus.NEW, null, null));
+                }
+                tasks.add(null);
+                return tasks;
+            }
+        }, 0);
+        server.start();
+
+        HttpResponse<String> response = send("GET", "/tasks", null);
+        assertEquals(200, response.statusCode());
+        assertFalse(response.body().endsWith("]"));
+        assertEquals(200, send("GET", "/subtasks", null).statusCode());
+    }
+
+    @Test
+    void shouldStreamLargeLists() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < 5000; i++) {
+            manager.addTask(new Task("Task " + i, "Description", TaskStatus.NEW, start.plusMinutes(i),
+                    Duration.ofMinutes(1)));
+        }
+        HttpResponse<String> response = send("GET", "/prioritized", null);
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("[{"));
+        assertTrue(response.body().endsWith("}]"));
+        assertEquals(5000, response.body().split("\"type\":\"TASK\"").length - 1);
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, publisher)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
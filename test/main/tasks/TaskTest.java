@@ -105,6 +105,35 @@ class TaskTest {
         assertEquals(expectedEndTime, task.getEndTime());
     }
 
+    @Test
+    void getEndTimeWithNanosCarriedToSeconds() {
+        LocalDateTime nanoStartTime = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 700_000_000);
+        Duration nanoDuration = Duration.ofSeconds(1, 500_000_000);
+        task.setStartTime(nanoStartTime);
+        task.setDuration(nanoDuration);
+        assertEquals(nanoStartTime.plus(nanoDuration), task.getEndTime());
+    }
+
+    @Test
+    void isIntersected() {
+        LocalDateTime dayStart = LocalDateTime.of(2024, 1, 1, 10, 0);
+        task.setStartTime(dayStart);
+        task.setDuration(Duration.ofMinutes(30));
+        Task overlapping = new Task("Other", "Other", TaskStatus.NEW, dayStart.plusMinutes(29), Duration.ofMinutes(5));
+        Task adjacent = new Task("Other", "Other", TaskStatus.NEW, dayStart.plusMinutes(30), Duration.ofMinutes(5));
+        assertTrue(task.isIntersected(overlapping));
+        assertTrue(overlapping.isIntersected(task));
+        assertFalse(task.isIntersected(adjacent));
+        assertFalse(adjacent.isIntersected(task));
+        Task point = new Task("Other", "Other", TaskStatus.NEW, dayStart.plusMinutes(10), null);
+        assertTrue(task.isIntersected(point));
+        assertTrue(point.isIntersected(task));
+        Task unscheduled = new Task("Other", "Other", TaskStatus.NEW, null, Duration.ofMinutes(5));
+        assertFalse(task.isIntersected(unscheduled));
+        assertFalse(unscheduled.isIntersected(task));
+        assertThrows(NullPointerException.class, () -> task.isIntersected(null));
+    }
+
     @Test
     void getType() {
         assertEquals(TaskTypes.TASK, task.getType());